@@ -4,7 +4,7 @@ plugins {
 }
 
 javafx {
-    modules = listOf("javafx.fxml")
+    modules = listOf("javafx.fxml", "javafx.graphics")
     configuration = "compileOnly"
 }
 
@@ -0,0 +1,560 @@
+package io.github.sheikah45.fx2j.api;
+
+import javafx.beans.Observable;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.FloatBinding;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.binding.LongBinding;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableFloatValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableLongValue;
+import javafx.beans.value.ObservableStringValue;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Factories for the bindings created by compiled views for fused bind expressions and nested property reads. In
+ * contrast to {@link javafx.beans.binding.Bindings#createDoubleBinding} and its siblings the value is computed by a
+ * primitive supplier, so recomputing the binding does not box the value. In contrast to
+ * {@link javafx.beans.binding.Bindings#select} the select bindings follow the chain with typed links instead of
+ * reflection.
+ * <p>
+ * Like the JavaFX factories, an exception thrown while computing the value is logged and the binding falls back to the
+ * default value of its type.
+ */
+public final class Fx2jBindings {
+
+    private static final System.Logger LOGGER = System.getLogger(Fx2jBindings.class.getCanonicalName());
+
+    private Fx2jBindings() {}
+
+    /**
+     * Creates a binding which computes its value with the given supplier whenever one of the dependencies is
+     * invalidated.
+     *
+     * @param computation  the supplier computing the value
+     * @param dependencies the dependencies of the binding
+     * @return the binding
+     */
+    public static DoubleBinding createDoubleBinding(DoubleSupplier computation, Observable... dependencies) {
+        return new ComputedDoubleBinding(new StaticDependencies(dependencies), computation);
+    }
+
+    /**
+     * Creates a binding which computes its value with the given supplier whenever one of the dependencies is
+     * invalidated. The computed value is narrowed to a float, which is lossless for expressions of type float.
+     *
+     * @param computation  the supplier computing the value
+     * @param dependencies the dependencies of the binding
+     * @return the binding
+     */
+    public static FloatBinding createFloatBinding(DoubleSupplier computation, Observable... dependencies) {
+        return new ComputedFloatBinding(new StaticDependencies(dependencies), computation);
+    }
+
+    /**
+     * Creates a binding which computes its value with the given supplier whenever one of the dependencies is
+     * invalidated.
+     *
+     * @param computation  the supplier computing the value
+     * @param dependencies the dependencies of the binding
+     * @return the binding
+     */
+    public static IntegerBinding createIntegerBinding(IntSupplier computation, Observable... dependencies) {
+        return new ComputedIntegerBinding(new StaticDependencies(dependencies), computation);
+    }
+
+    /**
+     * Creates a binding which computes its value with the given supplier whenever one of the dependencies is
+     * invalidated.
+     *
+     * @param computation  the supplier computing the value
+     * @param dependencies the dependencies of the binding
+     * @return the binding
+     */
+    public static LongBinding createLongBinding(LongSupplier computation, Observable... dependencies) {
+        return new ComputedLongBinding(new StaticDependencies(dependencies), computation);
+    }
+
+    /**
+     * Creates a binding which computes its value with the given supplier whenever one of the dependencies is
+     * invalidated.
+     *
+     * @param computation  the supplier computing the value
+     * @param dependencies the dependencies of the binding
+     * @return the binding
+     */
+    public static BooleanBinding createBooleanBinding(BooleanSupplier computation, Observable... dependencies) {
+        return new ComputedBooleanBinding(new StaticDependencies(dependencies), computation);
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, like
+     * {@link javafx.beans.binding.Bindings#select} but with a typed link instead of reflection. Whenever the source
+     * changes the link is applied to its new value and the binding re-wires itself to the selected observable. A
+     * null source value or selected observable results in null.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @param <R>    the type of the selected value
+     * @return the binding
+     */
+    public static <T, R> ObjectBinding<R> select(ObservableValue<T> source,
+                                                 Function<? super T, ? extends ObservableValue<? extends R>> link) {
+        Selection<T, ObservableValue<? extends R>> selection = new Selection<>(source, link);
+        return new ComputedObjectBinding<>(selection, () -> {
+            ObservableValue<? extends R> target = selection.getTarget();
+            return target == null ? null : target.getValue();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in 0.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> DoubleBinding selectDouble(ObservableValue<T> source,
+                                                 Function<? super T, ? extends ObservableDoubleValue> link) {
+        Selection<T, ObservableDoubleValue> selection = new Selection<>(source, link);
+        return new ComputedDoubleBinding(selection, () -> {
+            ObservableDoubleValue target = selection.getTarget();
+            return target == null ? 0 : target.get();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in 0.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> FloatBinding selectFloat(ObservableValue<T> source,
+                                               Function<? super T, ? extends ObservableFloatValue> link) {
+        Selection<T, ObservableFloatValue> selection = new Selection<>(source, link);
+        return new ComputedFloatBinding(selection, () -> {
+            ObservableFloatValue target = selection.getTarget();
+            return target == null ? 0 : target.get();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in 0.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> IntegerBinding selectInteger(ObservableValue<T> source,
+                                                   Function<? super T, ? extends ObservableIntegerValue> link) {
+        Selection<T, ObservableIntegerValue> selection = new Selection<>(source, link);
+        return new ComputedIntegerBinding(selection, () -> {
+            ObservableIntegerValue target = selection.getTarget();
+            return target == null ? 0 : target.get();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in 0.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> LongBinding selectLong(ObservableValue<T> source,
+                                             Function<? super T, ? extends ObservableLongValue> link) {
+        Selection<T, ObservableLongValue> selection = new Selection<>(source, link);
+        return new ComputedLongBinding(selection, () -> {
+            ObservableLongValue target = selection.getTarget();
+            return target == null ? 0 : target.get();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in false.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> BooleanBinding selectBoolean(ObservableValue<T> source,
+                                                   Function<? super T, ? extends ObservableBooleanValue> link) {
+        Selection<T, ObservableBooleanValue> selection = new Selection<>(source, link);
+        return new ComputedBooleanBinding(selection, () -> {
+            ObservableBooleanValue target = selection.getTarget();
+            return target != null && target.get();
+        });
+    }
+
+    /**
+     * Creates a binding to the observable value selected from the value of the source, see
+     * {@link #select(ObservableValue, Function)}. A null source value or selected observable results in null.
+     *
+     * @param source the observable holding the object to select from
+     * @param link   the function selecting the observable from the value of the source
+     * @param <T>    the type of the source value
+     * @return the binding
+     */
+    public static <T> StringBinding selectString(ObservableValue<T> source,
+                                                 Function<? super T, ? extends ObservableStringValue> link) {
+        Selection<T, ObservableStringValue> selection = new Selection<>(source, link);
+        return new ComputedStringBinding(selection, () -> {
+            ObservableStringValue target = selection.getTarget();
+            return target == null ? null : target.get();
+        });
+    }
+
+    private static ObservableList<?> wrapDependencies(Observable[] dependencies) {
+        return dependencies.length == 1 ?
+               FXCollections.singletonObservableList(dependencies[0]) :
+               FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(dependencies));
+    }
+
+    private static void logComputationFailure(RuntimeException exception) {
+        LOGGER.log(System.Logger.Level.WARNING, "Exception while evaluating binding", exception);
+    }
+
+    /**
+     * The observables a binding listens to. The dependencies are updated before every computation, so dependencies
+     * which change with the value of another observable are re-wired before the value is read.
+     */
+    private interface Dependencies {
+        void bind(Consumer<Observable> bind);
+
+        default void update(Consumer<Observable> bind, Consumer<Observable> unbind) {}
+
+        void dispose(Consumer<Observable> unbind);
+
+        Observable[] get();
+    }
+
+    /**
+     * Dependencies which stay the same for the lifetime of the binding.
+     */
+    private record StaticDependencies(Observable[] observables) implements Dependencies {
+
+        @Override
+        public void bind(Consumer<Observable> bind) {
+            for (Observable observable : observables) {
+                bind.accept(observable);
+            }
+        }
+
+        @Override
+        public void dispose(Consumer<Observable> unbind) {
+            for (Observable observable : observables) {
+                unbind.accept(observable);
+            }
+        }
+
+        @Override
+        public Observable[] get() {
+            return observables;
+        }
+    }
+
+    /**
+     * Tracks the observable currently selected by a select binding, so the binding only listens to the selected
+     * observable of the current source value.
+     */
+    private static final class Selection<T, V extends Observable> implements Dependencies {
+        private final ObservableValue<T> source;
+        private final Function<? super T, ? extends V> link;
+        private V target;
+
+        private Selection(ObservableValue<T> source, Function<? super T, ? extends V> link) {
+            this.source = source;
+            this.link = link;
+        }
+
+        private V getTarget() {
+            return target;
+        }
+
+        @Override
+        public void bind(Consumer<Observable> bind) {
+            bind.accept(source);
+        }
+
+        @Override
+        public void update(Consumer<Observable> bind, Consumer<Observable> unbind) {
+            T value = source.getValue();
+            V selected = value == null ? null : link.apply(value);
+            if (selected != target) {
+                if (target != null) {
+                    unbind.accept(target);
+                }
+
+                target = selected;
+                if (target != null) {
+                    bind.accept(target);
+                }
+            }
+        }
+
+        @Override
+        public void dispose(Consumer<Observable> unbind) {
+            unbind.accept(source);
+            if (target != null) {
+                unbind.accept(target);
+                target = null;
+            }
+        }
+
+        @Override
+        public Observable[] get() {
+            return target == null ? new Observable[]{source} : new Observable[]{source, target};
+        }
+    }
+
+    private static final class ComputedObjectBinding<R> extends ObjectBinding<R> {
+        private final Dependencies dependencies;
+        private final Supplier<? extends R> computation;
+
+        private ComputedObjectBinding(Dependencies dependencies, Supplier<? extends R> computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected R computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.get();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return null;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedDoubleBinding extends DoubleBinding {
+        private final Dependencies dependencies;
+        private final DoubleSupplier computation;
+
+        private ComputedDoubleBinding(Dependencies dependencies, DoubleSupplier computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected double computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.getAsDouble();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return 0;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedFloatBinding extends FloatBinding {
+        private final Dependencies dependencies;
+        private final DoubleSupplier computation;
+
+        private ComputedFloatBinding(Dependencies dependencies, DoubleSupplier computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected float computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return (float) computation.getAsDouble();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return 0;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedIntegerBinding extends IntegerBinding {
+        private final Dependencies dependencies;
+        private final IntSupplier computation;
+
+        private ComputedIntegerBinding(Dependencies dependencies, IntSupplier computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected int computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.getAsInt();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return 0;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedLongBinding extends LongBinding {
+        private final Dependencies dependencies;
+        private final LongSupplier computation;
+
+        private ComputedLongBinding(Dependencies dependencies, LongSupplier computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected long computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.getAsLong();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return 0;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedBooleanBinding extends BooleanBinding {
+        private final Dependencies dependencies;
+        private final BooleanSupplier computation;
+
+        private ComputedBooleanBinding(Dependencies dependencies, BooleanSupplier computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected boolean computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.getAsBoolean();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return false;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+
+    private static final class ComputedStringBinding extends StringBinding {
+        private final Dependencies dependencies;
+        private final Supplier<String> computation;
+
+        private ComputedStringBinding(Dependencies dependencies, Supplier<String> computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+            dependencies.bind(this::bind);
+        }
+
+        @Override
+        protected String computeValue() {
+            try {
+                dependencies.update(this::bind, this::unbind);
+                return computation.get();
+            } catch (RuntimeException exception) {
+                logComputationFailure(exception);
+                return null;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            dependencies.dispose(this::unbind);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            return wrapDependencies(dependencies.get());
+        }
+    }
+}
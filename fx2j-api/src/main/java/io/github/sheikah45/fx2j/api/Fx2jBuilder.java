@@ -1,5 +1,8 @@
 package io.github.sheikah45.fx2j.api;
 
+import javafx.util.Callback;
+
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.function.Function;
 
@@ -10,5 +13,40 @@ public interface Fx2jBuilder<C, R> {
 
     C getController();
 
+    /**
+     * Provides the dependencies used to construct controllers through their inject constructors. Builders which were
+     * generated without controller dependency injection ignore the dependencies.
+     *
+     * @param controllerDependencies the dependencies keyed by the class of the constructor parameter they are passed to
+     */
+    default void setControllerDependencies(Map<Class<?>, Object> controllerDependencies) {}
+
+    /**
+     * Removes the change handlers which the last build subscribed to the properties of the view. Only builders
+     * generated with subscribed change handlers hold subscriptions, all other builders ignore the call.
+     */
+    default void unsubscribe() {}
+
+    /**
+     * Returns the external resources referenced by the view so they can be prefetched before the view is built.
+     *
+     * @return the resource manifest of the view
+     */
+    default Fx2jResourceManifest getResourceManifest() {
+        return Fx2jResourceManifest.EMPTY;
+    }
+
+    /**
+     * Returns a cell factory which builds the view once per cell and only updates the item dependent properties when
+     * the item of the cell changes. Only builders compiled from cell templates provide a cell factory.
+     *
+     * @param resources         the resources used to build the cells
+     * @param controllerFactory the controller factory used to build the cells
+     * @return the cell factory or null if the view is not a cell template
+     */
+    default Callback<?, ?> getCellFactory(ResourceBundle resources, Function<Class<?>, Object> controllerFactory) {
+        return null;
+    }
+
     R getRoot();
 }
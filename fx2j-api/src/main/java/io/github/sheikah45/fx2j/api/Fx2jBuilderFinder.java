@@ -1,9 +1,23 @@
 package io.github.sheikah45.fx2j.api;
 
 import java.net.URL;
+import java.util.ResourceBundle;
 
 public interface Fx2jBuilderFinder {
 
     Fx2jBuilder<?, ?> findBuilder(URL location);
 
+    /**
+     * Finds the builder for the view at the given location which will be built with the given resources. Finders may
+     * return a builder specialized for the base name and locale of the resources, the default implementation ignores
+     * the resources.
+     *
+     * @param location  the location of the fxml file
+     * @param resources the resources the view will be built with, may be null
+     * @return the builder or null if the finder has no builder for the location
+     */
+    default Fx2jBuilder<?, ?> findBuilder(URL location, ResourceBundle resources) {
+        return findBuilder(location);
+    }
+
 }
@@ -0,0 +1,93 @@
+package io.github.sheikah45.fx2j.api;
+
+import javafx.fxml.FXMLLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+
+/**
+ * Loads fxml fragments which could not be compiled into a builder. Generated builders use this to construct
+ * unsupported subtrees with the FXMLLoader while the rest of the view is built by compiled code.
+ * <p>
+ * This class is an implementation detail of the generated builders and may change between versions.
+ */
+@SuppressWarnings("unchecked")
+public final class Fx2jFragmentLoader {
+
+    private Fx2jFragmentLoader() {}
+
+    /**
+     * Loads the given fxml fragment with the FXMLLoader.
+     *
+     * @param fxml      the self-contained fxml of the fragment
+     * @param location  the location of the fxml file the fragment was taken from, used to resolve relative locations
+     * @param resources the resources used when loading the fragment
+     * @param namespace the namespace of the enclosing view, any objects the fragment defines are added to it
+     * @return the root object of the fragment
+     * @throws UncheckedIOException  if the fragment could not be loaded
+     * @throws IllegalStateException if the FXMLLoader is not available
+     */
+    public static <T> T load(String fxml, URL location, ResourceBundle resources, Map<String, Object> namespace) {
+        if (!Fx2jLoader.FALL_BACK_TO_FXML) {
+            throw new IllegalStateException("FXMLLoader is required to load fragment of %s".formatted(location));
+        }
+
+        FXMLLoader fxmlLoader = new FXMLLoader();
+        fxmlLoader.setLocation(location);
+        fxmlLoader.setResources(resources);
+        fxmlLoader.getNamespace().putAll(namespace);
+        try {
+            T root = fxmlLoader.load(new ByteArrayInputStream(fxml.getBytes(StandardCharsets.UTF_8)));
+            namespace.putAll(fxmlLoader.getNamespace());
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load fragment of %s".formatted(location), e);
+        }
+    }
+
+    /**
+     * Loads an included fxml file which is not read as UTF-8 with the FXMLLoader using the given charset.
+     *
+     * @param location          the location of the included fxml file
+     * @param resources         the resources used when loading the included file
+     * @param charset           the name of the charset the included file is read with
+     * @param controllerFactory the controller factory used for the controller of the included file, may be null
+     * @return the loader after loading, which provides the root and controller of the included file
+     * @throws UncheckedIOException  if the included file could not be loaded
+     * @throws IllegalStateException if the FXMLLoader is not available
+     */
+    public static FXMLLoader loadInclude(URL location, ResourceBundle resources, String charset,
+                                         Function<Class<?>, Object> controllerFactory) {
+        if (!Fx2jLoader.FALL_BACK_TO_FXML) {
+            throw new IllegalStateException("FXMLLoader is required to load include of %s".formatted(location));
+        }
+
+        FXMLLoader fxmlLoader = new FXMLLoader(location, resources, null,
+                                               controllerFactory == null ? null : controllerFactory::apply,
+                                               Charset.forName(charset));
+        try {
+            fxmlLoader.load();
+            return fxmlLoader;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load include of %s".formatted(location), e);
+        }
+    }
+
+    /**
+     * Retrieves an object defined by a previously loaded fragment.
+     *
+     * @param namespace the namespace the fragment was loaded with
+     * @param id        the fx:id of the object
+     * @return the object with the given id
+     */
+    public static <T> T lookup(Map<String, Object> namespace, String id) {
+        return (T) namespace.get(id);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.sheikah45.fx2j.api;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A process wide cache for the images declared in compiled views, so an image used by many views or view instances is
+ * only decoded once. Images are keyed by their url and the requested size and are held through soft references in a
+ * bounded least recently used map, so they can still be reclaimed when memory runs low.
+ * <p>
+ * Builders only use the cache when they were generated with image caching enabled. The maximum number of cached
+ * images defaults to {@value #DEFAULT_MAXIMUM_SIZE} and can be changed with the system property
+ * {@value #MAXIMUM_SIZE_PROPERTY} or {@link #setMaximumSize(int)}.
+ */
+public final class Fx2jImageCache {
+
+    /**
+     * The system property which specifies the maximum number of cached images.
+     */
+    public static final String MAXIMUM_SIZE_PROPERTY = "fx2j.imageCacheSize";
+
+    /**
+     * The maximum number of cached images used when none is specified.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final Map<ImageKey, SoftReference<Image>> IMAGES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ImageKey, SoftReference<Image>> eldest) {
+            return size() > maximumSize;
+        }
+    };
+
+    private static int maximumSize = Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE);
+
+    private Fx2jImageCache() {}
+
+    /**
+     * Returns the cached image for the given url or loads and caches it.
+     *
+     * @param url the url of the image
+     * @return the image
+     */
+    public static Image getImage(String url) {
+        return getImage(url, 0, 0, false, false, false);
+    }
+
+    /**
+     * Returns the cached image for the given url and size or loads and caches it. Images which failed to load are not
+     * cached.
+     *
+     * @param url               the url of the image
+     * @param requestedWidth    the width of the bounding box the image is scaled to
+     * @param requestedHeight   the height of the bounding box the image is scaled to
+     * @param preserveRatio     whether the aspect ratio is preserved when scaling
+     * @param smooth            whether a better quality filtering algorithm is used when scaling
+     * @param backgroundLoading whether the image is loaded in the background
+     * @return the image
+     * @see Image#Image(String, double, double, boolean, boolean, boolean)
+     */
+    public static Image getImage(String url, double requestedWidth, double requestedHeight, boolean preserveRatio,
+                                 boolean smooth, boolean backgroundLoading) {
+        ImageKey key = new ImageKey(url, requestedWidth, requestedHeight, preserveRatio, smooth, backgroundLoading);
+        synchronized (IMAGES) {
+            SoftReference<Image> reference = IMAGES.get(key);
+            Image image = reference == null ? null : reference.get();
+            if (image != null && !image.isError()) {
+                return image;
+            }
+        }
+
+        Image image = new Image(url, requestedWidth, requestedHeight, preserveRatio, smooth, backgroundLoading);
+        if (!image.isError()) {
+            synchronized (IMAGES) {
+                IMAGES.put(key, new SoftReference<>(image));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns the maximum number of cached images.
+     *
+     * @return the maximum number of cached images
+     */
+    public static int getMaximumSize() {
+        synchronized (IMAGES) {
+            return maximumSize;
+        }
+    }
+
+    /**
+     * Sets the maximum number of cached images, evicting the least recently used images if the cache is larger.
+     *
+     * @param maximumSize the maximum number of cached images
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public static void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize cannot be negative");
+        }
+
+        synchronized (IMAGES) {
+            Fx2jImageCache.maximumSize = maximumSize;
+            IMAGES.keySet().removeIf(ignored -> IMAGES.size() > maximumSize);
+        }
+    }
+
+    /**
+     * Returns the number of cached images including images whose reference was already cleared.
+     *
+     * @return the number of cached images
+     */
+    public static int size() {
+        synchronized (IMAGES) {
+            return IMAGES.size();
+        }
+    }
+
+    /**
+     * Removes all images from the cache.
+     */
+    public static void clear() {
+        synchronized (IMAGES) {
+            IMAGES.clear();
+        }
+    }
+
+    private record ImageKey(String url, double requestedWidth, double requestedHeight, boolean preserveRatio,
+                            boolean smooth, boolean backgroundLoading) {}
+}
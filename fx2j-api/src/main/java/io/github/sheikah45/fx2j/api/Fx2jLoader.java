@@ -4,13 +4,20 @@ import javafx.fxml.FXMLLoader;
 import javafx.fxml.LoadListener;
 import javafx.util.Builder;
 import javafx.util.BuilderFactory;
+import javafx.util.Callback;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 
 @SuppressWarnings({"unchecked", "unused"})
@@ -18,11 +25,9 @@ public class Fx2jLoader {
 
     private static final System.Logger LOGGER = System.getLogger(Fx2jLoader.class.getCanonicalName());
 
-    private static final List<Fx2jBuilderFinder> BUILDER_FINDERS = ServiceLoader.load(Fx2jBuilderFinder.class)
-                                                                                .stream()
-                                                                                .map(ServiceLoader.Provider::get)
-                                                                                .toList();
-    private static final boolean FALL_BACK_TO_FXML;
+    private static final List<Fx2jBuilderFinder> BUILDER_FINDERS = new CopyOnWriteArrayList<>(
+            ServiceLoader.load(Fx2jBuilderFinder.class).stream().map(ServiceLoader.Provider::get).toList());
+    static final boolean FALL_BACK_TO_FXML;
 
     static {
         boolean fxmlLoaderExists;
@@ -35,6 +40,72 @@ public class Fx2jLoader {
         FALL_BACK_TO_FXML = fxmlLoaderExists;
     }
 
+    /**
+     * Registers an additional builder finder which is consulted after all finders provided as services, e.g. a
+     * runtime compiler for fxml files that are not known at build time.
+     *
+     * @param builderFinder the builder finder to register
+     */
+    public static void addBuilderFinder(Fx2jBuilderFinder builderFinder) {
+        BUILDER_FINDERS.add(Objects.requireNonNull(builderFinder, "builderFinder cannot be null"));
+    }
+
+    /**
+     * Removes a builder finder previously registered with {@link #addBuilderFinder(Fx2jBuilderFinder)}.
+     *
+     * @param builderFinder the builder finder to remove
+     */
+    public static void removeBuilderFinder(Fx2jBuilderFinder builderFinder) {
+        BUILDER_FINDERS.remove(builderFinder);
+    }
+
+    /**
+     * Warms the external resources referenced by the compiled view at the given location, such as images
+     * and fonts, on background threads. Included views are prefetched as well. Views without a compiled
+     * builder are ignored.
+     *
+     * @param location the location of the fxml file
+     * @return a future which completes once all resources were prefetched
+     */
+    public static CompletableFuture<Void> prefetch(URL location) {
+        return prefetch(location, null);
+    }
+
+    /**
+     * Warms the external resources referenced by the compiled view at the given location, such as images,
+     * fonts and resource bundle keys, on background threads. Included views are prefetched as well.
+     * Views without a compiled builder are ignored.
+     *
+     * @param location  the location of the fxml file
+     * @param resources the resources the view will be loaded with, may be null
+     * @return a future which completes once all resources were prefetched
+     */
+    public static CompletableFuture<Void> prefetch(URL location, ResourceBundle resources) {
+        Fx2jResourceManifest manifest = BUILDER_FINDERS.stream()
+                                                       .map(finder -> finder.findBuilder(location, resources))
+                                                       .filter(Objects::nonNull)
+                                                       .findFirst()
+                                                       .map(Fx2jBuilder::getResourceManifest)
+                                                       .orElse(Fx2jResourceManifest.EMPTY);
+
+        ClassLoader classLoader = Objects.requireNonNullElse(Thread.currentThread().getContextClassLoader(),
+                                                             Fx2jLoader.class.getClassLoader());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(Fx2jPrefetcher.prefetch(location, manifest, resources, classLoader));
+        for (String include : manifest.includes()) {
+            try {
+                URL includeLocation = Fx2jPrefetcher.resolve(location, include, classLoader);
+                if (includeLocation != null) {
+                    futures.add(prefetch(includeLocation, resources));
+                }
+            } catch (MalformedURLException exception) {
+                LOGGER.log(System.Logger.Level.DEBUG,
+                           () -> "Unable to prefetch include %s of %s".formatted(include, location), exception);
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
 
     private URL location;
     private ResourceBundle resources;
@@ -42,9 +113,11 @@ public class Fx2jLoader {
     private Object controller;
     private Function<Class<?>, Builder<?>> builderFactory;
     private Function<Class<?>, Object> controllerFactory;
+    private Map<Class<?>, Object> controllerDependencies;
     private Charset charset;
     private ClassLoader classLoader;
     private LoadListener loadListener;
+    private Fx2jBuilder<?, ?> builder;
 
     public URL getLocation() {
         return location;
@@ -99,6 +172,20 @@ public class Fx2jLoader {
         this.controllerFactory = controllerFactory;
     }
 
+    public Map<Class<?>, Object> getControllerDependencies() {
+        return controllerDependencies;
+    }
+
+    /**
+     * Only used for compiled builders generated with controller dependency injection
+     *
+     * @param controllerDependencies the dependencies used to construct controllers through their inject constructors
+     *                               keyed by the class of the constructor parameter they are passed to
+     */
+    public void setControllerDependencies(Map<Class<?>, Object> controllerDependencies) {
+        this.controllerDependencies = controllerDependencies;
+    }
+
     public Charset getCharset() {
         return charset;
     }
@@ -139,14 +226,19 @@ public class Fx2jLoader {
     }
 
     public <T> T load() throws IOException {
+        this.builder = null;
         for (Fx2jBuilderFinder finder : BUILDER_FINDERS) {
             Fx2jBuilder<? super Object, ? super Object> builder = (Fx2jBuilder<? super Object, ? super Object>) finder.findBuilder(
-                    location);
+                    location, resources);
             if (builder != null) {
                 try {
+                    long start = System.nanoTime();
+                    builder.setControllerDependencies(controllerDependencies);
                     builder.build(controller, root, resources, controllerFactory);
+                    Fx2jProfiler.record(location, getProfilerClassLoader(), System.nanoTime() - start);
                     setController(builder.getController());
                     setRoot(builder.getRoot());
+                    this.builder = builder;
                     return (T) builder.getRoot();
                 } catch (Exception exception) {
                     LOGGER.log(System.Logger.Level.WARNING,
@@ -162,6 +254,43 @@ public class Fx2jLoader {
         throw new IllegalArgumentException("Cannot find builder for location %s".formatted(getLocation()));
     }
 
+    /**
+     * Removes the change handlers which the last {@link #load()} subscribed to the properties of the view. Views loaded
+     * through the FXML fallback hold no subscriptions, so the call is ignored for them.
+     *
+     * @see Fx2jBuilder#unsubscribe()
+     */
+    public void unsubscribe() {
+        if (builder != null) {
+            builder.unsubscribe();
+        }
+    }
+
+    /**
+     * Loads the cell factory compiled from the cell template at the location of this loader. The factory builds the
+     * template once per cell with the resources and controller factory of this loader, e.g. a
+     * {@code Callback<ListView<T>, ListCell<T>>} for a list cell template.
+     *
+     * @return the compiled cell factory
+     * @throws IllegalArgumentException if no compiled cell template exists for the location
+     */
+    public <P, C> Callback<P, C> loadCellFactory() {
+        return BUILDER_FINDERS.stream()
+                              .map(finder -> finder.findBuilder(location, resources))
+                              .filter(Objects::nonNull)
+                              .map(builder -> builder.getCellFactory(resources, controllerFactory))
+                              .filter(Objects::nonNull)
+                              .findFirst()
+                              .map(cellFactory -> (Callback<P, C>) cellFactory)
+                              .orElseThrow(() -> new IllegalArgumentException(
+                                      "Cannot find compiled cell template for location %s".formatted(location)));
+    }
+
+    private ClassLoader getProfilerClassLoader() {
+        return Objects.requireNonNullElseGet(classLoader, () -> Objects.requireNonNullElse(
+                Thread.currentThread().getContextClassLoader(), Fx2jLoader.class.getClassLoader()));
+    }
+
     private <T> T loadFromFxml() throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader();
         if (resources != null) {
@@ -192,7 +321,9 @@ public class Fx2jLoader {
             fxmlLoader.setBuilderFactory(builderFactory::apply);
         }
 
+        long start = System.nanoTime();
         fxmlLoader.load();
+        Fx2jProfiler.record(location, getProfilerClassLoader(), System.nanoTime() - start);
         setController(fxmlLoader.getController());
         setRoot(fxmlLoader.getRoot());
 
@@ -0,0 +1,122 @@
+package io.github.sheikah45.fx2j.api;
+
+import javafx.scene.text.Font;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms the resources listed in the {@link Fx2jResourceManifest} of a view on background threads so that reading and
+ * decoding them does not happen on the FX thread the first time the view is shown.
+ */
+final class Fx2jPrefetcher {
+
+    private static final System.Logger LOGGER = System.getLogger(Fx2jPrefetcher.class.getCanonicalName());
+
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "fx2j-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final boolean JAVAFX_GRAPHICS_AVAILABLE;
+
+    static {
+        boolean graphicsExists;
+        try {
+            Class.forName("javafx.scene.image.Image", false, Fx2jPrefetcher.class.getClassLoader());
+            graphicsExists = true;
+        } catch (ClassNotFoundException e) {
+            graphicsExists = false;
+        }
+        JAVAFX_GRAPHICS_AVAILABLE = graphicsExists;
+    }
+
+    private Fx2jPrefetcher() {}
+
+    static CompletableFuture<Void> prefetch(URL location, Fx2jResourceManifest manifest, ResourceBundle resources,
+                                            ClassLoader classLoader) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        manifest.images()
+                .forEach(image -> futures.add(
+                        runAsync(location, image.location(), classLoader, url -> prefetchImage(url, image))));
+        manifest.fonts()
+                .forEach(font -> futures.add(runAsync(location, font, classLoader, Fx2jPrefetcher::prefetchFont)));
+        if (resources != null && !manifest.resourceKeys().isEmpty()) {
+            futures.add(CompletableFuture.runAsync(() -> prefetchResourceKeys(resources, manifest.resourceKeys()),
+                                                   PREFETCH_EXECUTOR));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    @SuppressWarnings("deprecation")
+    static URL resolve(URL location, String path, ClassLoader classLoader) throws MalformedURLException {
+        if (path.startsWith("/")) {
+            return classLoader.getResource(path.substring(1));
+        }
+
+        return new URL(location, path);
+    }
+
+    private static CompletableFuture<Void> runAsync(URL location, String path, ClassLoader classLoader,
+                                                    ResourceWarmer warmer) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                URL url = resolve(location, path, classLoader);
+                if (url != null) {
+                    warmer.warm(url);
+                }
+            } catch (Exception exception) {
+                LOGGER.log(System.Logger.Level.DEBUG, () -> "Unable to prefetch %s of %s".formatted(path, location),
+                           exception);
+            }
+        }, PREFETCH_EXECUTOR);
+    }
+
+    private static void prefetchImage(URL url, Fx2jResourceManifest.ImageResource image) throws IOException {
+        if (JAVAFX_GRAPHICS_AVAILABLE) {
+            Fx2jImageCache.getImage(url.toExternalForm(), image.requestedWidth(), image.requestedHeight(),
+                                    image.preserveRatio(), image.smooth(), image.backgroundLoading());
+        } else {
+            readFully(url);
+        }
+    }
+
+    private static void prefetchFont(URL url) throws IOException {
+        if (JAVAFX_GRAPHICS_AVAILABLE) {
+            Font.loadFont(url.toExternalForm(), 0);
+        } else {
+            readFully(url);
+        }
+    }
+
+    private static void prefetchResourceKeys(ResourceBundle resources, List<String> resourceKeys) {
+        for (String key : resourceKeys) {
+            try {
+                resources.getObject(key);
+            } catch (MissingResourceException ignored) {}
+        }
+    }
+
+    private static void readFully(URL url) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResourceWarmer {
+        void warm(URL url) throws IOException;
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.sheikah45.fx2j.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Records which fxml files are loaded by the {@link Fx2jLoader}, how often, in which order and how long each build
+ * takes. The resulting profile can be passed to the fx2j gradle plugin so views are compiled according to how the
+ * application actually uses them.
+ * <p>
+ * Recording is disabled by default. It can be enabled by setting the system property {@value #PROFILE_PROPERTY} to a
+ * file path, in which case the profile is written to that file when the JVM shuts down, or programmatically with
+ * {@link #start()} and {@link #writeProfile(Path)}.
+ * <p>
+ * The profile is a tab separated text file with one line per location containing the resource name of the
+ * location, i.e. its path relative to the root of the jar or directory it was loaded from, the load count, the order
+ * of the first load, the milliseconds from the start of recording to the first load, and the total and maximum build
+ * time in nanoseconds.
+ */
+public final class Fx2jProfiler {
+
+    /**
+     * The system property which enables recording and specifies the file the profile is written to on shutdown.
+     */
+    public static final String PROFILE_PROPERTY = "fx2j.profile";
+
+    private static final String HEADER = "# fx2j-profile 1";
+
+    private static final System.Logger LOGGER = System.getLogger(Fx2jProfiler.class.getCanonicalName());
+
+    private static final Map<String, LocationRecord> RECORDS = new ConcurrentHashMap<>();
+    private static final Map<String, String> RESOURCE_NAMES = new ConcurrentHashMap<>();
+    private static final AtomicInteger LOAD_ORDER = new AtomicInteger();
+
+    private static volatile boolean recording;
+    private static volatile long startNanos;
+
+    static {
+        String profileFile = System.getProperty(PROFILE_PROPERTY);
+        if (profileFile != null && !profileFile.isBlank()) {
+            start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writeProfile(Path.of(profileFile));
+                } catch (UncheckedIOException exception) {
+                    LOGGER.log(System.Logger.Level.WARNING,
+                               () -> "Unable to write profile to %s".formatted(profileFile), exception);
+                }
+            }, "fx2j-profile-writer"));
+        }
+    }
+
+    private Fx2jProfiler() {}
+
+    /**
+     * Starts recording loads, discarding anything recorded previously.
+     */
+    public static void start() {
+        RECORDS.clear();
+        RESOURCE_NAMES.clear();
+        LOAD_ORDER.set(0);
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Stops recording loads. Loads recorded so far are kept until the next call to {@link #start()}.
+     */
+    public static void stop() {
+        recording = false;
+    }
+
+    /**
+     * Returns whether loads are currently being recorded.
+     *
+     * @return true if loads are recorded, false otherwise
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    static void record(URL location, ClassLoader classLoader, long buildNanos) {
+        if (!recording || location == null) {
+            return;
+        }
+
+        String resourceName = RESOURCE_NAMES.computeIfAbsent(location.toExternalForm(),
+                                                             key -> resolveResourceName(location, classLoader));
+        RECORDS.computeIfAbsent(resourceName, path -> new LocationRecord(LOAD_ORDER.getAndIncrement(),
+                                                                               (System.nanoTime() - startNanos) /
+                                                                               1_000_000))
+               .record(buildNanos);
+    }
+
+    /**
+     * Resolves the name of the resource at the given location relative to the root it was loaded from. For jar
+     * locations this is the entry name, otherwise it is the longest suffix of the path which the class loader resolves
+     * to the same location. If no such suffix exists the full path of the location is used.
+     */
+    private static String resolveResourceName(URL location, ClassLoader classLoader) {
+        String path = location.getPath();
+        int jarSeparatorIndex = path.indexOf("!/");
+        if ("jar".equals(location.getProtocol()) && jarSeparatorIndex >= 0) {
+            return path.substring(jarSeparatorIndex + 2);
+        }
+
+        if (classLoader != null) {
+            String externalForm = location.toExternalForm();
+            for (int index = path.indexOf('/'); index >= 0; index = path.indexOf('/', index + 1)) {
+                String candidate = path.substring(index + 1);
+                URL resource = candidate.isEmpty() ? null : classLoader.getResource(candidate);
+                if (resource != null && externalForm.equals(resource.toExternalForm())) {
+                    return candidate;
+                }
+            }
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the profile recorded so far.
+     *
+     * @return the profile in the fx2j profile format
+     */
+    public static String getProfile() {
+        String lines = RECORDS.entrySet()
+                              .stream()
+                              .sorted(Comparator.comparingInt(entry -> entry.getValue().order))
+                              .map(entry -> entry.getValue().toLine(entry.getKey()))
+                              .collect(Collectors.joining());
+        return HEADER + "\n" + lines;
+    }
+
+    /**
+     * Writes the profile recorded so far to the given file.
+     *
+     * @param file the file to write the profile to
+     * @throws UncheckedIOException if the profile could not be written
+     */
+    public static void writeProfile(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, getProfile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write profile to %s".formatted(file), e);
+        }
+    }
+
+    private static final class LocationRecord {
+
+        private final int order;
+        private final long firstLoadMillis;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private LocationRecord(int order, long firstLoadMillis) {
+            this.order = order;
+            this.firstLoadMillis = firstLoadMillis;
+        }
+
+        private synchronized void record(long buildNanos) {
+            count++;
+            totalNanos += buildNanos;
+            maxNanos = Math.max(maxNanos, buildNanos);
+        }
+
+        private synchronized String toLine(String path) {
+            return "%s\t%d\t%d\t%d\t%d\t%d\n".formatted(path, count, order, firstLoadMillis, totalNanos, maxNanos);
+        }
+    }
+}
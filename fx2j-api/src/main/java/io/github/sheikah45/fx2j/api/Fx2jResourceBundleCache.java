@@ -0,0 +1,99 @@
+package io.github.sheikah45.fx2j.api;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.WeakHashMap;
+
+/**
+ * A process wide cache for the resource bundles of included views, so a view which includes many sub views with their
+ * own bundles does not repeat the {@link ResourceBundle#getBundle(String, Locale, ClassLoader)} resolution on every
+ * build. Bundles are keyed by their base name, locale and class loader. Like the cache of {@link ResourceBundle}
+ * itself, class loaders are only held weakly and bundles through soft references, so the cache does not prevent
+ * unloading a class loader. Lookups which fail are not cached.
+ */
+public final class Fx2jResourceBundleCache {
+
+    private static final Map<ClassLoader, Map<BundleKey, SoftReference<ResourceBundle>>> BUNDLES = new WeakHashMap<>();
+
+    private Fx2jResourceBundleCache() {}
+
+    /**
+     * Returns the cached resource bundle for the resources attribute of an fx:include element or resolves and caches
+     * it. Like the FXMLLoader the bundle is resolved for the default locale with the class loader of the resources of
+     * the including view, falling back to the context class loader.
+     *
+     * @param baseName        the base name of the resource bundle
+     * @param parentResources the resources of the including view, may be null
+     * @return the resource bundle
+     * @throws java.util.MissingResourceException if no resource bundle for the base name can be found
+     */
+    public static ResourceBundle getIncludeBundle(String baseName, ResourceBundle parentResources) {
+        ClassLoader classLoader = parentResources == null ? null : parentResources.getClass().getClassLoader();
+        if (classLoader == null) {
+            classLoader = Objects.requireNonNullElse(Thread.currentThread().getContextClassLoader(),
+                                                     Fx2jResourceBundleCache.class.getClassLoader());
+        }
+
+        return getBundle(baseName, Locale.getDefault(), classLoader);
+    }
+
+    /**
+     * Returns the cached resource bundle for the given base name, locale and class loader or resolves and caches it.
+     *
+     * @param baseName    the base name of the resource bundle
+     * @param locale      the locale for which the resource bundle is desired
+     * @param classLoader the class loader from which to load the resource bundle
+     * @return the resource bundle
+     * @throws java.util.MissingResourceException if no resource bundle for the base name can be found
+     * @see ResourceBundle#getBundle(String, Locale, ClassLoader)
+     */
+    public static ResourceBundle getBundle(String baseName, Locale locale, ClassLoader classLoader) {
+        Objects.requireNonNull(classLoader, "classLoader cannot be null");
+        BundleKey key = new BundleKey(baseName, locale);
+        synchronized (BUNDLES) {
+            Map<BundleKey, SoftReference<ResourceBundle>> bundles = BUNDLES.get(classLoader);
+            SoftReference<ResourceBundle> reference = bundles == null ? null : bundles.get(key);
+            ResourceBundle bundle = reference == null ? null : reference.get();
+            if (bundle != null) {
+                return bundle;
+            }
+        }
+
+        ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale, classLoader);
+        synchronized (BUNDLES) {
+            BUNDLES.computeIfAbsent(classLoader, ignored -> new HashMap<>()).put(key, new SoftReference<>(bundle));
+        }
+        return bundle;
+    }
+
+    /**
+     * Returns the number of cached resource bundles including bundles whose reference was already cleared.
+     *
+     * @return the number of cached resource bundles
+     */
+    public static int size() {
+        synchronized (BUNDLES) {
+            return BUNDLES.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    /**
+     * Removes all resource bundles from the cache, e.g. after the default locale changed.
+     */
+    public static void clear() {
+        synchronized (BUNDLES) {
+            BUNDLES.clear();
+        }
+    }
+
+    private record BundleKey(String baseName, Locale locale) {
+        private BundleKey {
+            Objects.requireNonNull(baseName, "baseName cannot be null");
+            Objects.requireNonNull(locale, "locale cannot be null");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.sheikah45.fx2j.api;
+
+import java.util.List;
+
+/**
+ * The external resources referenced by a compiled view. Locations are stored as they appear in the fxml file, relative
+ * locations are resolved against the location of the view and locations starting with a slash against the class path.
+ *
+ * @param images       the images obtained from the Fx2jImageCache
+ * @param fonts        the locations of fonts
+ * @param resourceKeys the keys looked up in the resource bundle
+ * @param includes     the locations of included fxml files
+ */
+public record Fx2jResourceManifest(List<ImageResource> images, List<String> fonts, List<String> resourceKeys,
+                                   List<String> includes) {
+
+    /**
+     * The manifest of a view which does not reference any external resources.
+     */
+    public static final Fx2jResourceManifest EMPTY = new Fx2jResourceManifest(List.of(), List.of(), List.of(),
+                                                                              List.of());
+
+    public Fx2jResourceManifest {
+        images = List.copyOf(images);
+        fonts = List.copyOf(fonts);
+        resourceKeys = List.copyOf(resourceKeys);
+        includes = List.copyOf(includes);
+    }
+
+    /**
+     * An image obtained from the Fx2jImageCache by the view, with the arguments the view passes to the cache so that
+     * prefetching it creates the same cache entry.
+     *
+     * @param location          the location of the image
+     * @param requestedWidth    the width of the bounding box the image is scaled to
+     * @param requestedHeight   the height of the bounding box the image is scaled to
+     * @param preserveRatio     whether the aspect ratio is preserved when scaling
+     * @param smooth            whether a better quality filtering algorithm is used when scaling
+     * @param backgroundLoading whether the image is loaded in the background
+     */
+    public record ImageResource(String location, double requestedWidth, double requestedHeight, boolean preserveRatio,
+                                boolean smooth, boolean backgroundLoading) {}
+}
@@ -3,6 +3,7 @@ import io.github.sheikah45.fx2j.api.Fx2jBuilderFinder;
 @SuppressWarnings("JavaModuleNaming")
 module io.github.sheikah45.fx2j.api {
     requires static javafx.fxml;
+    requires static javafx.graphics;
     exports io.github.sheikah45.fx2j.api;
     uses Fx2jBuilderFinder;
 }
\ No newline at end of file
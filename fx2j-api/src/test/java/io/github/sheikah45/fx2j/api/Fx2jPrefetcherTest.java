@@ -0,0 +1,73 @@
+package io.github.sheikah45.fx2j.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Fx2jPrefetcherTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    void testPrefetchWithoutBuilder() throws Exception {
+        Fx2jLoader.prefetch(URI.create("file://test.fxml").toURL()).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testPrefetchResourceKeys() throws Exception {
+        Set<String> requestedKeys = ConcurrentHashMap.newKeySet();
+        ResourceBundle resources = new ResourceBundle() {
+            @Override
+            protected Object handleGetObject(String key) {
+                requestedKeys.add(key);
+                return "value";
+            }
+
+            @Override
+            public Enumeration<String> getKeys() {
+                return Collections.emptyEnumeration();
+            }
+        };
+
+        Fx2jResourceManifest manifest = new Fx2jResourceManifest(List.of(), List.of(), List.of("title", "description"),
+                                                                 List.of());
+        Fx2jPrefetcher.prefetch(tempDirectory.resolve("view.fxml").toUri().toURL(), manifest, resources,
+                                getClass().getClassLoader()).get(5, TimeUnit.SECONDS);
+        assertEquals(Set.of("title", "description"), requestedKeys);
+    }
+
+    @Test
+    void testPrefetchMissingResources() throws Exception {
+        Fx2jResourceManifest.ImageResource image = new Fx2jResourceManifest.ImageResource("missing.png", 0, 0, false,
+                                                                                          false, false);
+        Fx2jResourceManifest manifest = new Fx2jResourceManifest(List.of(image), List.of("/missing.ttf"), List.of(),
+                                                                 List.of());
+        Fx2jPrefetcher.prefetch(tempDirectory.resolve("view.fxml").toUri().toURL(), manifest, null,
+                                getClass().getClassLoader()).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testResolve() throws Exception {
+        Files.writeString(tempDirectory.resolve("style.css"), ".root {}");
+        URL location = tempDirectory.resolve("view.fxml").toUri().toURL();
+
+        assertEquals(tempDirectory.resolve("style.css").toUri().toURL(),
+                     Fx2jPrefetcher.resolve(location, "style.css", getClass().getClassLoader()));
+        assertEquals(URI.create("http://example.com/image.png").toURL(),
+                     Fx2jPrefetcher.resolve(location, "http://example.com/image.png", getClass().getClassLoader()));
+    }
+}
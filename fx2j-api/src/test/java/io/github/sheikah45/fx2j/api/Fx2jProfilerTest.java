@@ -0,0 +1,86 @@
+package io.github.sheikah45.fx2j.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Fx2jProfilerTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    @AfterEach
+    void stopRecording() {
+        Fx2jProfiler.stop();
+    }
+
+    @Test
+    void testRecordProfile() throws Exception {
+        Fx2jProfiler.start();
+        assertTrue(Fx2jProfiler.isRecording());
+
+        Fx2jProfiler.record(URI.create("file:/app/views/main.fxml").toURL(), null, 100);
+        Fx2jProfiler.record(URI.create("file:/app/views/item.fxml").toURL(), null, 20);
+        Fx2jProfiler.record(URI.create("file:/app/views/item.fxml").toURL(), null, 40);
+
+        List<String> lines = Fx2jProfiler.getProfile().lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("#"));
+
+        String[] main = lines.get(1).split("\t");
+        assertEquals("/app/views/main.fxml", main[0]);
+        assertEquals("1", main[1]);
+        assertEquals("0", main[2]);
+        assertEquals("100", main[4]);
+
+        String[] item = lines.get(2).split("\t");
+        assertEquals("/app/views/item.fxml", item[0]);
+        assertEquals("2", item[1]);
+        assertEquals("1", item[2]);
+        assertEquals("60", item[4]);
+        assertEquals("40", item[5]);
+    }
+
+    @Test
+    void testRecordResourceNames() throws Exception {
+        Fx2jProfiler.start();
+
+        ClassLoader classLoader = Fx2jProfilerTest.class.getClassLoader();
+        String className = Fx2jProfilerTest.class.getName().replace('.', '/') + ".class";
+        Fx2jProfiler.record(URI.create("jar:file:/app/lib/app.jar!/fxml/main.fxml").toURL(), classLoader, 100);
+        Fx2jProfiler.record(classLoader.getResource(className), classLoader, 100);
+
+        List<String> lines = Fx2jProfiler.getProfile().lines().toList();
+        assertEquals("fxml/main.fxml", lines.get(1).split("\t")[0]);
+        assertEquals(className, lines.get(2).split("\t")[0]);
+    }
+
+    @Test
+    void testNotRecording() throws Exception {
+        Fx2jProfiler.start();
+        Fx2jProfiler.stop();
+        assertFalse(Fx2jProfiler.isRecording());
+
+        Fx2jProfiler.record(URI.create("file:/app/views/main.fxml").toURL(), null, 100);
+        assertEquals(1, Fx2jProfiler.getProfile().lines().count());
+    }
+
+    @Test
+    void testWriteProfile() throws Exception {
+        Fx2jProfiler.start();
+        Fx2jProfiler.record(URI.create("file:/app/views/main.fxml").toURL(), null, 100);
+
+        Path profileFile = tempDirectory.resolve("profile/fx2j.profile");
+        Fx2jProfiler.writeProfile(profileFile);
+        assertEquals(Fx2jProfiler.getProfile(), Files.readString(profileFile));
+    }
+}
@@ -3,20 +3,27 @@ package io.github.sheikah45.fx2j.gradle.plugin;
 import io.github.sheikah45.fx2j.gradle.plugin.exception.ClassNameCollisionException;
 import io.github.sheikah45.fx2j.gradle.plugin.exception.CompilationException;
 import io.github.sheikah45.fx2j.processor.Fx2jProcessor;
+import io.github.sheikah45.fx2j.processor.Fx2jProfile;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import io.github.sheikah45.fx2j.processor.ProcessorException;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.file.SourceDirectorySet;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CompileClasspath;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetOutput;
@@ -41,7 +48,10 @@ import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -54,13 +64,17 @@ public abstract class CompileFx2jTask extends DefaultTask {
     public void compileFxml() throws IOException {
         Set<File> classpathFiles = getClassPathFiles().getFiles();
 
-        URL[] classpath = classpathFiles.stream().map(File::toURI).map(uri -> {
-            try {
-                return uri.toURL();
-            } catch (MalformedURLException e) {
-                throw new RuntimeException(e);
-            }
-        }).toArray(URL[]::new);
+        Path fxmlResourceDirectory = getFxmlResourceDirectory().get().getAsFile().toPath();
+        URL[] classpath = Stream.concat(classpathFiles.stream(), Stream.of(fxmlResourceDirectory.toFile()))
+                                .map(File::toURI)
+                                .map(uri -> {
+                                    try {
+                                        return uri.toURL();
+                                    } catch (MalformedURLException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                })
+                                .toArray(URL[]::new);
 
         Path sourcePath = getSourceOutputDirectory().get().getAsFile().toPath();
         Files.createDirectories(sourcePath);
@@ -75,10 +89,32 @@ public abstract class CompileFx2jTask extends DefaultTask {
         }
 
         List<FxmlProcessor> processors = new ArrayList<>();
+        Map<String, FxmlProcessor> localizedProcessors = new LinkedHashMap<>();
+        List<String> localizationFailures = new ArrayList<>();
+        List<Locale> locales = getLocales().get().stream().sorted().map(Locale::forLanguageTag).toList();
+        if (!locales.isEmpty() && !getResourceBundleName().isPresent()) {
+            throw new CompilationException("Locales require the resourceBundleName to be set");
+        }
 
         String rootPackage = getFxmlBuilderPackage().get();
 
         boolean modularizeIfPossible = getModularizeIfPossible().get();
+        FxmlProcessorOptions options = FxmlProcessorOptions.defaults()
+                                                           .withInjectControllerDependencies(
+                                                                   getInjectControllerDependencies().get())
+                                                           .withBackgroundImageLoading(
+                                                                   getBackgroundImageLoading().get())
+                                                           .withCacheImages(getCacheImages().get())
+                                                           .withBuildMethodSizeBudget(
+                                                                   getBuildMethodSizeBudget().get())
+                                                           .withDispatchEventHandlers(
+                                                                   getDispatchEventHandlers().get())
+                                                           .withFuseBindExpressions(
+                                                                   getFuseBindExpressions().get())
+                                                           .withSubscribeChangeHandlers(
+                                                                   getSubscribeChangeHandlers().get())
+                                                           .withInlineIncludes(getInlineIncludes().get())
+                                                           .withDeduplicateSubtrees(getDeduplicateSubtrees().get());
         try (URLClassLoader urlClassLoader = new URLClassLoader(classpath, getClass().getClassLoader())) {
 
             ClassLoader loader = urlClassLoader;
@@ -114,12 +150,27 @@ public abstract class CompileFx2jTask extends DefaultTask {
                 try {
                     numFxmlFiles++;
 
-                    processors.add(new FxmlProcessor(file.toPath(),
-                                                     getFxmlResourceDirectory().get().getAsFile().toPath(), rootPackage,
-                                                     loader
-                    ));
+                    FxmlProcessor processor = new FxmlProcessor(file.toPath(), fxmlResourceDirectory, rootPackage,
+                                                                loader, options);
+                    processors.add(processor);
 
                     LOGGER.debug("Compiled {}", file);
+
+                    if (!processor.getResourceManifest().resourceKeys().isEmpty()) {
+                        for (Locale locale : locales) {
+                            try {
+                                FxmlProcessor localizedProcessor = new FxmlProcessor(
+                                        file.toPath(), fxmlResourceDirectory, rootPackage, loader,
+                                        options.withResourceBundleName(getResourceBundleName().get())
+                                               .withLocale(locale));
+                                localizedProcessors.putIfAbsent(localizedProcessor.getCanonicalClassName(),
+                                                                localizedProcessor);
+                            } catch (Exception exception) {
+                                localizationFailures.add("`%s` for locale %s: %s".formatted(
+                                        file, locale.toLanguageTag(), exception.getMessage()));
+                            }
+                        }
+                    }
                 } catch (Exception exception) {
                     failed++;
                     LOGGER.warn("Failed to compile `%s` due to %s".formatted(file, exception.getMessage()));
@@ -133,6 +184,13 @@ public abstract class CompileFx2jTask extends DefaultTask {
             }
             LOGGER.info("{} out of {} files compiled", numFxmlFiles - failed, numFxmlFiles);
 
+            if (!localizationFailures.isEmpty()) {
+                throw new CompilationException(
+                        "Some files failed to be localized: %s".formatted(String.join(", ", localizationFailures)));
+            }
+
+            processors.addAll(localizedProcessors.values());
+
             if (Boolean.TRUE.equals(strict) && failed != 0) {
                 throw new CompilationException(
                         "Some files failed to be compiled and the strict option is selected. See the log output for more details");
@@ -160,7 +218,12 @@ public abstract class CompileFx2jTask extends DefaultTask {
             return;
         }
 
-        Fx2jProcessor fx2jProcessor = new Fx2jProcessor(processors, modularizeIfPossible);
+        Fx2jProfile profile = Fx2jProfile.empty();
+        if (getProfile().isPresent()) {
+            profile = Fx2jProfile.read(getProfile().get().getAsFile().toPath());
+        }
+
+        Fx2jProcessor fx2jProcessor = new Fx2jProcessor(processors, modularizeIfPossible, profile);
         fx2jProcessor.writeSourceFiles(sourcePath, resourceDirectory);
     }
 
@@ -199,12 +262,61 @@ public abstract class CompileFx2jTask extends DefaultTask {
         return getProject().getLayout().files(fxmlFiles);
     }
 
+    @InputFiles
+    public FileCollection getResourceBundleFiles() {
+        Provider<List<File>> resourceBundleFiles = getLocales().zip(
+                getInputSourceSet().map(SourceSet::getResources).map(SourceDirectorySet::getFiles),
+                (locales, files) -> locales.isEmpty() ?
+                                    List.<File>of() :
+                                    files.stream().filter(file -> file.getName().endsWith(".properties")).toList());
+        return getProject().getLayout().files(resourceBundleFiles);
+    }
+
     @Input
     public abstract Property<Boolean> getStrict();
 
     @Input
     public abstract Property<Boolean> getModularizeIfPossible();
 
+    @Input
+    public abstract Property<Boolean> getInjectControllerDependencies();
+
+    @Input
+    public abstract Property<Boolean> getBackgroundImageLoading();
+
+    @Input
+    public abstract Property<Boolean> getCacheImages();
+
+    @Input
+    public abstract Property<Integer> getBuildMethodSizeBudget();
+
+    @Input
+    public abstract Property<Boolean> getDispatchEventHandlers();
+
+    @Input
+    public abstract Property<Boolean> getFuseBindExpressions();
+
+    @Input
+    public abstract Property<Boolean> getSubscribeChangeHandlers();
+
+    @Input
+    public abstract Property<Boolean> getInlineIncludes();
+
+    @Input
+    public abstract Property<Boolean> getDeduplicateSubtrees();
+
+    @Input
+    @Optional
+    public abstract Property<String> getResourceBundleName();
+
+    @Input
+    public abstract SetProperty<String> getLocales();
+
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getProfile();
+
     private Provider<List<Path>> filterForMatchingFxmlFiles(Collection<File> files) {
         return getFxmlResourceDirectory().map(Directory::getAsFile)
                                          .map(File::toPath)
@@ -1,5 +1,6 @@
 package io.github.sheikah45.fx2j.gradle.plugin;
 
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import org.gradle.api.NamedDomainObjectProvider;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -33,6 +34,16 @@ public class Fx2jPlugin implements Plugin<Project> {
         extension.getBasePackage().convention("fx2j.builder");
         extension.getStrict().convention(false);
         extension.getModularizeIfPossible().convention(true);
+        extension.getInjectControllerDependencies().convention(false);
+        extension.getBackgroundImageLoading().convention(false);
+        extension.getCacheImages().convention(false);
+        extension.getBuildMethodSizeBudget().convention(FxmlProcessorOptions.DEFAULT_BUILD_METHOD_SIZE_BUDGET);
+        extension.getDispatchEventHandlers().convention(false);
+        extension.getFuseBindExpressions().convention(false);
+        extension.getSubscribeChangeHandlers().convention(false);
+        extension.getInlineIncludes().convention(false);
+        extension.getDeduplicateSubtrees().convention(false);
+        extension.getLocales().convention(Set.of());
         extension.getExcludes().convention(Set.of());
         extension.getIncludes().convention(Set.of());
 
@@ -79,6 +90,18 @@ public class Fx2jPlugin implements Plugin<Project> {
             task.getIncludes().set(extension.getIncludes());
             task.getStrict().set(extension.getStrict());
             task.getModularizeIfPossible().set(extension.getModularizeIfPossible());
+            task.getProfile().set(extension.getProfile());
+            task.getInjectControllerDependencies().set(extension.getInjectControllerDependencies());
+            task.getBackgroundImageLoading().set(extension.getBackgroundImageLoading());
+            task.getCacheImages().set(extension.getCacheImages());
+            task.getBuildMethodSizeBudget().set(extension.getBuildMethodSizeBudget());
+            task.getDispatchEventHandlers().set(extension.getDispatchEventHandlers());
+            task.getFuseBindExpressions().set(extension.getFuseBindExpressions());
+            task.getSubscribeChangeHandlers().set(extension.getSubscribeChangeHandlers());
+            task.getInlineIncludes().set(extension.getInlineIncludes());
+            task.getDeduplicateSubtrees().set(extension.getDeduplicateSubtrees());
+            task.getResourceBundleName().set(extension.getResourceBundleName());
+            task.getLocales().set(extension.getLocales());
 
             task.getInputSourceSet().set(baseSourceSetProvider);
             task.getOutputSourceSet().set(fx2jSourceSet);
@@ -1,5 +1,6 @@
 package io.github.sheikah45.fx2j.gradle.plugin;
 
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.SetProperty;
 
@@ -11,4 +12,16 @@ public interface Fx2jPluginExtension {
     Property<Boolean> getModularizeIfPossible();
     SetProperty<String> getExcludes();
     SetProperty<String> getIncludes();
+    RegularFileProperty getProfile();
+    Property<Boolean> getInjectControllerDependencies();
+    Property<Boolean> getBackgroundImageLoading();
+    Property<Boolean> getCacheImages();
+    Property<Integer> getBuildMethodSizeBudget();
+    Property<Boolean> getDispatchEventHandlers();
+    Property<Boolean> getFuseBindExpressions();
+    Property<Boolean> getSubscribeChangeHandlers();
+    Property<Boolean> getInlineIncludes();
+    Property<Boolean> getDeduplicateSubtrees();
+    Property<String> getResourceBundleName();
+    SetProperty<String> getLocales();
 }
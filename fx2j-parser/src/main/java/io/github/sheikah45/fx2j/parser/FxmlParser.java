@@ -43,9 +43,11 @@ import org.w3c.dom.Text;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -61,9 +63,9 @@ public class FxmlParser {
 
     public static FxmlComponents readFxml(Path filePath) {
         DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newDefaultInstance();
-        try {
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
             DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-            Document document = documentBuilder.parse(filePath.toFile());
+            Document document = documentBuilder.parse(inputStream, filePath.toUri().toString());
             Element element = document.getDocumentElement();
             FxmlElement fxmlElement = createFxmlElement(element);
             if (!(fxmlElement instanceof DeclarationElement declarationElement)) {
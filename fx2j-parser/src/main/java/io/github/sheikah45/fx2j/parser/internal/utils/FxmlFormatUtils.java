@@ -38,7 +38,11 @@ import java.util.stream.Collectors;
 
 public class FxmlFormatUtils {
     private static String toAttributeString(String attributeName, String attributeValue) {
-        return attributeName + "=\"" + attributeValue + "\"";
+        return attributeName + "=\"" + escapeXml(attributeValue) + "\"";
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
     }
 
     public static String toAttributeString(FxmlAttribute attribute) {
@@ -66,7 +70,7 @@ public class FxmlFormatUtils {
                     fxmlBuilder.append("/>");
                 } else {
                     fxmlBuilder.append(">\n");
-                    fxmlBuilder.append(FxmlFormatUtils.toElementsString(elements));
+                    fxmlBuilder.append(FxmlFormatUtils.toElementsString(elements)).append("\n");
                     fxmlBuilder.append("</fx:define>");
                 }
                 yield fxmlBuilder.toString();
@@ -90,7 +94,12 @@ public class FxmlFormatUtils {
             ) -> FxmlFormatUtils.toFxmlElementString(property, content);
             case ReferenceElement(String source, ElementContent<?, ?> content) ->
                     FxmlFormatUtils.toFxmlElementString("fx:reference", content, "source", source);
-            case IncludeElement(Path source, Path resources, Charset charset, ElementContent<?, ?> content) ->
+            case IncludeElement(Path source, Path resources, Charset charset, ElementContent<?, ?> content) when
+                    resources != null -> FxmlFormatUtils.toFxmlElementString("fx:include", content, "source",
+                                                                             source.toString(), "resources",
+                                                                             resources.toString(), "charset",
+                                                                             charset.name());
+            case IncludeElement(Path source, Path ignored, Charset charset, ElementContent<?, ?> content) ->
                     FxmlFormatUtils.toFxmlElementString("fx:include", content, "source", source.toString(), "charset",
                                                         charset.name());
             case CopyElement(String source, ElementContent<?, ?> content) ->
@@ -109,7 +118,7 @@ public class FxmlFormatUtils {
     }
 
     private static String toElementsString(List<? extends FxmlElement> elements) {
-        return elements.stream().map(FxmlElement::toFxml).map(fxml -> fxml.indent(2)).collect(Collectors.joining("\n"));
+        return elements.stream().map(FxmlElement::toFxml).map(fxml -> fxml.indent(2).stripTrailing()).collect(Collectors.joining("\n"));
     }
 
     private static String toAttributesString(List<? extends FxmlAttribute> attributes) {
@@ -123,13 +132,20 @@ public class FxmlFormatUtils {
         for (int i = 0; i < additionalAttributes.length; i += 2) {
             fxmlBuilder.append(" ").append(toAttributeString(additionalAttributes[i], additionalAttributes[i + 1]));
         }
-        fxmlBuilder.append(" ").append(FxmlFormatUtils.toAttributesString(elementContent.attributes()));
+        if (!elementContent.attributes().isEmpty()) {
+            fxmlBuilder.append(" ").append(FxmlFormatUtils.toAttributesString(elementContent.attributes()));
+        }
         if (elementContent.elements().isEmpty() && elementContent.value() instanceof Value.Empty) {
             fxmlBuilder.append("/>");
         } else {
             fxmlBuilder.append(">\n");
-            fxmlBuilder.append(FxmlFormatUtils.toElementsString(elementContent.elements()));
-            fxmlBuilder.append(toValueString(elementContent.value())).append("\n").append("</fx:root>");
+            if (!elementContent.elements().isEmpty()) {
+                fxmlBuilder.append(FxmlFormatUtils.toElementsString(elementContent.elements())).append("\n");
+            }
+            if (!(elementContent.value() instanceof Value.Empty)) {
+                fxmlBuilder.append(escapeXml(toValueString(elementContent.value()))).append("\n");
+            }
+            fxmlBuilder.append("</").append(elementName).append(">");
         }
         return fxmlBuilder.toString();
     }
@@ -146,11 +162,13 @@ public class FxmlFormatUtils {
     private static String toValueString(Value value) {
         return switch (value) {
             case Value.Empty() -> "";
+            case Value.Literal(String val) when val.startsWith("$") || val.startsWith("%") || val.startsWith("@") ||
+                                                val.startsWith("\\") -> "\\" + val;
             case Value.Literal(String val) -> val;
             case Value.Location(Path val) -> "@" + val.toString();
             case Value.Resource(String val) -> "%" + val;
             case Value.Reference(String val) -> "$" + val;
-            case BindExpression bindExpression -> toExpressionString(bindExpression);
+            case BindExpression bindExpression -> "${" + toExpressionString(bindExpression) + "}";
         };
     }
 
@@ -7,6 +7,7 @@ dependencies {
     implementation(project(":fx2j-api"))
     implementation(project(":fx2j-parser"))
     implementation("com.squareup:javapoet:1.13.0")
+    testImplementation("javax.inject:javax.inject:1")
 }
 
 javafx {
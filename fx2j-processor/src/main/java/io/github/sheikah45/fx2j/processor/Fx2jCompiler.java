@@ -1,6 +1,11 @@
 package io.github.sheikah45.fx2j.processor;
 
+import io.github.sheikah45.fx2j.processor.internal.model.ByteArrayJavaFileObject;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
@@ -10,6 +15,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 
 /**
@@ -31,29 +39,72 @@ public class Fx2jCompiler {
      */
     public static void compile(Fx2jProcessor fx2jProcessor, Path classOutputDirectory,
                                Collection<Path> classOrModulePath) {
-        Collection<JavaFileObject> compilationUnits = fx2jProcessor.createJavaFileObjects();
-
         try {
             Files.createDirectories(classOutputDirectory);
             JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-            StandardJavaFileManager standardJavaFileManager = compiler.getStandardFileManager(null, null, null);
+            StandardJavaFileManager standardJavaFileManager = createFileManager(compiler, fx2jProcessor,
+                                                                                classOrModulePath);
             standardJavaFileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(classOutputDirectory.toFile()));
-            if (classOrModulePath != null) {
-                StandardLocation location = fx2jProcessor.isModular() ?
-                                            StandardLocation.MODULE_PATH :
-                                            StandardLocation.CLASS_PATH;
-                standardJavaFileManager.setLocationFromPaths(location, classOrModulePath);
-            }
-
-            JavaCompiler.CompilationTask compilationTask = compiler.getTask(null, standardJavaFileManager, null, null,
-                                                                            null, compilationUnits);
-            Boolean success = compilationTask.call();
-            if (!Boolean.TRUE.equals(success)) {
-                throw new RuntimeException("Unable to compile files");
-            }
+            runCompilation(compiler, standardJavaFileManager, fx2jProcessor);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
+    /**
+     * Compiles Java source files using the specified Fx2jProcessor and class or module path without writing anything
+     * to disk.
+     *
+     * @param fx2jProcessor     the Fx2jProcessor used for creating JavaFileObjects
+     * @param classOrModulePath the class or module path used for compilation (can be null)
+     * @return a map of binary class names to the bytecode of the compiled class
+     * @throws RuntimeException if the compilation fails or an exception occurs during the compilation process
+     */
+    public static Map<String, byte[]> compileInMemory(Fx2jProcessor fx2jProcessor,
+                                                      Collection<Path> classOrModulePath) {
+        Map<String, ByteArrayJavaFileObject> classFiles = new ConcurrentHashMap<>();
+        try {
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            StandardJavaFileManager standardJavaFileManager = createFileManager(compiler, fx2jProcessor,
+                                                                                classOrModulePath);
+            JavaFileManager inMemoryFileManager = new ForwardingJavaFileManager<>(standardJavaFileManager) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                           JavaFileObject.Kind kind, FileObject sibling) {
+                    return classFiles.computeIfAbsent(className, name -> new ByteArrayJavaFileObject(name, kind));
+                }
+            };
+            runCompilation(compiler, inMemoryFileManager, fx2jProcessor);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        return classFiles.entrySet()
+                         .stream()
+                         .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                                                               entry -> entry.getValue().getBytes()));
+    }
+
+    private static StandardJavaFileManager createFileManager(JavaCompiler compiler, Fx2jProcessor fx2jProcessor,
+                                                             Collection<Path> classOrModulePath) throws IOException {
+        StandardJavaFileManager standardJavaFileManager = compiler.getStandardFileManager(null, null, null);
+        if (classOrModulePath != null) {
+            StandardLocation location = fx2jProcessor.isModular() ?
+                                        StandardLocation.MODULE_PATH :
+                                        StandardLocation.CLASS_PATH;
+            standardJavaFileManager.setLocationFromPaths(location, classOrModulePath);
+        }
+        return standardJavaFileManager;
+    }
+
+    private static void runCompilation(JavaCompiler compiler, JavaFileManager fileManager,
+                                       Fx2jProcessor fx2jProcessor) {
+        Collection<JavaFileObject> compilationUnits = fx2jProcessor.createJavaFileObjects();
+        JavaCompiler.CompilationTask compilationTask = compiler.getTask(null, fileManager, null, null, null,
+                                                                        compilationUnits);
+        Boolean success = compilationTask.call();
+        if (!Boolean.TRUE.equals(success)) {
+            throw new RuntimeException("Unable to compile files");
+        }
     }
-}
\ No newline at end of file
+}
@@ -21,9 +21,14 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.ResourceBundle;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,11 +45,13 @@ public class Fx2jProcessor {
     private static final WildcardTypeName EXTENDS_BUILDER = WildcardTypeName.subtypeOf(BUILDER_TYPE_NAME);
     private static final ParameterizedTypeName SUPPLIER_TYPE_NAME = ParameterizedTypeName.get(
             ClassName.get(Supplier.class), EXTENDS_BUILDER);
-    private static final ParameterizedTypeName MAP_TYPE_NAME = ParameterizedTypeName.get(ClassName.get(HashMap.class),
-                                                                                         ClassName.get(String.class),
-                                                                                         SUPPLIER_TYPE_NAME);
+    private static final ParameterizedTypeName MAP_TYPE_NAME = ParameterizedTypeName.get(
+            ClassName.get(LinkedHashMap.class), ClassName.get(String.class), SUPPLIER_TYPE_NAME);
+    private static final ParameterizedTypeName LOCALIZED_MAP_TYPE_NAME = ParameterizedTypeName.get(
+            ClassName.get(HashMap.class), ClassName.get(String.class), MAP_TYPE_NAME);
 
     private final List<FxmlProcessor> fxmlProcessors;
+    private final Fx2jProfile profile;
     private final JavaFile builderFinderJavaFile;
     private final String builderFinderCanonicalClassName;
     private final String rootPackage;
@@ -58,7 +65,23 @@ public class Fx2jProcessor {
      * @throws IllegalArgumentException if no root package is detected or multiple processor root packages are detected
      */
     public Fx2jProcessor(List<FxmlProcessor> fxmlProcessors, boolean modular) {
-        this.fxmlProcessors = List.copyOf(fxmlProcessors);
+        this(fxmlProcessors, modular, Fx2jProfile.empty());
+    }
+
+    /**
+     * Constructs a new Fx2jProcessor object which uses the recorded runtime profile to order the builder lookup by
+     * load count and to preload the builders of views loaded during startup.
+     *
+     * @param fxmlProcessors the list of FxmlProcessors to be considered by the Fx2jProcessor
+     * @param modular        a boolean flag indicating whether the Fx2jProcessor should produce a module-info.java
+     * @param profile        the runtime profile of the application
+     * @throws IllegalArgumentException if no root package is detected or multiple processor root packages are detected
+     */
+    public Fx2jProcessor(List<FxmlProcessor> fxmlProcessors, boolean modular, Fx2jProfile profile) {
+        this.profile = Objects.requireNonNull(profile, "profile cannot be null");
+        this.fxmlProcessors = fxmlProcessors.stream()
+                                            .sorted(Comparator.comparingInt(this::getLoadCount).reversed())
+                                            .toList();
         this.modular = modular;
 
         List<String> rootPackages = this.fxmlProcessors.stream().map(FxmlProcessor::getRootPackage).distinct().toList();
@@ -76,25 +99,83 @@ public class Fx2jProcessor {
         builderFinderCanonicalClassName = JavaFileUtils.getCanonicalClassName(builderFinderJavaFile);
     }
 
+    private int getLoadCount(FxmlProcessor fxmlProcessor) {
+        return profile.getViewProfile(fxmlProcessor.getRelativeFilePath())
+                      .map(Fx2jProfile.ViewProfile::loadCount)
+                      .orElse(0);
+    }
+
     private TypeSpec buildBuilderFinderTypeSpec() {
-        return TypeSpec.classBuilder(Fx2jBuilderFinder.class.getSimpleName())
-                       .addModifiers(Modifier.PUBLIC)
-                       .addSuperinterface(Fx2jBuilderFinder.class)
-                       .addField(buildLookupFieldSpec())
-                       .addStaticBlock(buildInitializationCodeBlock())
-                       .addMethod(buildFindMethodSpec())
-                       .build();
+        TypeSpec.Builder builderFinderBuilder = TypeSpec.classBuilder(Fx2jBuilderFinder.class.getSimpleName())
+                                                        .addModifiers(Modifier.PUBLIC)
+                                                        .addSuperinterface(Fx2jBuilderFinder.class)
+                                                        .addField(buildLookupFieldSpec())
+                                                        .addStaticBlock(buildInitializationCodeBlock())
+                                                        .addMethod(buildFindMethodSpec());
+
+        if (fxmlProcessors.stream().anyMatch(fxmlProcessor -> fxmlProcessor.getLocale() != null)) {
+            builderFinderBuilder.addField(buildLocalizedLookupFieldSpec())
+                                .addStaticBlock(buildLocalizedInitializationCodeBlock())
+                                .addMethod(buildLocalizedFindMethodSpec());
+        }
+
+        List<String> preloadClassNames = fxmlProcessors.stream()
+                                                       .filter(fxmlProcessor -> profile.isStartupView(
+                                                               fxmlProcessor.getRelativeFilePath()))
+                                                       .sorted(Comparator.comparingInt(this::getLoadOrder))
+                                                       .map(FxmlProcessor::getCanonicalClassName)
+                                                       .toList();
+        if (!preloadClassNames.isEmpty()) {
+            builderFinderBuilder.addStaticBlock(buildPreloadCodeBlock(preloadClassNames))
+                                .addMethod(buildPreloadMethodSpec());
+        }
+
+        return builderFinderBuilder.build();
+    }
+
+    private int getLoadOrder(FxmlProcessor fxmlProcessor) {
+        return profile.getViewProfile(fxmlProcessor.getRelativeFilePath())
+                      .map(Fx2jProfile.ViewProfile::loadOrder)
+                      .orElse(Integer.MAX_VALUE);
+    }
+
+    private CodeBlock buildPreloadCodeBlock(List<String> preloadClassNames) {
+        CodeBlock classNames = preloadClassNames.stream()
+                                                .map(className -> CodeBlock.of("$S", className))
+                                                .collect(CodeBlock.joining(", "));
+        return CodeBlock.builder()
+                        .addStatement("$T preloadThread = new $T(() -> $T.of($L).forEach(Fx2jBuilderFinder::preload), $S)",
+                                      Thread.class, Thread.class, List.class, classNames, "fx2j-preload")
+                        .addStatement("preloadThread.setDaemon(true)")
+                        .addStatement("preloadThread.start()")
+                        .build();
+    }
+
+    private MethodSpec buildPreloadMethodSpec() {
+        return MethodSpec.methodBuilder("preload")
+                         .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                         .addParameter(String.class, "className")
+                         .beginControlFlow("try")
+                         .addStatement("$T.forName(className, false, Fx2jBuilderFinder.class.getClassLoader())",
+                                       Class.class)
+                         .nextControlFlow("catch ($T | $T exception)", ClassNotFoundException.class,
+                                          LinkageError.class)
+                         .addStatement("$T.getLogger(Fx2jBuilderFinder.class.getName())"
+                                       + ".log($T.WARNING, $S + className, exception)", System.class,
+                                       System.Logger.Level.class, "Unable to preload ")
+                         .endControlFlow()
+                         .build();
     }
 
     private FieldSpec buildLookupFieldSpec() {
         int hashMapSize = (int) Math.ceil(fxmlProcessors.size() / .75);
         return FieldSpec.builder(MAP_TYPE_NAME, "BUILDER_PATH_MAP", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-                        .initializer("new $T<>($L, $Lf)", HashMap.class, hashMapSize, .75)
+                        .initializer("new $T<>($L, $Lf)", LinkedHashMap.class, hashMapSize, .75)
                         .build();
     }
 
     private CodeBlock buildInitializationCodeBlock() {
-        return fxmlProcessors.stream().map(fxmlProcessor -> {
+        return fxmlProcessors.stream().filter(fxmlProcessor -> fxmlProcessor.getLocale() == null).map(fxmlProcessor -> {
             String urlPath = fxmlProcessor.getRelativeFilePath().toString().replace("\\", "/");
             ClassName builderType = ClassName.bestGuess(fxmlProcessor.getCanonicalClassName());
             return CodeBlock.builder().addStatement("BUILDER_PATH_MAP.put($S, $T::new)", urlPath, builderType).build();
@@ -116,6 +197,54 @@ public class Fx2jProcessor {
                          .build();
     }
 
+    private FieldSpec buildLocalizedLookupFieldSpec() {
+        return FieldSpec.builder(LOCALIZED_MAP_TYPE_NAME, "LOCALIZED_BUILDER_PATH_MAPS", Modifier.PRIVATE,
+                                 Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T<>()", HashMap.class)
+                        .build();
+    }
+
+    private CodeBlock buildLocalizedInitializationCodeBlock() {
+        return fxmlProcessors.stream().filter(fxmlProcessor -> fxmlProcessor.getLocale() != null).map(fxmlProcessor -> {
+            String urlPath = fxmlProcessor.getRelativeFilePath().toString().replace("\\", "/");
+            String bundleKey = toBundleKey(fxmlProcessor.getOptions().resourceBundleName(), fxmlProcessor.getLocale());
+            ClassName builderType = ClassName.bestGuess(fxmlProcessor.getCanonicalClassName());
+            return CodeBlock.builder()
+                            .addStatement(
+                                    "LOCALIZED_BUILDER_PATH_MAPS.computeIfAbsent($S, key -> new $T<>()).put($S, $T::new)",
+                                    bundleKey, LinkedHashMap.class, urlPath, builderType)
+                            .build();
+        }).collect(CodeBlock.joining(""));
+    }
+
+    private static String toBundleKey(String resourceBundleName, Locale locale) {
+        return resourceBundleName + "_" + locale.toLanguageTag();
+    }
+
+    private MethodSpec buildLocalizedFindMethodSpec() {
+        return MethodSpec.methodBuilder("findBuilder")
+                         .addAnnotation(Override.class)
+                         .addModifiers(Modifier.PUBLIC)
+                         .addParameter(ParameterSpec.builder(URL.class, "location").build())
+                         .addParameter(ParameterSpec.builder(ResourceBundle.class, "resources").build())
+                         .returns(BUILDER_TYPE_NAME)
+                         .beginControlFlow("if (location == null || resources == null)")
+                         .addStatement("return findBuilder(location)")
+                         .endControlFlow()
+                         .addStatement(
+                                 "$T localizedBuilders = LOCALIZED_BUILDER_PATH_MAPS.get(resources.getBaseBundleName() + $S + resources.getLocale().toLanguageTag())",
+                                 MAP_TYPE_NAME, "_")
+                         .beginControlFlow("if (localizedBuilders == null)")
+                         .addStatement("return findBuilder(location)")
+                         .endControlFlow()
+                         .addStatement("$T path = location.getPath()", String.class)
+                         .addStatement(
+                                 "$T builder = localizedBuilders.entrySet().stream().filter(entry -> path.endsWith(entry.getKey())).map($T::getValue).map($T::get).findFirst().orElse(null)",
+                                 BUILDER_TYPE_NAME, Map.Entry.class, Supplier.class)
+                         .addStatement("return builder != null ? builder : findBuilder(location)")
+                         .build();
+    }
+
     /**
      * Returns the root package of the Fx2jProcessor.
      *
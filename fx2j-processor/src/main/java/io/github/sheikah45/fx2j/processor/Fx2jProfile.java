@@ -0,0 +1,134 @@
+package io.github.sheikah45.fx2j.processor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The Fx2jProfile holds the load statistics recorded at runtime by the Fx2jProfiler, which are used to order the
+ * builder lookup and to select the views which are preloaded.
+ */
+public class Fx2jProfile {
+
+    /**
+     * The default time from the start of recording during which first loads are considered part of the startup.
+     */
+    public static final Duration DEFAULT_STARTUP_WINDOW = Duration.ofSeconds(10);
+
+    private static final Fx2jProfile EMPTY = new Fx2jProfile(List.of(), DEFAULT_STARTUP_WINDOW);
+
+    private final List<LocationEntry> entries;
+    private final Duration startupWindow;
+
+    private Fx2jProfile(List<LocationEntry> entries, Duration startupWindow) {
+        this.entries = List.copyOf(entries);
+        this.startupWindow = startupWindow;
+    }
+
+    /**
+     * Returns a profile without any recorded loads.
+     *
+     * @return the empty profile
+     */
+    public static Fx2jProfile empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Reads a profile written by the Fx2jProfiler using the {@link #DEFAULT_STARTUP_WINDOW}.
+     *
+     * @param profileFile the path to the profile
+     * @return the read profile
+     * @throws IOException              if an I/O error occurs while reading the profile
+     * @throws IllegalArgumentException if the profile is malformed
+     */
+    public static Fx2jProfile read(Path profileFile) throws IOException {
+        return read(profileFile, DEFAULT_STARTUP_WINDOW);
+    }
+
+    /**
+     * Reads a profile written by the Fx2jProfiler.
+     *
+     * @param profileFile   the path to the profile
+     * @param startupWindow the time from the start of recording during which first loads are considered part of the
+     *                      startup
+     * @return the read profile
+     * @throws IOException              if an I/O error occurs while reading the profile
+     * @throws IllegalArgumentException if the profile is malformed
+     */
+    public static Fx2jProfile read(Path profileFile, Duration startupWindow) throws IOException {
+        List<LocationEntry> entries = Files.readAllLines(profileFile)
+                                           .stream()
+                                           .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                                           .map(Fx2jProfile::parseLine)
+                                           .toList();
+        return new Fx2jProfile(entries, startupWindow);
+    }
+
+    private static LocationEntry parseLine(String line) {
+        String[] columns = line.split("\t");
+        if (columns.length != 6) {
+            throw new IllegalArgumentException("Malformed profile line: %s".formatted(line));
+        }
+
+        try {
+            return new LocationEntry(columns[0],
+                                     new ViewProfile(Integer.parseInt(columns[1]), Integer.parseInt(columns[2]),
+                                                     Long.parseLong(columns[3]), Long.parseLong(columns[4]),
+                                                     Long.parseLong(columns[5])));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed profile line: %s".formatted(line), e);
+        }
+    }
+
+    /**
+     * Returns the recorded statistics for the fxml file at the given path. Only entries recorded with exactly the same
+     * path are matched, entries for the same path loaded from multiple places, e.g. different jars, are combined.
+     *
+     * @param relativeFilePath the path of the fxml file relative to the resource root
+     * @return the recorded statistics or an empty optional if the file was never loaded
+     */
+    public Optional<ViewProfile> getViewProfile(Path relativeFilePath) {
+        String path = relativeFilePath.toString().replace("\\", "/");
+        return entries.stream()
+                      .filter(entry -> entry.path().equals(path))
+                      .map(LocationEntry::viewProfile)
+                      .reduce(ViewProfile::combine);
+    }
+
+    /**
+     * Returns whether the fxml file at the given path was first loaded within the startup window.
+     *
+     * @param relativeFilePath the path of the fxml file relative to the resource root
+     * @return true if the view is loaded during startup, false otherwise
+     */
+    public boolean isStartupView(Path relativeFilePath) {
+        return getViewProfile(relativeFilePath).map(viewProfile -> viewProfile.firstLoadMillis() <=
+                                                                   startupWindow.toMillis()).orElse(false);
+    }
+
+    /**
+     * The recorded statistics for a single view.
+     *
+     * @param loadCount       the number of times the view was loaded
+     * @param loadOrder       the position of the first load of the view among all recorded first loads
+     * @param firstLoadMillis the milliseconds from the start of recording to the first load of the view
+     * @param totalBuildNanos the total time spent building the view
+     * @param maxBuildNanos   the longest time spent building the view
+     */
+    public record ViewProfile(int loadCount, int loadOrder, long firstLoadMillis, long totalBuildNanos,
+                              long maxBuildNanos) {
+
+        private ViewProfile combine(ViewProfile other) {
+            return new ViewProfile(loadCount + other.loadCount, Math.min(loadOrder, other.loadOrder),
+                                   Math.min(firstLoadMillis, other.firstLoadMillis),
+                                   totalBuildNanos + other.totalBuildNanos,
+                                   Math.max(maxBuildNanos, other.maxBuildNanos));
+        }
+    }
+
+    private record LocationEntry(String path, ViewProfile viewProfile) {}
+}
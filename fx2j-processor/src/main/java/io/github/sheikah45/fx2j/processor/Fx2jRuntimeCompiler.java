@@ -0,0 +1,299 @@
+package io.github.sheikah45.fx2j.processor;
+
+import io.github.sheikah45.fx2j.api.Fx2jBuilder;
+import io.github.sheikah45.fx2j.api.Fx2jBuilderFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The Fx2jRuntimeCompiler is an opt-in {@link Fx2jBuilderFinder} for fxml files that only exist at runtime. On the
+ * first request for a given fxml file it runs the {@link FxmlProcessor} on the file in place, compiles the generated
+ * builder in memory with the {@link Fx2jCompiler} and defines it in a dedicated class loader. Builders are cached by the
+ * location and content hash of the fxml file so subsequent loads of the same content are served by the compiled
+ * builder. The content hash is remembered with the modification time of the file, or of the jar for jar urls, so the
+ * file is only read again once modified.
+ * <p>
+ * Only fxml files from file and jar urls are compiled. Relative locations are resolved against the directory of the
+ * fxml file, locations starting with a slash against the jar root for jar urls and against the directory of the fxml
+ * file for file urls. Included fxml files are compiled together with the including file, so they have to be located in
+ * the same directory as the including file or below it. Changes to included files are only picked up once the
+ * including file changes as well.
+ * <p>
+ * Fxml files which cannot be compiled are remembered as well and null is returned so the caller can fall back to the
+ * FXMLLoader.
+ * <p>
+ * To opt in register an instance with {@link io.github.sheikah45.fx2j.api.Fx2jLoader#addBuilderFinder}.
+ */
+public class Fx2jRuntimeCompiler implements Fx2jBuilderFinder {
+
+    private static final System.Logger LOGGER = System.getLogger(Fx2jRuntimeCompiler.class.getCanonicalName());
+
+    private static final String ROOT_PACKAGE = "fx2j.runtime";
+
+    private final Map<BuilderKey, Optional<Constructor<? extends Fx2jBuilder<?, ?>>>> builderCache =
+            new ConcurrentHashMap<>();
+    private final Map<String, FileVersion> fileVersions = new ConcurrentHashMap<>();
+    private final ClassLoader classLoader;
+    private final Collection<Path> classpath;
+
+    /**
+     * Constructs a new Fx2jRuntimeCompiler which resolves classes with the context class loader and compiles against
+     * the class and module path of the running application.
+     */
+    public Fx2jRuntimeCompiler() {
+        this(Objects.requireNonNullElse(Thread.currentThread().getContextClassLoader(),
+                                        Fx2jRuntimeCompiler.class.getClassLoader()), getRuntimeClasspath());
+    }
+
+    /**
+     * Constructs a new Fx2jRuntimeCompiler.
+     *
+     * @param classLoader the class loader used to resolve classes referenced by the fxml and as the parent of the class
+     *                    loaders the compiled builders are defined in
+     * @param classpath   the class path used to compile the generated builders
+     */
+    public Fx2jRuntimeCompiler(ClassLoader classLoader, Collection<Path> classpath) {
+        this.classLoader = Objects.requireNonNull(classLoader, "classLoader cannot be null");
+        this.classpath = List.copyOf(classpath);
+    }
+
+    private static List<Path> getRuntimeClasspath() {
+        return Stream.of("java.class.path", "jdk.module.path")
+                     .map(System::getProperty)
+                     .filter(Objects::nonNull)
+                     .flatMap(paths -> Arrays.stream(paths.split(File.pathSeparator)))
+                     .filter(path -> !path.isBlank())
+                     .map(Path::of)
+                     .toList();
+    }
+
+    @Override
+    public Fx2jBuilder<?, ?> findBuilder(URL location) {
+        if (location == null) {
+            return null;
+        }
+
+        Path file = toFile(location);
+        JarEntry jarEntry = file == null ? toJarEntry(location) : null;
+        if (file == null && jarEntry == null) {
+            LOGGER.log(System.Logger.Level.DEBUG,
+                       () -> "Unable to compile %s, only file and jar urls are supported".formatted(location));
+            return null;
+        }
+
+        String locationKey = location.toExternalForm();
+        FileTime lastModified = getLastModifiedTime(file == null ? jarEntry.jarFile() : file);
+        if (lastModified != null) {
+            FileVersion fileVersion = fileVersions.get(locationKey);
+            if (fileVersion != null && fileVersion.lastModified().equals(lastModified)) {
+                Optional<Constructor<? extends Fx2jBuilder<?, ?>>> constructor = builderCache.get(
+                        new BuilderKey(locationKey, fileVersion.contentHash()));
+                if (constructor != null) {
+                    return constructor.map(Fx2jRuntimeCompiler::instantiate).orElse(null);
+                }
+            }
+        }
+
+        byte[] content;
+        try (InputStream inputStream = location.openStream()) {
+            content = inputStream.readAllBytes();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, () -> "Unable to read %s".formatted(location), e);
+            return null;
+        }
+
+        String contentHash = hash(content);
+        Optional<Constructor<? extends Fx2jBuilder<?, ?>>> constructor = builderCache.computeIfAbsent(
+                new BuilderKey(locationKey, contentHash),
+                key -> file == null ? compileJarBuilder(location, jarEntry) : compileBuilder(location, file,
+                                                                                             file.getParent()));
+        if (lastModified != null) {
+            fileVersions.put(locationKey, new FileVersion(lastModified, contentHash));
+        }
+
+        return constructor.map(Fx2jRuntimeCompiler::instantiate).orElse(null);
+    }
+
+    private static Path toFile(URL location) {
+        if (!"file".equals(location.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return Path.of(location.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static JarEntry toJarEntry(URL location) {
+        if (!"jar".equals(location.getProtocol())) {
+            return null;
+        }
+
+        try {
+            JarURLConnection connection = (JarURLConnection) location.openConnection();
+            Path jarFile = toFile(connection.getJarFileURL());
+            String entryName = connection.getEntryName();
+            return jarFile == null || entryName == null ? null : new JarEntry(jarFile, entryName);
+        } catch (IOException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Optional<Constructor<? extends Fx2jBuilder<?, ?>>> compileJarBuilder(URL location, JarEntry jarEntry) {
+        try (FileSystem fileSystem = FileSystems.newFileSystem(jarEntry.jarFile())) {
+            Path root = fileSystem.getPath("/");
+            return compileBuilder(location, root.resolve(jarEntry.entryName()), root);
+        } catch (IOException exception) {
+            LOGGER.log(System.Logger.Level.WARNING, () -> "Unable to open %s".formatted(jarEntry.jarFile()),
+                       exception);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Constructor<? extends Fx2jBuilder<?, ?>>> compileBuilder(URL location, Path fxmlFile,
+                                                                            Path resourceRoot) {
+        try {
+            List<FxmlProcessor> fxmlProcessors = createProcessors(fxmlFile, resourceRoot);
+            Fx2jProcessor fx2jProcessor = new Fx2jProcessor(fxmlProcessors, false);
+            Map<String, byte[]> classes = Fx2jCompiler.compileInMemory(fx2jProcessor, classpath);
+
+            Class<?> builderClass = new CompiledBuilderClassLoader(classes, resourceRoot.toUri().toURL(),
+                                                                   classLoader).loadClass(
+                    fxmlProcessors.getFirst().getCanonicalClassName());
+            @SuppressWarnings("unchecked")
+            Constructor<? extends Fx2jBuilder<?, ?>> constructor =
+                    (Constructor<? extends Fx2jBuilder<?, ?>>) builderClass.getConstructor();
+            return Optional.of(constructor);
+        } catch (Exception exception) {
+            LOGGER.log(System.Logger.Level.WARNING, () -> "Unable to compile builder for %s".formatted(location),
+                       exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates the processors for the fxml file and all fxml files it includes directly or indirectly, since the
+     * builders of included files are referenced by the builder of the including file.
+     */
+    private List<FxmlProcessor> createProcessors(Path fxmlFile, Path resourceRoot) {
+        SequencedMap<Path, FxmlProcessor> fxmlProcessors = new LinkedHashMap<>();
+        Deque<Path> pendingFiles = new ArrayDeque<>(List.of(fxmlFile.normalize()));
+        while (!pendingFiles.isEmpty()) {
+            Path file = pendingFiles.removeFirst();
+            if (fxmlProcessors.containsKey(file)) {
+                continue;
+            }
+
+            FxmlProcessor fxmlProcessor = new FxmlProcessor(file, resourceRoot, ROOT_PACKAGE, classLoader);
+            fxmlProcessors.put(file, fxmlProcessor);
+            fxmlProcessor.getResourceManifest()
+                         .includes()
+                         .stream()
+                         .map(include -> file.resolveSibling(include).normalize())
+                         .forEach(pendingFiles::addLast);
+        }
+
+        return List.copyOf(fxmlProcessors.values());
+    }
+
+    private static Fx2jBuilder<?, ?> instantiate(Constructor<? extends Fx2jBuilder<?, ?>> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate %s".formatted(constructor.getDeclaringClass()), e);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record BuilderKey(String location, String contentHash) {}
+
+    private record FileVersion(FileTime lastModified, String contentHash) {}
+
+    private record JarEntry(Path jarFile, String entryName) {}
+
+    /**
+     * Defines the compiled builders and resolves the resources they reference against the resource root of the fxml
+     * file before delegating to the parent class loader.
+     */
+    private static class CompiledBuilderClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+        private final URL resourceRoot;
+
+        private CompiledBuilderClassLoader(Map<String, byte[]> classes, URL resourceRoot, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+            this.resourceRoot = resourceRoot;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            URL resource = findResource(name);
+            return resource == null ? super.getResource(name) : resource;
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            try {
+                URL resource = new URL(resourceRoot, name);
+                try (InputStream ignored = resource.openStream()) {
+                    return resource;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.sheikah45.fx2j.processor;
 
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -7,29 +9,63 @@ import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
 import com.squareup.javapoet.WildcardTypeName;
 import io.github.sheikah45.fx2j.api.Fx2jBuilder;
+import io.github.sheikah45.fx2j.api.Fx2jResourceManifest;
 import io.github.sheikah45.fx2j.parser.FxmlComponents;
 import io.github.sheikah45.fx2j.parser.FxmlParser;
 import io.github.sheikah45.fx2j.parser.element.FxmlProcessingInstruction;
 import io.github.sheikah45.fx2j.parser.attribute.ControllerAttribute;
 import io.github.sheikah45.fx2j.processor.internal.ObjectNodeProcessor;
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.model.IncludedCode;
 import io.github.sheikah45.fx2j.processor.internal.model.ObjectNodeCode;
+import io.github.sheikah45.fx2j.processor.internal.resolve.BuildMethodResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.CellItemResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.ConstantResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.EventHandlerResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.MethodResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.ResolverContainer;
+import io.github.sheikah45.fx2j.processor.internal.resolve.SubscriptionResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.TypeResolver;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeAnalysisUtils;
 import io.github.sheikah45.fx2j.processor.internal.utils.CodeBlockConverter;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeOptimizationUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.FxmlFragmentUtils;
 import io.github.sheikah45.fx2j.processor.internal.utils.JavaFileUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.ResourceManifestUtils;
 import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
 
 import javax.lang.model.element.Modifier;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.SequencedMap;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -44,16 +80,45 @@ public class FxmlProcessor {
     public static final String CONTROLLER_FACTORY_NAME = "controllerFactory";
     public static final String BUILDER_PROVIDED_CONTROLLER_NAME = "builderProvidedController";
     public static final String BUILDER_PROVIDED_ROOT_NAME = "builderProvidedRoot";
+    public static final String CONTROLLER_DEPENDENCIES_NAME = "controllerDependencies";
+    public static final String CELL_CLASS_NAME = "Cell";
+
+    private static final String ITEM_UPDATER_NAME = "itemUpdater";
+    private static final String ITEM_RESETTER_NAME = "itemResetter";
+    private static final ClassName CALLBACK_CLASS_NAME = ClassName.get("javafx.util", "Callback");
+    private static final ClassName EVENT_CLASS_NAME = ClassName.get("javafx.event", "Event");
+    private static final ClassName EVENT_HANDLER_CLASS_NAME = ClassName.get("javafx.event", "EventHandler");
+    private static final ClassName SUBSCRIPTION_CLASS_NAME = ClassName.get("javafx.util", "Subscription");
+    private static final String NODE_CLASS = "javafx.scene.Node";
+    private static final String LIST_VIEW_CLASS = "javafx.scene.control.ListView";
+    private static final String LIST_CELL_CLASS = "javafx.scene.control.ListCell";
+    private static final String TABLE_COLUMN_CLASS = "javafx.scene.control.TableColumn";
+    private static final String TABLE_CELL_CLASS = "javafx.scene.control.TableCell";
 
     private final TypeResolver typeResolver;
     private final MethodResolver methodResolver;
+    private final ConstantResolver constantResolver;
+    private final BuildMethodResolver buildMethodResolver;
+    private final EventHandlerResolver eventHandlerResolver;
+    private final SubscriptionResolver subscriptionResolver;
     private final String rootPackage;
+    private final String packageName;
+    private final String builderClassName;
+    private final FxmlProcessorOptions options;
     private final Class<?> controllerClass;
+    private final Constructor<?> controllerInjectConstructor;
+    private final SequencedMap<Class<?>, Type> controllerDependencies;
+    private final CellTemplate cellTemplate;
+    private final List<Statement> itemDefaults;
+    private final List<Statement> itemUpdates;
+    private final List<Statement> itemResets;
     private final JavaFile javaFile;
     private final Path relativeFilePath;
     private final String canonicalClassName;
     private final ObjectNodeCode objectNodeCode;
+    private final Fx2jResourceManifest resourceManifest;
     private final Class<?> rootClass;
+    private final ResourceBundle resources;
 
     /**
      * FxmlProcessor is responsible for processing an FXML file and generating the corresponding Java code.
@@ -64,7 +129,22 @@ public class FxmlProcessor {
      * @param classLoader      The class loader to use for resolving imported classes.
      */
     public FxmlProcessor(Path filePath, Path resourceRootPath, String rootPackage, ClassLoader classLoader) {
+        this(filePath, resourceRootPath, rootPackage, classLoader, FxmlProcessorOptions.defaults());
+    }
+
+    /**
+     * FxmlProcessor is responsible for processing an FXML file and generating the corresponding Java code.
+     *
+     * @param filePath         The path to the FXML file to be processed.
+     * @param resourceRootPath The root path to the resources used by the FXML file.
+     * @param rootPackage      The root package for the generated Java code.
+     * @param classLoader      The class loader to use for resolving imported classes.
+     * @param options          The options which change the generated Java code.
+     */
+    public FxmlProcessor(Path filePath, Path resourceRootPath, String rootPackage, ClassLoader classLoader,
+                         FxmlProcessorOptions options) {
         this.rootPackage = rootPackage;
+        this.options = Objects.requireNonNull(options, "options cannot be null");
         Path absoluteFilePath = filePath.toAbsolutePath();
         FxmlComponents fxmlComponents = FxmlParser.readFxml(absoluteFilePath);
         Set<String> imports = fxmlComponents.rootProcessingInstructions()
@@ -74,9 +154,39 @@ public class FxmlProcessor {
                                             .map(FxmlProcessingInstruction.Import::value)
                                             .collect(Collectors.toSet());
 
-        ResolverContainer resolverContainer = ResolverContainer.from(imports, classLoader);
+        Path absoluteResourceRootPath = resourceRootPath.toAbsolutePath();
+        relativeFilePath = absoluteResourceRootPath.relativize(absoluteFilePath);
+        String relativePackage = StringUtils.fxmlFileToPackageName(relativeFilePath);
+        if (rootPackage.isBlank() || relativePackage.isBlank()) {
+            packageName = rootPackage.isBlank() ? relativePackage : rootPackage;
+        } else {
+            packageName = "%s.%s".formatted(rootPackage, relativePackage);
+        }
+        Fx2jResourceManifest fxmlResourceManifest = ResourceManifestUtils.collectResourceManifest(
+                fxmlComponents.rootNode());
+        resources = fxmlResourceManifest.resourceKeys().isEmpty() ? null : loadResources(classLoader);
+        builderClassName = resources == null ?
+                           StringUtils.fxmlFileToBuilderClass(relativeFilePath) :
+                           StringUtils.fxmlFileToBuilderClass(relativeFilePath) + "_" +
+                           StringUtils.localeToIdentifier(resources.getLocale());
+
+        ResolverContainer resolverContainer = ResolverContainer.from(imports, classLoader,
+                                                                     new TypeValue.Raw.Top(packageName,
+                                                                                           builderClassName),
+                                                                     absoluteResourceRootPath, relativeFilePath);
         typeResolver = resolverContainer.getTypeResolver();
         methodResolver = resolverContainer.getMethodResolver();
+        constantResolver = resolverContainer.getConstantResolver();
+        resolverContainer.getValueResolver().setResources(resources);
+        findCustomProcessingInstructions(fxmlComponents, "fx2jImmutable")
+                .stream()
+                .flatMap(immutableTypes -> Arrays.stream(immutableTypes.strip().split("\\s+")))
+                .map(typeResolver::resolve)
+                .forEach(constantResolver::addImmutableType);
+        buildMethodResolver = resolverContainer.getBuildMethodResolver();
+        eventHandlerResolver = resolverContainer.getEventHandlerResolver();
+        subscriptionResolver = resolverContainer.getSubscriptionResolver();
+        buildMethodResolver.setReferencedIds(FxmlFragmentUtils.collectReferencedIds(fxmlComponents.rootNode()));
 
         controllerClass = fxmlComponents.rootNode()
                                         .content()
@@ -86,33 +196,128 @@ public class FxmlProcessor {
                                         .map(ControllerAttribute.class::cast)
                                         .map(ControllerAttribute::className)
                                         .findFirst()
-                                        .or(() -> fxmlComponents.rootProcessingInstructions()
-                                                                .stream()
-                                                                .filter(FxmlProcessingInstruction.Custom.class::isInstance)
-                                                                .map(FxmlProcessingInstruction.Custom.class::cast)
-                                                                .filter(custom -> "fx2jControllerType".equals(
-                                                                        custom.name()))
-                                                                .map(FxmlProcessingInstruction.Custom::value)
-                                                                .findFirst())
+                                        .or(() -> findCustomProcessingInstruction(fxmlComponents,
+                                                                                  "fx2jControllerType"))
                                         .map(typeResolver::resolve)
                                         .orElse(Object.class);
 
-        Path absoluteResourceRootPath = resourceRootPath.toAbsolutePath();
+        cellTemplate = resolveCellTemplate(fxmlComponents);
+        CellItemResolver cellItemResolver = resolverContainer.getCellItemResolver();
+        if (cellTemplate != null) {
+            cellItemResolver.setItemType(cellTemplate.itemType());
+        }
+
+        controllerInjectConstructor = resolveControllerInjectConstructor();
+        controllerDependencies = new LinkedHashMap<>();
+        if (controllerInjectConstructor != null) {
+            for (Parameter parameter : controllerInjectConstructor.getParameters()) {
+                Annotation qualifier = methodResolver.findQualifier(parameter).orElse(null);
+                if (qualifier != null) {
+                    throw new IllegalArgumentException(
+                            "Controller dependency %s of %s is qualified by %s but dependencies are looked up by class"
+                                    .formatted(parameter, controllerClass, qualifier));
+                }
+                Type parameterType = parameter.getParameterizedType();
+                Class<?> dependencyClass = typeResolver.wrapType(parameterType);
+                Type existingType = controllerDependencies.putIfAbsent(dependencyClass, parameterType);
+                if (existingType != null && !existingType.equals(parameterType)) {
+                    throw new IllegalArgumentException(
+                            "Controller dependencies %s and %s of %s share the class %s".formatted(
+                                    existingType, parameterType, controllerClass, dependencyClass));
+                }
+            }
+        }
+
         objectNodeCode = new ObjectNodeProcessor(fxmlComponents.rootNode(), controllerClass, resolverContainer,
-                                                 absoluteFilePath, absoluteResourceRootPath,
-                                                 this.rootPackage).getNodeCode();
+                                                 absoluteFilePath, absoluteResourceRootPath, this.rootPackage,
+                                                 this.options).getNodeCode();
         rootClass = typeResolver.wrapType(objectNodeCode.nodeClass());
+        itemDefaults = cellItemResolver.getItemDefaults();
+        itemUpdates = cellItemResolver.getItemUpdates();
+        itemResets = cellItemResolver.getItemResets();
+        resourceManifest = new Fx2jResourceManifest(constantResolver.getCachedImages(), fxmlResourceManifest.fonts(),
+                                                    fxmlResourceManifest.resourceKeys(),
+                                                    fxmlResourceManifest.includes());
+        if (cellTemplate != null && !typeResolver.isAssignableFrom(typeResolver.resolve(NODE_CLASS), rootClass)) {
+            throw new IllegalArgumentException("Root of cell template %s is not a node".formatted(rootClass));
+        }
 
-        relativeFilePath = absoluteResourceRootPath.relativize(absoluteFilePath);
-        String relativePackage = StringUtils.fxmlFileToPackageName(relativeFilePath);
-        String packageName = rootPackage.isBlank() ? relativePackage : "%s.%s".formatted(rootPackage, relativePackage);
         javaFile = JavaFile.builder(packageName, generateTypeSpec()).build();
         canonicalClassName = JavaFileUtils.getCanonicalClassName(javaFile);
     }
 
+    private ResourceBundle loadResources(ClassLoader classLoader) {
+        if (options.locale() == null) {
+            return null;
+        }
+
+        try {
+            return ResourceBundle.getBundle(options.resourceBundleName(), options.locale(), classLoader,
+                                            ResourceBundle.Control.getNoFallbackControl(
+                                                    ResourceBundle.Control.FORMAT_PROPERTIES));
+        } catch (MissingResourceException exception) {
+            throw new IllegalArgumentException(
+                    "Resource bundle %s cannot be found for locale %s".formatted(options.resourceBundleName(),
+                                                                                 options.locale()), exception);
+        }
+    }
+
+    private static Optional<String> findCustomProcessingInstruction(FxmlComponents fxmlComponents, String name) {
+        return findCustomProcessingInstructions(fxmlComponents, name).stream().findFirst();
+    }
+
+    private static List<String> findCustomProcessingInstructions(FxmlComponents fxmlComponents, String name) {
+        return fxmlComponents.rootProcessingInstructions()
+                             .stream()
+                             .filter(FxmlProcessingInstruction.Custom.class::isInstance)
+                             .map(FxmlProcessingInstruction.Custom.class::cast)
+                             .filter(custom -> name.equals(custom.name()))
+                             .map(FxmlProcessingInstruction.Custom::value)
+                             .toList();
+    }
+
+    private CellTemplate resolveCellTemplate(FxmlComponents fxmlComponents) {
+        Optional<String> listCellItemType = findCustomProcessingInstruction(fxmlComponents, "fx2jListCell");
+        Optional<String> tableCellTypes = findCustomProcessingInstruction(fxmlComponents, "fx2jTableCell");
+        if (listCellItemType.isPresent() && tableCellTypes.isPresent()) {
+            throw new IllegalArgumentException("Template cannot be both a list cell and a table cell");
+        }
+
+        if (listCellItemType.isPresent()) {
+            Class<?> itemType = typeResolver.resolve(listCellItemType.get().strip());
+            return new CellTemplate(typeResolver.resolve(LIST_VIEW_CLASS), typeResolver.resolve(LIST_CELL_CLASS),
+                                    List.of(itemType));
+        }
+
+        if (tableCellTypes.isPresent()) {
+            List<Class<?>> typeArguments = Arrays.stream(tableCellTypes.get().strip().split("\\s+"))
+                                                 .<Class<?>>map(typeResolver::resolve)
+                                                 .toList();
+            if (typeArguments.size() != 2) {
+                throw new IllegalArgumentException(
+                        "Table cell template requires the row and item type but got %s".formatted(
+                                tableCellTypes.get()));
+            }
+
+            return new CellTemplate(typeResolver.resolve(TABLE_COLUMN_CLASS), typeResolver.resolve(TABLE_CELL_CLASS),
+                                    typeArguments);
+        }
+
+        return null;
+    }
+
+    private Constructor<?> resolveControllerInjectConstructor() {
+        if (!options.injectControllerDependencies() || controllerClass.isInterface() ||
+            java.lang.reflect.Modifier.isAbstract(controllerClass.getModifiers())) {
+            return null;
+        }
+
+        return methodResolver.findInjectConstructor(controllerClass).orElse(null);
+    }
+
     private TypeSpec generateTypeSpec() {
         ParameterizedTypeName fx2jSuperType = ParameterizedTypeName.get(Fx2jBuilder.class, controllerClass, rootClass);
-        TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(StringUtils.fxmlFileToBuilderClass(relativeFilePath))
+        TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(builderClassName)
                                                    .addSuperinterface(fx2jSuperType)
                                                    .addModifiers(Modifier.PUBLIC);
 
@@ -152,8 +357,27 @@ public class FxmlProcessor {
                                                             .beginControlFlow("if ($N != null)",
                                                                               builderProvidedControllerParameter)
                                                             .addStatement("$L = $N", CONTROLLER_NAME,
-                                                                          builderProvidedControllerParameter)
-                                                            .nextControlFlow("else if ($N != null)",
+                                                                          builderProvidedControllerParameter);
+
+        if (controllerInjectConstructor != null) {
+            CodeBlock constructorArguments = Arrays.stream(controllerInjectConstructor.getGenericParameterTypes())
+                                                   .map(type -> CodeBlock.of(
+                                                           "($T) $T.requireNonNull($L.get($T.class), $S)", type,
+                                                           Objects.class, CONTROLLER_DEPENDENCIES_NAME,
+                                                           typeResolver.wrapType(type),
+                                                           "Missing controller dependency " + type.getTypeName()))
+                                                   .collect(CodeBlock.joining(", "));
+            if (controllerDependencies.values().stream().anyMatch(ParameterizedType.class::isInstance)) {
+                setControllerBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                                 .addMember("value", "$S", "unchecked")
+                                                                 .build());
+            }
+            setControllerBuilder.nextControlFlow("else if ($L != null)", CONTROLLER_DEPENDENCIES_NAME)
+                                .addStatement("$L = new $T($L)", CONTROLLER_NAME, controllerClass,
+                                              constructorArguments);
+        }
+
+        setControllerBuilder.nextControlFlow("else if ($N != null)",
                                                                              controllerFactoryParameter)
                                                             .addStatement("$1L = ($2T) $3N.apply($2T.class)",
                                                                           CONTROLLER_NAME, controllerClass,
@@ -173,10 +397,12 @@ public class FxmlProcessor {
 
         buildMethodBuilder.addCode("\n");
 
-        buildMethodBuilder.addCode(objectNodeCode.initializers()
-                                                 .stream()
-                                                 .map(CodeBlockConverter::convertStatementToCodeBlock)
-                                                 .collect(CodeBlock.joining("")));
+        Set<String> liveIdentifiers = new HashSet<>(
+                CodeAnalysisUtils.collectReferencedIdentifiers(objectNodeCode.nodeValue()));
+        liveIdentifiers.addAll(CodeAnalysisUtils.collectReferencedIdentifiers(itemDefaults));
+        liveIdentifiers.addAll(CodeAnalysisUtils.collectReferencedIdentifiers(itemUpdates));
+        buildMethodBuilder.addCode(
+                toCodeBlock(CodeOptimizationUtils.optimize(objectNodeCode.initializers(), liveIdentifiers)));
 
         MethodSpec getControllerMethodSpec = MethodSpec.methodBuilder("getController")
                                                        .addAnnotation(Override.class)
@@ -200,6 +426,18 @@ public class FxmlProcessor {
 
         buildMethodBuilder.addCode("\n");
 
+        if (cellTemplate != null) {
+            buildMethodBuilder.addCode(toCodeBlock(itemDefaults))
+                              .addCode("$L = $L -> {\n$>$L$<};\n", ITEM_UPDATER_NAME, CellItemResolver.ITEM_NAME,
+                                       toCodeBlock(itemUpdates))
+                              .addCode("$L = () -> {\n$>$L$<};\n\n", ITEM_RESETTER_NAME, toCodeBlock(itemResets));
+        }
+
+        if (subscriptionResolver.getSubscriptionCount() > 0) {
+            buildMethodBuilder.addStatement("this.$L = $T.combine(this.$L)", SubscriptionResolver.SUBSCRIPTION_NAME,
+                                            SUBSCRIPTION_CLASS_NAME, SubscriptionResolver.SUBSCRIPTIONS_NAME);
+        }
+
         buildMethodBuilder.addStatement("$N($L)", setRootMethodSpec,
                                         CodeBlockConverter.convertExpressionToCodeBlock(objectNodeCode.nodeValue()));
 
@@ -213,10 +451,286 @@ public class FxmlProcessor {
         List<MethodSpec> methodSpecs = List.of(getControllerMethodSpec, setControllerMethodSpec, getRootMethodSpec,
                                                setRootMethodSpec);
 
-        return typeSpecBuilder.addMethods(methodSpecs)
-                              .addMethod(buildMethodBuilder.build())
-                              .addFields(List.of(controllerFieldSpec, rootFieldSpec))
-                              .build();
+        constantResolver.getConstants()
+                        .stream()
+                        .map(constant -> FieldSpec.builder(constant.type(), constant.identifier(), Modifier.PRIVATE,
+                                                           Modifier.STATIC, Modifier.FINAL)
+                                                  .initializer(CodeBlockConverter.convertExpressionToCodeBlock(
+                                                          constant.initializer()))
+                                                  .build())
+                        .forEach(typeSpecBuilder::addField);
+
+        typeSpecBuilder.addMethods(methodSpecs)
+                       .addMethod(buildMethodBuilder.build())
+                       .addFields(List.of(controllerFieldSpec, rootFieldSpec));
+
+        buildMethodResolver.getBuildMethods()
+                           .stream()
+                           .map(buildMethod -> MethodSpec.methodBuilder(buildMethod.name())
+                                                         .addModifiers(Modifier.PRIVATE)
+                                                         .returns(CodeBlockConverter.convertToTypeName(
+                                                                 buildMethod.returnType()))
+                                                         .addParameter(resourcesParameter)
+                                                         .addParameter(controllerFactoryParameter)
+                                                         .addParameters(buildMethod.parameters()
+                                                                                   .stream()
+                                                                                   .map(parameter -> ParameterSpec.builder(
+                                                                                           CodeBlockConverter.convertToTypeName(
+                                                                                                   parameter.type()),
+                                                                                           parameter.identifier())
+                                                                                                                  .build())
+                                                                                   .toList())
+                                                         .addCode(toCodeBlock(CodeOptimizationUtils.optimize(
+                                                                 buildMethod.statements(),
+                                                                 Set.of(buildMethod.identifier()))))
+                                                         .addStatement("return $L", buildMethod.identifier())
+                                                         .build())
+                           .forEach(typeSpecBuilder::addMethod);
+
+        if (options.injectControllerDependencies()) {
+            ParameterizedTypeName controllerDependenciesType = ParameterizedTypeName.get(ClassName.get(Map.class),
+                                                                                         classOfObjectTypeName,
+                                                                                         ClassName.get(Object.class));
+            typeSpecBuilder.addField(controllerDependenciesType, CONTROLLER_DEPENDENCIES_NAME, Modifier.PRIVATE)
+                           .addMethod(MethodSpec.methodBuilder("setControllerDependencies")
+                                                .addAnnotation(Override.class)
+                                                .addModifiers(Modifier.PUBLIC)
+                                                .addParameter(controllerDependenciesType, CONTROLLER_DEPENDENCIES_NAME)
+                                                .addStatement("this.$1L = $1L", CONTROLLER_DEPENDENCIES_NAME)
+                                                .build());
+        }
+
+        if (!eventHandlerResolver.getHandlerMethods().isEmpty()) {
+            addEventHandlerDispatcherMembers(typeSpecBuilder);
+        }
+
+        if (subscriptionResolver.getSubscriptionCount() > 0) {
+            addSubscriptionMembers(typeSpecBuilder);
+        }
+
+        if (cellTemplate != null) {
+            addCellTemplateMembers(typeSpecBuilder, controllerFactoryType);
+        }
+
+        if (!Fx2jResourceManifest.EMPTY.equals(resourceManifest)) {
+            FieldSpec resourceManifestFieldSpec = FieldSpec.builder(Fx2jResourceManifest.class, "RESOURCE_MANIFEST",
+                                                                    Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                                           .initializer("new $T($L, $L, $L, $L)",
+                                                                        Fx2jResourceManifest.class,
+                                                                        toImageListCodeBlock(
+                                                                                resourceManifest.images()),
+                                                                        toListCodeBlock(resourceManifest.fonts()),
+                                                                        toListCodeBlock(
+                                                                                resourceManifest.resourceKeys()),
+                                                                        toListCodeBlock(resourceManifest.includes()))
+                                                           .build();
+            typeSpecBuilder.addField(resourceManifestFieldSpec)
+                           .addMethod(MethodSpec.methodBuilder("getResourceManifest")
+                                                .addAnnotation(Override.class)
+                                                .addModifiers(Modifier.PUBLIC)
+                                                .returns(Fx2jResourceManifest.class)
+                                                .addStatement("return $N", resourceManifestFieldSpec)
+                                                .build());
+        }
+
+        return typeSpecBuilder.build();
+    }
+
+    private void addSubscriptionMembers(TypeSpec.Builder typeSpecBuilder) {
+        FieldSpec subscriptionsFieldSpec = FieldSpec.builder(ArrayTypeName.of(SUBSCRIPTION_CLASS_NAME),
+                                                             SubscriptionResolver.SUBSCRIPTIONS_NAME,
+                                                             Modifier.PRIVATE, Modifier.FINAL)
+                                                    .initializer("new $T[$L]", SUBSCRIPTION_CLASS_NAME,
+                                                                 subscriptionResolver.getSubscriptionCount())
+                                                    .build();
+        FieldSpec subscriptionFieldSpec = FieldSpec.builder(SUBSCRIPTION_CLASS_NAME,
+                                                            SubscriptionResolver.SUBSCRIPTION_NAME, Modifier.PRIVATE)
+                                                   .initializer("$T.EMPTY", SUBSCRIPTION_CLASS_NAME)
+                                                   .build();
+        typeSpecBuilder.addField(subscriptionsFieldSpec)
+                       .addField(subscriptionFieldSpec)
+                       .addMethod(MethodSpec.methodBuilder("unsubscribe")
+                                            .addAnnotation(Override.class)
+                                            .addModifiers(Modifier.PUBLIC)
+                                            .addStatement("$N.unsubscribe()", subscriptionFieldSpec)
+                                            .addStatement("$N = $T.EMPTY", subscriptionFieldSpec,
+                                                          SUBSCRIPTION_CLASS_NAME)
+                                            .build());
+    }
+
+    private void addEventHandlerDispatcherMembers(TypeSpec.Builder typeSpecBuilder) {
+        ClassName dispatcherType = ClassName.get(packageName, builderClassName)
+                                            .nestedClass(EventHandlerResolver.DISPATCHER_CLASS_NAME);
+        TypeVariableName eventType = TypeVariableName.get("T", EVENT_CLASS_NAME);
+        ParameterizedTypeName eventHandlerType = ParameterizedTypeName.get(EVENT_HANDLER_CLASS_NAME, eventType);
+
+        MethodSpec.Builder handleMethodBuilder = MethodSpec.methodBuilder("handle")
+                                                           .addAnnotation(Override.class)
+                                                           .addModifiers(Modifier.PUBLIC)
+                                                           .addParameter(eventType, "event")
+                                                           .beginControlFlow("switch (handlerIndex)");
+        List<Method> handlerMethods = eventHandlerResolver.getHandlerMethods();
+        for (int i = 0; i < handlerMethods.size(); i++) {
+            Method handlerMethod = handlerMethods.get(i);
+            CodeBlock handlerCall = handlerMethod.getParameterCount() == 0 ?
+                                    CodeBlock.of("$L.$N()", CONTROLLER_NAME, handlerMethod.getName()) :
+                                    CodeBlock.of("$L.$N(($T) event)", CONTROLLER_NAME, handlerMethod.getName(),
+                                                 handlerMethod.getParameterTypes()[0]);
+            if (handlerMethod.getExceptionTypes().length == 0) {
+                handleMethodBuilder.addStatement("case $L -> $L", i, handlerCall);
+            } else {
+                handleMethodBuilder.addCode("case $L -> {\n$>", i)
+                                   .beginControlFlow("try")
+                                   .addStatement(handlerCall)
+                                   .nextControlFlow("catch ($T exception)", Exception.class)
+                                   .addStatement("throw new $T(exception)", RuntimeException.class)
+                                   .endControlFlow()
+                                   .addCode("$<}\n");
+            }
+        }
+        MethodSpec handleMethodSpec = handleMethodBuilder.addStatement(
+                                                                 "default -> throw new $T($S + handlerIndex)",
+                                                                 IllegalStateException.class,
+                                                                 "Unknown event handler ")
+                                                         .endControlFlow()
+                                                         .build();
+
+        TypeSpec dispatcherTypeSpec = TypeSpec.classBuilder(EventHandlerResolver.DISPATCHER_CLASS_NAME)
+                                              .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                              .addTypeVariable(eventType)
+                                              .addSuperinterface(eventHandlerType)
+                                              .addField(controllerClass, CONTROLLER_NAME, Modifier.PRIVATE,
+                                                        Modifier.FINAL)
+                                              .addField(int.class, "handlerIndex", Modifier.PRIVATE, Modifier.FINAL)
+                                              .addMethod(MethodSpec.constructorBuilder()
+                                                                   .addModifiers(Modifier.PRIVATE)
+                                                                   .addParameter(controllerClass, CONTROLLER_NAME)
+                                                                   .addParameter(int.class, "handlerIndex")
+                                                                   .addStatement("this.$1L = $1L", CONTROLLER_NAME)
+                                                                   .addStatement("this.handlerIndex = handlerIndex")
+                                                                   .build())
+                                              .addMethod(handleMethodSpec)
+                                              .build();
+
+        MethodSpec eventHandlerMethodSpec = MethodSpec.methodBuilder(EventHandlerResolver.EVENT_HANDLER_METHOD_NAME)
+                                                      .addModifiers(Modifier.PRIVATE)
+                                                      .addTypeVariable(eventType)
+                                                      .returns(eventHandlerType)
+                                                      .addParameter(int.class, "handlerIndex")
+                                                      .addStatement("return new $T<>($L, handlerIndex)",
+                                                                    dispatcherType, CONTROLLER_NAME)
+                                                      .build();
+
+        typeSpecBuilder.addMethod(eventHandlerMethodSpec).addType(dispatcherTypeSpec);
+    }
+
+    private void addCellTemplateMembers(TypeSpec.Builder typeSpecBuilder, TypeName controllerFactoryType) {
+        ClassName builderType = ClassName.get(packageName, builderClassName);
+        ClassName cellType = builderType.nestedClass(CELL_CLASS_NAME);
+        TypeName itemType = TypeName.get(cellTemplate.itemType());
+        TypeName[] typeArguments = cellTemplate.typeArguments().stream().map(TypeName::get).toArray(TypeName[]::new);
+        ParameterizedTypeName cellSuperType = ParameterizedTypeName.get(ClassName.get(cellTemplate.cellClass()),
+                                                                        typeArguments);
+        ParameterizedTypeName cellOwnerType = ParameterizedTypeName.get(ClassName.get(cellTemplate.ownerClass()),
+                                                                        typeArguments);
+        ParameterizedTypeName cellFactoryType = ParameterizedTypeName.get(CALLBACK_CLASS_NAME, cellOwnerType,
+                                                                          cellSuperType);
+
+        FieldSpec itemUpdaterFieldSpec = FieldSpec.builder(
+                ParameterizedTypeName.get(ClassName.get(Consumer.class), itemType), ITEM_UPDATER_NAME,
+                Modifier.PRIVATE).build();
+        FieldSpec itemResetterFieldSpec = FieldSpec.builder(Runnable.class, ITEM_RESETTER_NAME, Modifier.PRIVATE)
+                                                   .build();
+
+        MethodSpec updateItemMethodSpec = MethodSpec.methodBuilder("updateItem")
+                                                    .addModifiers(Modifier.PRIVATE)
+                                                    .addParameter(itemType, CellItemResolver.ITEM_NAME)
+                                                    .addStatement("$N.accept($L)", itemUpdaterFieldSpec,
+                                                                  CellItemResolver.ITEM_NAME)
+                                                    .build();
+
+        MethodSpec resetItemMethodSpec = MethodSpec.methodBuilder("resetItem")
+                                                   .addModifiers(Modifier.PRIVATE)
+                                                   .addStatement("$N.run()", itemResetterFieldSpec)
+                                                   .build();
+
+        TypeSpec cellTypeSpec = TypeSpec.classBuilder(CELL_CLASS_NAME)
+                                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                                        .superclass(cellSuperType)
+                                        .addField(FieldSpec.builder(builderType, "builder", Modifier.PRIVATE,
+                                                                    Modifier.FINAL)
+                                                           .initializer("new $T()", builderType)
+                                                           .build())
+                                        .addMethod(MethodSpec.constructorBuilder()
+                                                             .addModifiers(Modifier.PUBLIC)
+                                                             .addParameter(ResourceBundle.class, RESOURCES_NAME)
+                                                             .addParameter(controllerFactoryType,
+                                                                           CONTROLLER_FACTORY_NAME)
+                                                             .addStatement("builder.build(null, null, $L, $L)",
+                                                                           RESOURCES_NAME, CONTROLLER_FACTORY_NAME)
+                                                             .build())
+                                        .addMethod(MethodSpec.methodBuilder("updateItem")
+                                                             .addAnnotation(Override.class)
+                                                             .addModifiers(Modifier.PROTECTED)
+                                                             .addParameter(itemType, CellItemResolver.ITEM_NAME)
+                                                             .addParameter(boolean.class, "empty")
+                                                             .addStatement("super.updateItem($L, empty)",
+                                                                           CellItemResolver.ITEM_NAME)
+                                                             .beginControlFlow("if (empty || $L == null)",
+                                                                               CellItemResolver.ITEM_NAME)
+                                                             .addStatement("builder.$N()", resetItemMethodSpec)
+                                                             .addStatement("setGraphic(null)")
+                                                             .nextControlFlow("else")
+                                                             .addStatement("builder.$N($L)", updateItemMethodSpec,
+                                                                           CellItemResolver.ITEM_NAME)
+                                                             .addStatement("setGraphic(builder.getRoot())")
+                                                             .endControlFlow()
+                                                             .build())
+                                        .build();
+
+        MethodSpec cellFactoryMethodSpec = MethodSpec.methodBuilder("cellFactory")
+                                                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                                                     .returns(cellFactoryType)
+                                                     .addParameter(ResourceBundle.class, RESOURCES_NAME)
+                                                     .addParameter(controllerFactoryType, CONTROLLER_FACTORY_NAME)
+                                                     .addStatement("return owner -> new $T($L, $L)", cellType,
+                                                                   RESOURCES_NAME, CONTROLLER_FACTORY_NAME)
+                                                     .build();
+
+        MethodSpec getCellFactoryMethodSpec = MethodSpec.methodBuilder("getCellFactory")
+                                                        .addAnnotation(Override.class)
+                                                        .addModifiers(Modifier.PUBLIC)
+                                                        .returns(cellFactoryType)
+                                                        .addParameter(ResourceBundle.class, RESOURCES_NAME)
+                                                        .addParameter(controllerFactoryType, CONTROLLER_FACTORY_NAME)
+                                                        .addStatement("return $N($L, $L)", cellFactoryMethodSpec,
+                                                                      RESOURCES_NAME, CONTROLLER_FACTORY_NAME)
+                                                        .build();
+
+        typeSpecBuilder.addField(itemUpdaterFieldSpec)
+                       .addField(itemResetterFieldSpec)
+                       .addMethod(updateItemMethodSpec)
+                       .addMethod(resetItemMethodSpec)
+                       .addMethod(cellFactoryMethodSpec)
+                       .addMethod(getCellFactoryMethodSpec)
+                       .addType(cellTypeSpec);
+    }
+
+    private static CodeBlock toCodeBlock(List<Statement> statements) {
+        return statements.stream().map(CodeBlockConverter::convertStatementToCodeBlock).collect(CodeBlock.joining(""));
+    }
+
+    private static CodeBlock toImageListCodeBlock(List<Fx2jResourceManifest.ImageResource> images) {
+        return CodeBlock.of("$T.of($L)", List.class, images.stream().map(image -> CodeBlock.of(
+                "new $T($S, $L, $L, $L, $L, $L)", Fx2jResourceManifest.ImageResource.class, image.location(),
+                image.requestedWidth(), image.requestedHeight(), image.preserveRatio(), image.smooth(),
+                image.backgroundLoading())).collect(CodeBlock.joining(", ")));
+    }
+
+    private static CodeBlock toListCodeBlock(List<String> values) {
+        return CodeBlock.of("$T.of($L)", List.class, values.stream()
+                                                           .map(value -> CodeBlock.of("$S", value))
+                                                           .collect(CodeBlock.joining(", ")));
     }
 
     /**
@@ -283,6 +797,114 @@ public class FxmlProcessor {
         return controllerClass;
     }
 
+    /**
+     * Returns the external resources referenced by the FXML file.
+     *
+     * @return The resource manifest of the FXML file.
+     */
+    public Fx2jResourceManifest getResourceManifest() {
+        return resourceManifest;
+    }
+
+    /**
+     * Returns the locale of the resource bundle whose strings are inlined into the generated Java code. This is the
+     * locale of the most specific bundle found for the requested locale, which is also reported by the bundle at
+     * runtime. Views which do not use any resource keys are not specialized for a locale.
+     *
+     * @return The locale of the inlined resource bundle or null if resources are looked up at runtime.
+     */
+    public Locale getLocale() {
+        return resources == null ? null : resources.getLocale();
+    }
+
+    /**
+     * Returns the options used to generate the Java code.
+     *
+     * @return The options used to generate the Java code.
+     */
+    public FxmlProcessorOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the dependencies required to construct the controller through its inject constructor keyed by the class
+     * they are looked up with in the controller dependencies passed to the builder.
+     *
+     * @return The dependencies of the controller or an empty map if the controller is not constructed directly.
+     */
+    public SequencedMap<Class<?>, Type> getControllerDependencies() {
+        return Collections.unmodifiableSequencedMap(controllerDependencies);
+    }
+
+    /**
+     * Returns whether the FXML file is a cell template compiled into a cell factory.
+     *
+     * @return True if the FXML file is a cell template.
+     */
+    public boolean isCellTemplate() {
+        return cellTemplate != null;
+    }
+
+    /**
+     * Returns the code building the view so it can be inlined into the build method of a view which includes it. The
+     * code still uses the variable names of this builder and the controller, resources, controller factory and
+     * constants as they are named here.
+     *
+     * @return The code building the view or an empty optional if it relies on members of its own builder, such as
+     * split build methods, an event handler dispatcher, a provided root or an injected controller.
+     */
+    public Optional<IncludedCode> getIncludedCode() {
+        if (cellTemplate != null || controllerInjectConstructor != null ||
+            buildMethodResolver.getBuildMethodCount() > 0 || !eventHandlerResolver.getHandlerMethods().isEmpty() ||
+            subscriptionResolver.getSubscriptionCount() > 0) {
+            return Optional.empty();
+        }
+
+        List<Statement> statements = objectNodeCode.initializers();
+        Set<String> declaredIdentifiers = CodeAnalysisUtils.collectDeclaredIdentifiers(statements);
+        if (!declaredIdentifiers.contains(objectNodeCode.nodeValue().identifier())) {
+            return Optional.empty();
+        }
+
+        List<ConstantResolver.Constant> constants = constantResolver.getConstants();
+        Set<String> availableIdentifiers = new HashSet<>(
+                Set.of(RESOURCES_NAME, CONTROLLER_FACTORY_NAME, CONTROLLER_DEPENDENCIES_NAME));
+        constants.stream().map(ConstantResolver.Constant::identifier).forEach(availableIdentifiers::add);
+        if (controllerClass != Object.class) {
+            availableIdentifiers.add(CONTROLLER_NAME);
+        }
+
+        boolean usesBuilderMembers = CodeAnalysisUtils.collectReferencedIdentifiers(statements)
+                                                      .stream()
+                                                      .filter(identifier -> !declaredIdentifiers.contains(identifier))
+                                                      .anyMatch(identifier -> !availableIdentifiers.contains(identifier));
+        if (usesBuilderMembers) {
+            return Optional.empty();
+        }
+
+        Expression controllerInitializer = null;
+        String controllerInitializeName = null;
+        if (controllerClass != Object.class) {
+            Expression controllerClassLiteral = CodeValues.fieldAccess(controllerClass, "class");
+            boolean constructible = !controllerClass.isInterface() &&
+                                    !java.lang.reflect.Modifier.isAbstract(controllerClass.getModifiers()) &&
+                                    methodResolver.hasDefaultConstructor(controllerClass);
+            controllerInitializer = CodeValues.ternary(
+                    CodeValues.binary(CodeValues.variable(CONTROLLER_FACTORY_NAME),
+                                      Expression.Operation.BinaryOperator.NOT_EQUAL, CodeValues.nullValue()),
+                    CodeValues.methodCall(controllerClassLiteral, "cast",
+                                          CodeValues.methodCall(CONTROLLER_FACTORY_NAME, "apply",
+                                                                controllerClassLiteral)),
+                    constructible ? CodeValues.newInstance(controllerClass) : CodeValues.nullValue());
+            controllerInitializeName = methodResolver.findMethodRequiredPublicIfExists(controllerClass, "initialize")
+                                                     .map(Method::getName)
+                                                     .orElse(null);
+        }
+
+        return Optional.of(new IncludedCode(new TypeValue.Raw.Top(packageName, builderClassName), objectNodeCode,
+                                            constants, controllerInitializer, controllerInitializeName));
+    }
+
     /**
      * Returns the root package name for the application.
      *
@@ -291,4 +913,10 @@ public class FxmlProcessor {
     public String getRootPackage() {
         return rootPackage;
     }
+
+    private record CellTemplate(Class<?> ownerClass, Class<?> cellClass, List<Class<?>> typeArguments) {
+        private Class<?> itemType() {
+            return typeArguments.getLast();
+        }
+    }
 }
@@ -0,0 +1,211 @@
+package io.github.sheikah45.fx2j.processor;
+
+import java.util.Locale;
+
+/**
+ * The FxmlProcessorOptions hold the settings which change the code generated by the {@link FxmlProcessor}.
+ *
+ * @param injectControllerDependencies whether controllers with an {@code @Inject} annotated constructor are constructed
+ *                                     directly with arguments from the controller dependencies passed to the builder
+ * @param backgroundImageLoading       whether images created from a url load in the background unless the fxml
+ *                                     specifies the backgroundLoading property itself
+ * @param cacheImages                  whether images created from a url are shared through the Fx2jImageCache instead
+ *                                     of being decoded in every build
+ * @param buildMethodSizeBudget        the estimated bytecode size above which subtrees of the view are moved out of the
+ *                                     build method into their own methods
+ * @param dispatchEventHandlers        whether controller event handler methods are called through a single nested
+ *                                     dispatcher class instead of a lambda per handler
+ * @param fuseBindExpressions          whether bind expressions with operators are lowered to a single binding computed
+ *                                     from their leaf properties instead of one binding per operator
+ * @param subscribeChangeHandlers      whether property change handlers are registered with the Subscription api of
+ *                                     JavaFX 21 when it is available on the classpath instead of change listeners
+ * @param resourceBundleName           the base name of the properties resource bundle the view is localized with or
+ *                                     null if resources are only looked up at runtime
+ * @param locale                       the locale whose resource strings are inlined into the generated builder or null
+ *                                     if resources are only looked up at runtime
+ * @param inlineIncludes               whether the code building included views is inlined into the build method of the
+ *                                     including view instead of calling the builder of the included view
+ * @param deduplicateSubtrees          whether sibling subtrees which only differ in their literal values are built by a
+ *                                     shared method taking the differing values as arguments
+ */
+public record FxmlProcessorOptions(boolean injectControllerDependencies, boolean backgroundImageLoading,
+                                   boolean cacheImages, int buildMethodSizeBudget, boolean dispatchEventHandlers,
+                                   boolean fuseBindExpressions, boolean subscribeChangeHandlers,
+                                   String resourceBundleName, Locale locale, boolean inlineIncludes,
+                                   boolean deduplicateSubtrees) {
+
+    /**
+     * The default build method size budget which keeps build methods below the HotSpot limit of 8000 bytes above which
+     * methods are not compiled.
+     */
+    public static final int DEFAULT_BUILD_METHOD_SIZE_BUDGET = 6000;
+
+    private static final FxmlProcessorOptions DEFAULTS = new FxmlProcessorOptions(false, false, false,
+                                                                                  DEFAULT_BUILD_METHOD_SIZE_BUDGET,
+                                                                                  false, false, false, null, null,
+                                                                                  false, false);
+
+    public FxmlProcessorOptions {
+        if (buildMethodSizeBudget <= 0) {
+            throw new IllegalArgumentException("buildMethodSizeBudget must be positive");
+        }
+
+        if (locale != null && resourceBundleName == null) {
+            throw new IllegalArgumentException("locale requires a resourceBundleName");
+        }
+    }
+
+    /**
+     * Returns the options used when none are specified.
+     *
+     * @return the default options
+     */
+    public static FxmlProcessorOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these options with the given controller dependency injection setting.
+     *
+     * @param injectControllerDependencies whether controllers are constructed with the passed controller dependencies
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withInjectControllerDependencies(boolean injectControllerDependencies) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given background image loading setting.
+     *
+     * @param backgroundImageLoading whether images created from a url load in the background
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withBackgroundImageLoading(boolean backgroundImageLoading) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given image caching setting.
+     *
+     * @param cacheImages whether images created from a url are shared through the Fx2jImageCache
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withCacheImages(boolean cacheImages) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given build method size budget.
+     *
+     * @param buildMethodSizeBudget the estimated bytecode size above which subtrees are moved into their own methods
+     * @return the updated options
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public FxmlProcessorOptions withBuildMethodSizeBudget(int buildMethodSizeBudget) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given event handler dispatch setting.
+     *
+     * @param dispatchEventHandlers whether controller event handler methods are called through a single dispatcher class
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withDispatchEventHandlers(boolean dispatchEventHandlers) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given bind expression fusion setting.
+     *
+     * @param fuseBindExpressions whether bind expressions with operators are lowered to a single binding
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withFuseBindExpressions(boolean fuseBindExpressions) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given change handler subscription setting.
+     *
+     * @param subscribeChangeHandlers whether property change handlers are registered with the Subscription api
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withSubscribeChangeHandlers(boolean subscribeChangeHandlers) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given resource bundle name.
+     *
+     * @param resourceBundleName the base name of the properties resource bundle the view is localized with
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withResourceBundleName(String resourceBundleName) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given locale.
+     *
+     * @param locale the locale whose resource strings are inlined into the generated builder
+     * @return the updated options
+     * @throws IllegalArgumentException if a locale is given without a resource bundle name
+     */
+    public FxmlProcessorOptions withLocale(Locale locale) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given include inlining setting.
+     *
+     * @param inlineIncludes whether the code building included views is inlined into the including view
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withInlineIncludes(boolean inlineIncludes) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+
+    /**
+     * Returns a copy of these options with the given subtree deduplication setting.
+     *
+     * @param deduplicateSubtrees whether subtrees which only differ in their literal values are built by a shared method
+     * @return the updated options
+     */
+    public FxmlProcessorOptions withDeduplicateSubtrees(boolean deduplicateSubtrees) {
+        return new FxmlProcessorOptions(injectControllerDependencies, backgroundImageLoading, cacheImages,
+                                        buildMethodSizeBudget, dispatchEventHandlers, fuseBindExpressions,
+                                        subscribeChangeHandlers, resourceBundleName, locale, inlineIncludes,
+                                        deduplicateSubtrees);
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.sheikah45.fx2j.processor.internal;
 
+import io.github.sheikah45.fx2j.api.Fx2jFragmentLoader;
+import io.github.sheikah45.fx2j.api.Fx2jResourceManifest;
 import io.github.sheikah45.fx2j.parser.attribute.AssignableAttribute;
 import io.github.sheikah45.fx2j.parser.attribute.EventHandlerAttribute;
 import io.github.sheikah45.fx2j.parser.attribute.FxmlAttribute;
@@ -27,21 +29,34 @@ import io.github.sheikah45.fx2j.parser.property.FxmlProperty;
 import io.github.sheikah45.fx2j.parser.property.Handler;
 import io.github.sheikah45.fx2j.parser.property.Value;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import io.github.sheikah45.fx2j.processor.ProcessorException;
 import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.Expression;
 import io.github.sheikah45.fx2j.processor.internal.code.Literal;
 import io.github.sheikah45.fx2j.processor.internal.code.Statement;
 import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
 import io.github.sheikah45.fx2j.processor.internal.model.ExpressionResult;
+import io.github.sheikah45.fx2j.processor.internal.model.IncludedCode;
 import io.github.sheikah45.fx2j.processor.internal.model.NamedArgValue;
 import io.github.sheikah45.fx2j.processor.internal.model.ObjectNodeCode;
+import io.github.sheikah45.fx2j.processor.internal.resolve.BuildMethodResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.CellItemResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.ConstantResolver;
+import io.github.sheikah45.fx2j.processor.internal.resolve.EventHandlerResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.ExpressionResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.MethodResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.NameResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.ResolverContainer;
+import io.github.sheikah45.fx2j.processor.internal.resolve.SubscriptionResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.TypeResolver;
 import io.github.sheikah45.fx2j.processor.internal.resolve.ValueResolver;
+import io.github.sheikah45.fx2j.processor.internal.utils.BindExpressionUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeAnalysisUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeRenameUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.FxmlFragmentUtils;
 import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
 
 import java.lang.reflect.Field;
@@ -50,28 +65,58 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
 import java.util.SequencedMap;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ObjectNodeProcessor {
     private static final String EVENT_HANDLER_CLASS = "javafx.event.EventHandler";
     private static final String OBSERVABLE_VALUE_CLASS = "javafx.beans.value.ObservableValue";
+    private static final String SUBSCRIPTION_CLASS = "javafx.util.Subscription";
     private static final String OBSERVABLE_LIST_CLASS = "javafx.collections.ObservableList";
     private static final String LIST_CHANGE_CLASS = "javafx.collections.ListChangeListener$Change";
     private static final String OBSERVABLE_SET_CLASS = "javafx.collections.ObservableSet";
     private static final String SET_CHANGE_CLASS = "javafx.collections.SetChangeListener$Change";
     private static final String OBSERVABLE_MAP_CLASS = "javafx.collections.ObservableMap";
     private static final String MAP_CHANGE_CLASS = "javafx.collections.MapChangeListener$Change";
+    private static final String TABLE_COLUMN_CLASS = "javafx.scene.control.TableColumn";
+    private static final String CELL_DATA_FEATURES_CLASS = "javafx.scene.control.TableColumn$CellDataFeatures";
+    private static final String PROPERTY_VALUE_FACTORY_CLASS = "javafx.scene.control.cell.PropertyValueFactory";
+    private static final String READ_ONLY_OBJECT_WRAPPER_CLASS = "javafx.beans.property.ReadOnlyObjectWrapper";
+    private static final String CALLBACK_CLASS = "javafx.util.Callback";
+    private static final String CELL_DATA_NAME = "cellData";
+    private static final int MINIMUM_SPLIT_SIZE = 32;
+    private static final int MAX_MAP_OF_ENTRIES = 10;
+    private static final String IMAGE_CLASS = "javafx.scene.image.Image";
+    private static final TypeValue.Raw IMAGE_CACHE_TYPE = TypeValues.of("io.github.sheikah45.fx2j.api.Fx2jImageCache");
+    private static final TypeValue.Raw RESOURCE_BUNDLE_CACHE_TYPE = TypeValues.of(
+            "io.github.sheikah45.fx2j.api.Fx2jResourceBundleCache");
+    private static final List<String> IMAGE_CACHE_PARAMETERS = List.of("url", "requestedWidth", "requestedHeight",
+                                                                       "preserveRatio", "smooth", "backgroundLoading");
+    private static final Map<String, Expression> IMAGE_CACHE_DEFAULTS = Map.of("requestedWidth",
+                                                                               CodeValues.literal(0d),
+                                                                               "requestedHeight",
+                                                                               CodeValues.literal(0d), "preserveRatio",
+                                                                               CodeValues.literal(false), "smooth",
+                                                                               CodeValues.literal(false),
+                                                                               "backgroundLoading",
+                                                                               CodeValues.literal(false));
     private static final Map<String, String> COLLECTION_LISTENER_MAP = Map.of(OBSERVABLE_LIST_CLASS, LIST_CHANGE_CLASS,
                                                                               OBSERVABLE_SET_CLASS, SET_CHANGE_CLASS,
                                                                               OBSERVABLE_MAP_CLASS, MAP_CHANGE_CLASS);
@@ -82,11 +127,17 @@ public class ObjectNodeProcessor {
     private final ValueResolver valueResolver;
     private final MethodResolver methodResolver;
     private final NameResolver nameResolver;
+    private final CellItemResolver cellItemResolver;
+    private final BuildMethodResolver buildMethodResolver;
+    private final ConstantResolver constantResolver;
+    private final EventHandlerResolver eventHandlerResolver;
+    private final SubscriptionResolver subscriptionResolver;
     private final Path filePath;
     private final Class<?> controllerClass;
     private final ClassInstanceElement rootNode;
     private final Path resourceRootPath;
     private final String rootPackage;
+    private final FxmlProcessorOptions options;
     private final ObjectNodeCode nodeCode;
     private final String providedId;
 
@@ -97,6 +148,9 @@ public class ObjectNodeProcessor {
     private final List<FxmlProperty.EventHandler> handlerProperties = new ArrayList<>();
     private final List<ClassInstanceElement> definedChildren = new ArrayList<>();
     private final List<ScriptElement> scripts = new ArrayList<>();
+    private final List<ChildNode> childNodes = new ArrayList<>();
+    private final SequencedMap<Expression, List<Expression>> pendingAdditions = new LinkedHashMap<>();
+    private final SequencedMap<Expression, SequencedMap<Expression, Expression>> pendingPuts = new LinkedHashMap<>();
 
     private Type objectType;
     private Type[] typeArguments;
@@ -105,8 +159,16 @@ public class ObjectNodeProcessor {
     public ObjectNodeProcessor(ClassInstanceElement rootNode, Class<?> controllerClass,
                                ResolverContainer resolverContainer, Path filePath, Path resourceRootPath,
                                String rootPackage) {
+        this(rootNode, controllerClass, resolverContainer, filePath, resourceRootPath, rootPackage,
+             FxmlProcessorOptions.defaults());
+    }
+
+    public ObjectNodeProcessor(ClassInstanceElement rootNode, Class<?> controllerClass,
+                               ResolverContainer resolverContainer, Path filePath, Path resourceRootPath,
+                               String rootPackage, FxmlProcessorOptions options) {
         this.resourceRootPath = resourceRootPath;
         this.rootPackage = rootPackage;
+        this.options = options;
         this.filePath = filePath;
         this.controllerClass = controllerClass;
         this.rootNode = rootNode;
@@ -116,6 +178,11 @@ public class ObjectNodeProcessor {
         this.nameResolver = resolverContainer.getNameResolver();
         this.expressionResolver = resolverContainer.getExpressionResolver();
         this.valueResolver = resolverContainer.getValueResolver();
+        this.cellItemResolver = resolverContainer.getCellItemResolver();
+        this.buildMethodResolver = resolverContainer.getBuildMethodResolver();
+        this.constantResolver = resolverContainer.getConstantResolver();
+        this.eventHandlerResolver = resolverContainer.getEventHandlerResolver();
+        this.subscriptionResolver = resolverContainer.getSubscriptionResolver();
 
         List<? extends FxmlAttribute> attributes = rootNode.content().attributes();
         this.providedId = attributes.stream()
@@ -175,6 +242,9 @@ public class ObjectNodeProcessor {
         instanceProperties.values().forEach(this::processInstanceProperty);
         handlerProperties.forEach(this::processHandlerProperty);
         staticProperties.forEach(this::processStaticProperty);
+        flushPendingAdditions();
+        deduplicateChildren();
+        splitOversizedInitializers();
 
         return new ObjectNodeCode(CodeValues.variable(objectIdentifier), objectType, initializers);
     }
@@ -188,8 +258,8 @@ public class ObjectNodeProcessor {
                     String source, ElementContent<?, ?> ignored
             ) -> processCopyInitialization(source);
             case IncludeElement(
-                    Path source, Path ignored1, Charset ignored2, ElementContent<?, ?> ignored3
-            ) -> processIncludeInitialization(source);
+                    Path source, Path resources, Charset charset, ElementContent<?, ?> ignored
+            ) -> processIncludeInitialization(source, resources, charset);
             case FactoryElement(
                     String factoryClassName, String methodName, ElementContent<?, ?> ignored
             ) -> processFactoryBasedInitialization(factoryClassName, methodName);
@@ -286,58 +356,176 @@ public class ObjectNodeProcessor {
 
     }
 
-    private void processIncludeInitialization(Path source) {
-        FxmlProcessor includedProcessor = new FxmlProcessor(filePath.resolveSibling(source), resourceRootPath,
-                                                            rootPackage, typeResolver.getClassLoader());
+    private void processIncludeInitialization(Path source, Path resources, Charset charset) {
+        Path includedPath = filePath.resolveSibling(source.toString());
+        FxmlProcessorOptions includedOptions = resources == null ? options : options.withLocale(null);
+        FxmlProcessor includedProcessor = new FxmlProcessor(includedPath, resourceRootPath, rootPackage,
+                                                            typeResolver.getClassLoader(), includedOptions);
         objectType = typeResolver.resolveClassFromType(includedProcessor.getRootClass());
 
         if (objectType == null) {
-            throw new IllegalArgumentException(
-                    "Unable to determine object class for %s".formatted(filePath.resolveSibling(source)));
+            throw new IllegalArgumentException("Unable to determine object class for %s".formatted(includedPath));
         }
 
         resolveIdentifier();
 
-        String builderIdentifier = objectIdentifier + "Builder";
-        String processorClassName = includedProcessor.getCanonicalClassName();
-        initializers.add(CodeValues.declaration(processorClassName, builderIdentifier,
-                                                CodeValues.newInstance(processorClassName)));
-        initializers.add(CodeValues.methodCall(CodeValues.variable(builderIdentifier), "build", CodeValues.nullValue(),
-                                               CodeValues.nullValue(),
-                                               CodeValues.variable(FxmlProcessor.RESOURCES_NAME),
-                                               CodeValues.variable(FxmlProcessor.CONTROLLER_FACTORY_NAME)));
-        initializers.add(CodeValues.declaration(objectType, objectIdentifier,
-                                                CodeValues.methodCall(builderIdentifier, "getRoot")));
-
+        Expression includedResources = resources == null ?
+                                       CodeValues.variable(FxmlProcessor.RESOURCES_NAME) :
+                                       CodeValues.methodCall(CodeValues.type(RESOURCE_BUNDLE_CACHE_TYPE),
+                                                             "getIncludeBundle",
+                                                             CodeValues.literal(resources.toString()),
+                                                             CodeValues.variable(FxmlProcessor.RESOURCES_NAME));
+        String controllerIdentifier = objectIdentifier + "Controller";
         Class<?> includedControllerClass = typeResolver.resolveClassFromType(includedProcessor.getControllerClass());
+        boolean inlined = StandardCharsets.UTF_8.equals(charset) && options.inlineIncludes() &&
+                          inlineInclude(includedProcessor, includedResources, controllerIdentifier);
+        if (!inlined) {
+            String builderIdentifier = objectIdentifier + "Builder";
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                String processorClassName = includedProcessor.getCanonicalClassName();
+                initializers.add(CodeValues.declaration(processorClassName, builderIdentifier,
+                                                        CodeValues.newInstance(processorClassName)));
+                if (options.injectControllerDependencies()) {
+                    initializers.add(CodeValues.methodCall(CodeValues.variable(builderIdentifier),
+                                                           "setControllerDependencies", CodeValues.variable(
+                                    FxmlProcessor.CONTROLLER_DEPENDENCIES_NAME)));
+                }
+                initializers.add(
+                        CodeValues.methodCall(CodeValues.variable(builderIdentifier), "build", CodeValues.nullValue(),
+                                              CodeValues.nullValue(), includedResources,
+                                              CodeValues.variable(FxmlProcessor.CONTROLLER_FACTORY_NAME)));
+            } else {
+                initializers.add(CodeValues.declaration(TypeValues.of("javafx.fxml.FXMLLoader"), builderIdentifier,
+                                                        CodeValues.methodCall(Fx2jFragmentLoader.class,
+                                                                              "loadInclude",
+                                                                              resolveFileLocation(includedPath),
+                                                                              includedResources, charset.name(),
+                                                                              CodeValues.variable(
+                                                                                      FxmlProcessor.CONTROLLER_FACTORY_NAME))));
+            }
+            initializers.add(CodeValues.declaration(objectType, objectIdentifier,
+                                                    CodeValues.methodCall(builderIdentifier, "getRoot")));
+
+            if (includedControllerClass != Object.class && providedId != null) {
+                initializers.add(CodeValues.declaration(includedControllerClass, controllerIdentifier,
+                                                        CodeValues.methodCall(builderIdentifier, "getController")));
+            }
+        }
+
         if (includedControllerClass != Object.class && providedId != null) {
-            String controllerIdentifier = objectIdentifier + "Controller";
-            initializers.add(CodeValues.declaration(includedControllerClass, controllerIdentifier,
-                                                    CodeValues.methodCall(builderIdentifier, "getController")));
             processControllerSetter(controllerIdentifier, includedControllerClass);
         }
     }
 
+    /**
+     * Adds the code building the included view to the initializers with all of its identifiers prefixed by the
+     * identifier of the include, so no builder of the included view is created.
+     *
+     * @return whether the included view was inlined, which is not possible if its code relies on members of its own
+     * builder, would not fit into a build method or declares identifiers already used by this view
+     */
+    private boolean inlineInclude(FxmlProcessor includedProcessor, Expression includedResources,
+                                  String controllerIdentifier) {
+        IncludedCode includedCode = includedProcessor.getIncludedCode().orElse(null);
+        if (includedCode == null) {
+            return false;
+        }
+
+        List<Statement> statements = includedCode.nodeCode().initializers();
+        if (CodeAnalysisUtils.estimateBytecodeSize(statements) > options.buildMethodSizeBudget()) {
+            return false;
+        }
+
+        Map<String, String> renames = new HashMap<>();
+        CodeAnalysisUtils.collectDeclaredIdentifiers(statements)
+                         .forEach(identifier -> renames.put(identifier,
+                                                            objectIdentifier + StringUtils.capitalize(identifier)));
+        renames.put(includedCode.nodeCode().nodeValue().identifier(), objectIdentifier);
+        renames.put(FxmlProcessor.CONTROLLER_NAME, controllerIdentifier);
+        String resourcesIdentifier = objectIdentifier + "Resources";
+        boolean ownResources = !CodeValues.variable(FxmlProcessor.RESOURCES_NAME).equals(includedResources);
+        if (ownResources) {
+            renames.put(FxmlProcessor.RESOURCES_NAME, resourcesIdentifier);
+        }
+
+        Set<String> reservedNames = renames.values()
+                                           .stream()
+                                           .filter(identifier -> !identifier.equals(objectIdentifier))
+                                           .collect(Collectors.toSet());
+        if (reservedNames.stream().anyMatch(nameResolver::isResolved)) {
+            return false;
+        }
+
+        nameResolver.reserveNames(reservedNames);
+        for (ConstantResolver.Constant constant : includedCode.constants()) {
+            Expression.Variable includedConstant = constantResolver.resolveIncludedConstant(constant,
+                                                                                            includedCode.builderType(),
+                                                                                            renames);
+            renames.put(constant.identifier(), includedConstant.identifier());
+        }
+
+        if (ownResources) {
+            initializers.add(CodeValues.declaration(ResourceBundle.class, resourcesIdentifier, includedResources));
+        }
+
+        if (includedCode.controllerInitializer() != null) {
+            initializers.add(CodeValues.declaration(includedProcessor.getControllerClass(), controllerIdentifier,
+                                                    CodeRenameUtils.renameIdentifiers(
+                                                            includedCode.controllerInitializer(), renames, Map.of())));
+        }
+
+        initializers.addAll(CodeRenameUtils.renameIdentifiers(statements, renames));
+        if (includedCode.controllerInitializeName() != null) {
+            initializers.add(CodeValues.methodCall(controllerIdentifier, includedCode.controllerInitializeName()));
+        }
+
+        return true;
+    }
+
     private void processConstructorInitialization(String className) {
         objectType = typeResolver.resolve(className);
         resolveIdentifier();
+        applyBackgroundImageLoading();
 
+        UnsupportedOperationException unsupportedException = null;
         for (List<NamedArgValue> constructorArgs : getMatchingConstructorArgs()) {
             try {
                 buildWithConstructorArgs(constructorArgs);
                 return;
+            } catch (UnsupportedOperationException exception) {
+                if (unsupportedException == null) {
+                    unsupportedException = exception;
+                }
             } catch (Exception ignored) {}
         }
 
+        if (unsupportedException != null) {
+            throw unsupportedException;
+        }
+
         throw new IllegalArgumentException("Unknown constructor");
     }
 
+    private void applyBackgroundImageLoading() {
+        if (!options.backgroundImageLoading() || !IMAGE_CLASS.equals(objectType.getTypeName()) ||
+            !instanceProperties.containsKey("url") || instanceProperties.containsKey("backgroundLoading")) {
+            return;
+        }
+
+        instanceProperties.put("backgroundLoading", new InstancePropertyAttribute("backgroundLoading",
+                                                                                  new Value.Literal("true")));
+    }
+
     private void processControllerSetter(String identifier, Type valueClass) {
+        resolveControllerSetter(identifier, valueClass).ifPresent(initializers::add);
+    }
+
+    private Optional<Statement> resolveControllerSetter(String identifier, Type valueClass) {
         if (controllerClass == Object.class) {
-            return;
+            return Optional.empty();
         }
 
-        processControllerSettersFromKnownClass(identifier, valueClass);
+        return resolveControllerSetterFromKnownClass(identifier, valueClass);
     }
 
     private Type[] extractTypeArguments() {
@@ -359,8 +547,8 @@ public class ObjectNodeProcessor {
         }
     }
 
-    private void processControllerSettersFromKnownClass(String identifier, Type valueClass) {
-        methodResolver.resolveSetterRequiredPublicIfExists(controllerClass, identifier, valueClass)
+    private Optional<Statement> resolveControllerSetterFromKnownClass(String identifier, Type valueClass) {
+        return methodResolver.resolveSetterRequiredPublicIfExists(controllerClass, identifier, valueClass)
                       .<Statement>map(method -> CodeValues.methodCall(FxmlProcessor.CONTROLLER_NAME, method,
                                                                       CodeValues.variable(identifier)))
                       .or(() -> methodResolver.resolveFieldRequiredPublicIfExists(controllerClass, identifier)
@@ -368,8 +556,7 @@ public class ObjectNodeProcessor {
                                                                                              valueClass))
                                               .map(field -> CodeValues.assignment(
                                                       CodeValues.fieldAccess(FxmlProcessor.CONTROLLER_NAME, field),
-                                                      CodeValues.variable(identifier))))
-                      .ifPresent(initializers::add);
+                                                      CodeValues.variable(identifier))));
     }
 
     private Set<List<NamedArgValue>> getMatchingConstructorArgs() {
@@ -432,10 +619,70 @@ public class ObjectNodeProcessor {
                                                  .map(this::resolveParameterValue)
                                                  .toArray(Expression[]::new);
 
+        FxmlProperty.Instance urlProperty = instanceProperties.get("url");
         namedArgValues.stream().map(NamedArgValue::name).forEach(instanceProperties::remove);
 
-        initializers.add(CodeValues.declaration(objectType, objectIdentifier,
-                                                CodeValues.newInstance(objectType, parameterValues)));
+        if (isCachedImage(namedArgValues)) {
+            Map<String, Expression> argumentsByName = new HashMap<>();
+            for (int i = 0; i < namedArgValues.size(); i++) {
+                argumentsByName.put(namedArgValues.get(i).name(), (Expression) parameterValues[i]);
+            }
+
+            Object[] cacheArguments = IMAGE_CACHE_PARAMETERS.stream()
+                                                            .map(name -> argumentsByName.getOrDefault(name,
+                                                                                                      IMAGE_CACHE_DEFAULTS.get(
+                                                                                                              name)))
+                                                            .toArray();
+            resolveCachedImageResource(urlProperty, cacheArguments).ifPresent(constantResolver::addCachedImage);
+            initializers.add(CodeValues.declaration(objectType, objectIdentifier,
+                                                    CodeValues.methodCall(CodeValues.type(IMAGE_CACHE_TYPE),
+                                                                          "getImage", cacheArguments)));
+            return;
+        }
+
+        Expression objectValue = constantResolver.resolveImmutableValue(objectType, CodeValues.newInstance(objectType,
+                                                                                                        parameterValues));
+        if (providedId == null && objectValue instanceof Expression.Variable(String constantIdentifier)) {
+            objectIdentifier = constantIdentifier;
+            return;
+        }
+
+        initializers.add(CodeValues.declaration(objectType, objectIdentifier, objectValue));
+    }
+
+    private boolean isCachedImage(List<NamedArgValue> namedArgValues) {
+        return options.cacheImages() && IMAGE_CLASS.equals(objectType.getTypeName()) && !namedArgValues.isEmpty() &&
+               "url".equals(namedArgValues.getFirst().name()) &&
+               namedArgValues.stream().map(NamedArgValue::name).allMatch(IMAGE_CACHE_PARAMETERS::contains);
+    }
+
+    /**
+     * Resolves the image a view obtains from the image cache for the resource manifest. Only images whose location and
+     * cache arguments are literals can be prefetched with the same cache key, other images are not listed.
+     */
+    private Optional<Fx2jResourceManifest.ImageResource> resolveCachedImageResource(FxmlProperty.Instance urlProperty,
+                                                                                     Object[] cacheArguments) {
+        Value urlValue = switch (urlProperty) {
+            case InstancePropertyAttribute(String ignored, Value value) -> value;
+            case InstancePropertyElement(String ignored, ElementContent<?, ?> content) -> content.value();
+            case null -> new Value.Empty();
+        };
+        String location = switch (urlValue) {
+            case Value.Location(Path path) -> path.toString().replace("\\", "/");
+            case Value.Literal(String url) when url.contains(":") -> url;
+            default -> null;
+        };
+        if (location == null ||
+            !(cacheArguments[1] instanceof Literal.Double(double requestedWidth)) ||
+            !(cacheArguments[2] instanceof Literal.Double(double requestedHeight)) ||
+            !(cacheArguments[3] instanceof Literal.Bool(boolean preserveRatio)) ||
+            !(cacheArguments[4] instanceof Literal.Bool(boolean smooth)) ||
+            !(cacheArguments[5] instanceof Literal.Bool(boolean backgroundLoading))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Fx2jResourceManifest.ImageResource(location, requestedWidth, requestedHeight,
+                                                                  preserveRatio, smooth, backgroundLoading));
     }
 
     private Expression resolveParameterValue(NamedArgValue namedArgValue) {
@@ -503,7 +750,8 @@ public class ObjectNodeProcessor {
 
         if (typeResolver.isAssignableFrom(Collection.class, objectType)) {
             Type contentTypeBound = typeArguments == null ? Object.class : typeArguments[0];
-            addToCollectionWithTypeBound(CodeValues.variable(objectIdentifier), value, contentTypeBound);
+            addToCollectionWithTypeBound(CodeValues.variable(objectIdentifier), objectType, value, contentTypeBound);
+            flushPendingAdditions();
             return;
         }
 
@@ -518,6 +766,7 @@ public class ObjectNodeProcessor {
             case InstancePropertyAttribute(String propertyName, Value value) ->
                     processInstancePropertyValue(propertyName, value);
         }
+        flushPendingAdditions();
     }
 
     private void processInstantPropertyContent(String propertyName,
@@ -535,6 +784,7 @@ public class ObjectNodeProcessor {
         String defaultProperty = methodResolver.resolveDefaultProperty(objectType);
         if (defaultProperty != null) {
             defaultPropertyElements.forEach(element -> processInstancePropertyElement(defaultProperty, element));
+            flushPendingAdditions();
             return;
         }
 
@@ -542,13 +792,79 @@ public class ObjectNodeProcessor {
             Type contentTypeBound = typeArguments == null ? Object.class : typeArguments[0];
             Expression.Variable variableValue = CodeValues.variable(objectIdentifier);
             defaultPropertyElements.forEach(
-                    element -> addToCollectionWithTypeBound(variableValue, element, contentTypeBound));
+                    element -> addToCollectionWithTypeBound(variableValue, objectType, element, contentTypeBound));
+            flushPendingAdditions();
             return;
         }
 
         throw new IllegalArgumentException("Unable to handle default elements for elements %s".formatted(objectType));
     }
 
+    private Expression.Variable resolveDirectCellValueFactory(ClassInstanceElement element) {
+        if (typeArguments == null || typeArguments.length != 2 ||
+            !typeResolver.isAssignableFrom(typeResolver.resolve(TABLE_COLUMN_CLASS), objectType)) {
+            return null;
+        }
+
+        String property = extractPropertyValueFactoryProperty(element);
+        Class<?> rowClass = typeResolver.resolveClassFromType(typeArguments[0]);
+        if (property == null || rowClass == Object.class) {
+            return null;
+        }
+
+        Method propertyMethod = methodResolver.resolveProperty(rowClass, property).orElse(null);
+        Method getter = propertyMethod == null ? methodResolver.resolveGetter(rowClass, property).orElse(null) : null;
+        if (propertyMethod == null && getter == null) {
+            return null;
+        }
+
+        Expression.Variable rowValue = CodeValues.variable(nameResolver.resolveUniqueName(rowClass));
+        Expression cellValue = propertyMethod != null ?
+                               CodeValues.methodCall(rowValue, propertyMethod) :
+                               CodeValues.newInstance(READ_ONLY_OBJECT_WRAPPER_CLASS,
+                                                      CodeValues.methodCall(rowValue, getter));
+
+        TypeValue.Wildcard anyType = new TypeValue.Wildcard(List.of(), List.of(TypeValues.of(Object.class)));
+        TypeValue.Parameterized cellDataType = new TypeValue.Parameterized(
+                TypeValues.of(typeResolver.resolve(CELL_DATA_FEATURES_CLASS)), List.of(TypeValues.of(rowClass), anyType));
+        TypeValue.Parameterized observableValueType = new TypeValue.Parameterized(
+                TypeValues.of(typeResolver.resolve(OBSERVABLE_VALUE_CLASS)), List.of(anyType));
+        Class<?> callbackClass = typeResolver.resolve(CALLBACK_CLASS);
+        TypeValue.Parameterized callbackType = new TypeValue.Parameterized(TypeValues.of(callbackClass),
+                                                                           List.of(cellDataType, observableValueType));
+
+        Statement.Declaration rowDeclaration = CodeValues.declaration(rowClass, rowValue,
+                                                                      CodeValues.methodCall(CELL_DATA_NAME,
+                                                                                            "getValue"));
+        Expression guardedValue = CodeValues.ternary(
+                CodeValues.binary(rowValue, Expression.Operation.BinaryOperator.EQUAL, CodeValues.nullValue()),
+                CodeValues.nullValue(), cellValue);
+        Expression.Lambda cellValueFactory = CodeValues.lambdaBuilder()
+                                                       .untyped(parameters -> parameters.parameter(CELL_DATA_NAME))
+                                                       .body(body -> body.statement(rowDeclaration,
+                                                                                    CodeValues.returns(guardedValue)))
+                                                       .build();
+        String identifier = nameResolver.resolveUniqueName(callbackClass);
+        initializers.add(CodeValues.declaration(callbackType, identifier, cellValueFactory));
+        return CodeValues.variable(identifier);
+    }
+
+    private String extractPropertyValueFactoryProperty(ClassInstanceElement element) {
+        if (!(element instanceof InstanceElement(String className, ElementContent<?, ?> content)) ||
+            !PROPERTY_VALUE_FACTORY_CLASS.equals(typeResolver.resolve(className).getName()) ||
+            !content.elements().isEmpty() || content.attributes().size() != 1) {
+            return null;
+        }
+
+        if (content.attributes().getFirst() instanceof InstancePropertyAttribute(
+                String name, Value.Literal(String property)
+        ) && "property".equals(name)) {
+            return property;
+        }
+
+        return null;
+    }
+
     private void processAttributeOnProperty(String propertyName, AssignableAttribute attribute) {
         switch (attribute) {
             case EventHandlerAttribute(String eventName, Handler handler) when "onChange".equals(eventName) ->
@@ -562,6 +878,14 @@ public class ObjectNodeProcessor {
     private void processInstancePropertyElement(String propertyName, ClassInstanceElement element) {
 
         Method propertySetter = methodResolver.resolveSetter(objectType, propertyName).orElse(null);
+        if (propertySetter != null && "cellValueFactory".equals(propertyName)) {
+            Expression.Variable cellValueFactory = resolveDirectCellValueFactory(element);
+            if (cellValueFactory != null) {
+                initializers.add(CodeValues.methodCall(objectIdentifier, propertySetter, cellValueFactory));
+                return;
+            }
+        }
+
         if (propertySetter != null) {
             ObjectNodeCode nodeCode = buildChildNode(element);
             Type parameterType = propertySetter.getGenericParameterTypes()[0];
@@ -588,8 +912,8 @@ public class ObjectNodeProcessor {
                             "Unable to resolve contained type for type %s".formatted(parameterizedType));
                 }
 
-                addToCollectionWithTypeBound(CodeValues.methodCall(objectIdentifier, propertyGetter), element,
-                                             actualTypeArguments[0]);
+                addToCollectionWithTypeBound(CodeValues.methodCall(objectIdentifier, propertyGetter),
+                                             propertyGenericType, element, actualTypeArguments[0]);
                 return;
             }
 
@@ -605,8 +929,8 @@ public class ObjectNodeProcessor {
                         "Unable to resolve key and value type for type %s".formatted(objectType));
             }
 
-            addToMapWithTypeBounds(CodeValues.variable(objectIdentifier), propertyName, element, actualTypeArguments[0],
-                                   actualTypeArguments[1]);
+            addToMapWithTypeBounds(CodeValues.variable(objectIdentifier), objectType, propertyName, element,
+                                   actualTypeArguments[0], actualTypeArguments[1]);
             return;
         }
 
@@ -624,8 +948,8 @@ public class ObjectNodeProcessor {
         }
     }
 
-    private void addToCollectionWithTypeBound(Expression collectionCodeValue, ClassInstanceElement element,
-                                              Type contentTypeBound) {
+    private void addToCollectionWithTypeBound(Expression collectionCodeValue, Type collectionType,
+                                              ClassInstanceElement element, Type contentTypeBound) {
         ObjectNodeCode nodeCode = buildChildNode(element);
         if (!typeResolver.isAssignableFrom(contentTypeBound, nodeCode.nodeClass())) {
             throw new IllegalArgumentException(
@@ -633,7 +957,57 @@ public class ObjectNodeProcessor {
                                                                                   nodeCode.nodeClass()));
         }
 
-        initializers.add(CodeValues.methodCall(collectionCodeValue, "add", nodeCode.nodeValue()));
+        addToCollection(collectionCodeValue, collectionType, nodeCode.nodeValue());
+    }
+
+    /**
+     * Adds the value to the collection. Additions to an observable list are held back until
+     * {@link #flushPendingAdditions()} is called after all sibling elements are built, so the list receives all of its
+     * values in a single addAll call and fires one change instead of one per value.
+     */
+    private void addToCollection(Expression collectionCodeValue, Type collectionType, Expression value) {
+        if (typeResolver.isAssignableFrom(typeResolver.resolve(OBSERVABLE_LIST_CLASS), collectionType)) {
+            pendingAdditions.computeIfAbsent(collectionCodeValue, ignored -> new ArrayList<>()).add(value);
+            return;
+        }
+
+        initializers.add(CodeValues.methodCall(collectionCodeValue, "add", value));
+    }
+
+    /**
+     * Emits one addAll per observable list and one putAll per observable map for the values collected since the last
+     * flush, after the subtrees of all sibling elements.
+     */
+    private void flushPendingAdditions() {
+        pendingAdditions.forEach((collectionCodeValue, values) -> initializers.add(
+                values.size() == 1 ?
+                CodeValues.methodCall(collectionCodeValue, "add", values.getFirst()) :
+                CodeValues.methodCall(collectionCodeValue, "addAll", values.toArray())));
+        pendingAdditions.clear();
+
+        pendingPuts.forEach((mapCodeValue, entries) -> {
+            if (entries.size() == 1) {
+                Map.Entry<Expression, Expression> entry = entries.firstEntry();
+                initializers.add(CodeValues.methodCall(mapCodeValue, "put", entry.getKey(), entry.getValue()));
+                return;
+            }
+
+            List<Expression> entryValues = new ArrayList<>();
+            if (entries.size() <= MAX_MAP_OF_ENTRIES) {
+                entries.forEach((key, value) -> {
+                    entryValues.add(key);
+                    entryValues.add(value);
+                });
+            } else {
+                entries.forEach((key, value) -> entryValues.add(CodeValues.methodCall(Map.class, "entry", key, value)));
+            }
+
+            Expression entriesValue = CodeValues.methodCall(Map.class, entries.size() <= MAX_MAP_OF_ENTRIES ?
+                                                                       "of" :
+                                                                       "ofEntries", entryValues.toArray());
+            initializers.add(CodeValues.methodCall(mapCodeValue, "putAll", entriesValue));
+        });
+        pendingPuts.clear();
     }
 
     private void processElementOnProperty(String propertyName, AssignableElement element) {
@@ -695,14 +1069,208 @@ public class ObjectNodeProcessor {
     }
 
     private ObjectNodeCode buildChildNode(ClassInstanceElement element) {
-        ObjectNodeCode nodeCode = new ObjectNodeProcessor(element, controllerClass, resolverContainer, filePath,
-                                                          resourceRootPath, rootPackage).getNodeCode();
+        Set<String> knownIds = nameResolver.getProvidedIds();
+        int itemUpdateCount = cellItemResolver.getItemUpdateCount();
+        int buildMethodCount = buildMethodResolver.getBuildMethodCount();
+        int resolvedExpressionCount = expressionResolver.getResolvedExpressionCount();
+        ObjectNodeCode nodeCode;
+        try {
+            nodeCode = new ObjectNodeProcessor(element, controllerClass, resolverContainer, filePath,
+                                               resourceRootPath, rootPackage, options).getNodeCode();
+        } catch (ProcessorException processorException) {
+            if (!(processorException.getCause() instanceof UnsupportedOperationException) ||
+                !(element instanceof InstanceElement instanceElement) ||
+                FxmlFragmentUtils.containsControllerHandlers(instanceElement)) {
+                throw processorException;
+            }
+
+            nameResolver.retainProvidedIds(knownIds);
+            cellItemResolver.retainItemUpdates(itemUpdateCount);
+            buildMethodResolver.retainBuildMethods(buildMethodCount);
+            expressionResolver.retainResolvedExpressions(resolvedExpressionCount);
+            nodeCode = buildFragmentNode(instanceElement);
+        }
         initializers.add(CodeValues.lineBreak());
+        int start = initializers.size();
         initializers.addAll(nodeCode.initializers());
+        boolean updatesItem = cellItemResolver.getItemUpdateCount() != itemUpdateCount;
+        childNodes.add(new ChildNode(nodeCode.nodeValue().identifier(), start, initializers.size(), !updatesItem));
 
         return nodeCode;
     }
 
+    private void deduplicateChildren() {
+        if (!options.deduplicateSubtrees()) {
+            return;
+        }
+
+        SequencedMap<String, List<Statement>> subtrees = new LinkedHashMap<>();
+        childNodes.stream()
+                  .filter(ChildNode::splittable)
+                  .filter(childNode -> estimateChildSize(childNode) > MINIMUM_SPLIT_SIZE)
+                  .forEach(childNode -> subtrees.put(childNode.identifier(), List.copyOf(
+                          initializers.subList(childNode.start(), childNode.end()))));
+        if (subtrees.size() < 2) {
+            return;
+        }
+
+        Map<String, Statement.Declaration> buildMethodCalls = buildMethodResolver.resolveSharedBuildMethods(subtrees);
+        Map<Integer, SplitChild> sharedChildren = new HashMap<>();
+        for (ChildNode childNode : childNodes) {
+            Statement.Declaration buildMethodCall = buildMethodCalls.get(childNode.identifier());
+            if (buildMethodCall != null) {
+                sharedChildren.put(childNode.start(), new SplitChild(childNode.end(), buildMethodCall));
+            }
+        }
+        replaceSplitChildren(sharedChildren);
+    }
+
+    private void splitOversizedInitializers() {
+        int budget = options.buildMethodSizeBudget();
+        int size = CodeAnalysisUtils.estimateBytecodeSize(initializers);
+        if (size <= budget) {
+            return;
+        }
+
+        List<ChildNode> candidates = childNodes.stream()
+                                               .filter(ChildNode::splittable)
+                                               .filter(childNode -> estimateChildSize(childNode) > MINIMUM_SPLIT_SIZE)
+                                               .sorted(Comparator.comparingInt(this::estimateChildSize).reversed())
+                                               .toList();
+        Map<Integer, SplitChild> splitChildren = new HashMap<>();
+        for (ChildNode candidate : candidates) {
+            if (size <= budget) {
+                break;
+            }
+
+            List<Statement> childInitializers = initializers.subList(candidate.start(), candidate.end());
+            int childSize = CodeAnalysisUtils.estimateBytecodeSize(childInitializers);
+            Optional<Statement.Declaration> buildMethodCall = buildMethodResolver.resolveBuildMethod(
+                    candidate.identifier(), List.copyOf(childInitializers));
+            if (buildMethodCall.isPresent()) {
+                splitChildren.put(candidate.start(), new SplitChild(candidate.end(), buildMethodCall.get()));
+                size -= childSize - CodeAnalysisUtils.estimateBytecodeSize(List.of(buildMethodCall.get()));
+            }
+        }
+
+        replaceSplitChildren(splitChildren);
+    }
+
+    private void replaceSplitChildren(Map<Integer, SplitChild> splitChildren) {
+        if (splitChildren.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Integer> shiftedIndices = new HashMap<>();
+        List<Statement> splitInitializers = new ArrayList<>();
+        for (int i = 0; i < initializers.size(); i++) {
+            shiftedIndices.put(i, splitInitializers.size());
+            SplitChild splitChild = splitChildren.get(i);
+            if (splitChild != null) {
+                splitInitializers.add(splitChild.buildMethodCall());
+                i = splitChild.end() - 1;
+            } else {
+                splitInitializers.add(initializers.get(i));
+            }
+        }
+        shiftedIndices.put(initializers.size(), splitInitializers.size());
+
+        initializers.clear();
+        initializers.addAll(splitInitializers);
+
+        List<ChildNode> shiftedChildNodes = new ArrayList<>();
+        for (ChildNode childNode : childNodes) {
+            int start = shiftedIndices.get(childNode.start());
+            if (splitChildren.containsKey(childNode.start())) {
+                shiftedChildNodes.add(new ChildNode(childNode.identifier(), start, start + 1, false));
+            } else {
+                shiftedChildNodes.add(new ChildNode(childNode.identifier(), start, shiftedIndices.get(childNode.end()),
+                                                    childNode.splittable()));
+            }
+        }
+        childNodes.clear();
+        childNodes.addAll(shiftedChildNodes);
+    }
+
+    private int estimateChildSize(ChildNode childNode) {
+        return CodeAnalysisUtils.estimateBytecodeSize(initializers.subList(childNode.start(), childNode.end()));
+    }
+
+    private ObjectNodeCode buildFragmentNode(InstanceElement element) {
+        Class<?> fragmentType = typeResolver.resolve(element.className());
+        SequencedMap<String, String> definedIds = FxmlFragmentUtils.collectDefinedIds(element);
+        String fragmentId = element.content()
+                                   .attributes()
+                                   .stream()
+                                   .filter(IdAttribute.class::isInstance)
+                                   .map(IdAttribute.class::cast)
+                                   .map(IdAttribute::value)
+                                   .findFirst()
+                                   .orElse(null);
+
+        String fragmentIdentifier;
+        if (fragmentId != null) {
+            fragmentIdentifier = fragmentId;
+            nameResolver.storeIdType(fragmentIdentifier, fragmentType);
+            definedIds.remove(fragmentId);
+        } else {
+            fragmentIdentifier = nameResolver.resolveUniqueName(fragmentType);
+        }
+
+        List<Statement> fragmentInitializers = new ArrayList<>();
+        String namespaceIdentifier = fragmentIdentifier + "Namespace";
+        TypeValue.Parameterized namespaceType = new TypeValue.Parameterized(TypeValues.of(Map.class),
+                                                                            List.of(TypeValues.of(String.class),
+                                                                                    TypeValues.of(Object.class)));
+        TypeValue.Parameterized namespaceInstanceType = new TypeValue.Parameterized(TypeValues.of(HashMap.class),
+                                                                                    namespaceType.typeArguments());
+        fragmentInitializers.add(CodeValues.declaration(namespaceType, namespaceIdentifier,
+                                                        CodeValues.newInstance(namespaceInstanceType)));
+
+        Set<String> knownIds = nameResolver.getProvidedIds();
+        FxmlFragmentUtils.collectReferencedIds(element)
+                         .stream()
+                         .filter(id -> !definedIds.containsKey(id))
+                         .filter(id -> knownIds.contains(id) ||
+                                       (FxmlProcessor.CONTROLLER_NAME.equals(id) && controllerClass != Object.class))
+                         .map(id -> CodeValues.methodCall(namespaceIdentifier, "put", id, CodeValues.variable(id)))
+                         .forEach(fragmentInitializers::add);
+
+        String fragmentFxml = FxmlFragmentUtils.toFragmentFxml(element, typeResolver.getImports());
+        fragmentInitializers.add(CodeValues.declaration(fragmentType, fragmentIdentifier,
+                                                        CodeValues.methodCall(Fx2jFragmentLoader.class, "load",
+                                                                              fragmentFxml,
+                                                                              resolveFileLocation(filePath),
+                                                                              CodeValues.variable(
+                                                                                      FxmlProcessor.RESOURCES_NAME),
+                                                                              CodeValues.variable(
+                                                                                      namespaceIdentifier))));
+
+        definedIds.forEach((id, className) -> {
+            Class<?> idType = typeResolver.resolve(className);
+            nameResolver.storeIdType(id, idType);
+            fragmentInitializers.add(CodeValues.declaration(idType, id,
+                                                            CodeValues.methodCall(Fx2jFragmentLoader.class, "lookup",
+                                                                                  CodeValues.variable(
+                                                                                          namespaceIdentifier), id)));
+        });
+
+        resolveControllerSetter(fragmentIdentifier, fragmentType).ifPresent(fragmentInitializers::add);
+        definedIds.forEach((id, ignored) -> resolveControllerSetter(id, nameResolver.resolveTypeById(id)).ifPresent(
+                fragmentInitializers::add));
+
+        return new ObjectNodeCode(CodeValues.variable(fragmentIdentifier), fragmentType, fragmentInitializers);
+    }
+
+    /**
+     * Resolves the location of the given fxml file through the builder class, so the FXMLLoader also finds files which
+     * are encapsulated in the module of the builder.
+     */
+    private Expression resolveFileLocation(Path file) {
+        String location = resourceRootPath.relativize(file).toString().replace('\\', '/');
+        return constantResolver.resolveLocation(Path.of("/" + location));
+    }
+
     private boolean propertyIsMutable(String property) {
         return typeResolver.isAssignableFrom(Map.class, objectType) ||
                methodResolver.resolveSetter(objectType, property).isPresent() ||
@@ -731,8 +1299,8 @@ public class ObjectNodeProcessor {
                     "Property %s does not represent a map with two type arguments".formatted(propertyName));
         }
 
-        addToMapWithTypeBounds(CodeValues.methodCall(objectIdentifier, propertyGetter), key, element, typeArguments[0],
-                               typeArguments[1]);
+        addToMapWithTypeBounds(CodeValues.methodCall(objectIdentifier, propertyGetter), propertyType, key, element,
+                               typeArguments[0], typeArguments[1]);
     }
 
     private void addToPropertyMap(String propertyName, String key, Value value) {
@@ -756,8 +1324,8 @@ public class ObjectNodeProcessor {
                                typeArguments[1]);
     }
 
-    private void addToMapWithTypeBounds(Expression mapExpression, String key, ClassInstanceElement element,
-                                        Type keyTypeBound, Type valueTypeBound) {
+    private void addToMapWithTypeBounds(Expression mapExpression, Type mapType, String key,
+                                        ClassInstanceElement element, Type keyTypeBound, Type valueTypeBound) {
         ObjectNodeCode nodeCode = buildChildNode(element);
         if (!typeResolver.isAssignableFrom(valueTypeBound, nodeCode.nodeClass())) {
             throw new IllegalArgumentException(
@@ -766,6 +1334,12 @@ public class ObjectNodeProcessor {
         }
 
         Expression keyValue = valueResolver.resolveCodeValue(keyTypeBound, key);
+        if (typeResolver.isAssignableFrom(typeResolver.resolve(OBSERVABLE_MAP_CLASS), mapType)) {
+            pendingPuts.computeIfAbsent(mapExpression, ignored -> new LinkedHashMap<>())
+                       .put(keyValue, nodeCode.nodeValue());
+            return;
+        }
+
         initializers.add(CodeValues.methodCall(mapExpression, "put", keyValue, nodeCode.nodeValue()));
     }
 
@@ -822,13 +1396,32 @@ public class ObjectNodeProcessor {
     private void processInstancePropertyValue(String propertyName, Value value) {
         switch (value) {
             case Value.Empty ignored -> {}
+            case BindExpression bindExpression when cellItemResolver.isItemExpression(bindExpression) -> {
+                Method propertySetter = methodResolver.resolveSetter(objectType, propertyName)
+                                                      .orElseThrow(() -> new IllegalArgumentException(
+                                                              "No setter found for item property %s".formatted(
+                                                                      propertyName)));
+                cellItemResolver.resolveItemUpdate(CodeValues.variable(objectIdentifier), objectType, propertyName,
+                                                   propertySetter, bindExpression);
+            }
             case BindExpression bindExpression -> {
+                BindExpression foldedExpression = BindExpressionUtils.foldConstants(bindExpression);
+                Value.Literal staticValue = BindExpressionUtils.toStaticValue(foldedExpression).orElse(null);
+                if (staticValue != null) {
+                    processInstancePropertyValue(propertyName, staticValue);
+                    return;
+                }
+
                 Method propertyMethod = methodResolver.resolveProperty(objectType, propertyName)
                                                       .orElseThrow(() -> new IllegalArgumentException(
                                                               "No property found for expression binding %s".formatted(
                                                                       propertyName)));
                 Type valueType = propertyMethod.getGenericReturnType();
-                ExpressionResult result = expressionResolver.resolveExpression(bindExpression);
+                ExpressionResult result = options.fuseBindExpressions() ?
+                                          expressionResolver.resolveFusedExpression(foldedExpression)
+                                                            .orElseGet(() -> expressionResolver.resolveExpression(
+                                                                    foldedExpression)) :
+                                          expressionResolver.resolveExpression(foldedExpression);
                 Method bindMethod = methodResolver.findMethod(valueType, "bind", result.type())
                                                   .orElseThrow(() -> new IllegalArgumentException(
                                                           "Property %s does not have a bind method".formatted(
@@ -860,7 +1453,8 @@ public class ObjectNodeProcessor {
                                     "Unable to resolve contained type for type %s".formatted(parameterizedType));
                         }
 
-                        addToCollectionWithTypeBound(propertyCodeValue, val, actualTypeArguments[0]);
+                        addToCollectionWithTypeBound(propertyCodeValue, propertyGenericType, val,
+                                                     actualTypeArguments[0]);
                         return;
                     }
 
@@ -900,20 +1494,18 @@ public class ObjectNodeProcessor {
                       });
     }
 
-    private void addToCollectionWithTypeBound(Expression collectionCodeValue, Value value,
+    private void addToCollectionWithTypeBound(Expression collectionCodeValue, Type collectionType, Value value,
                                               Type contentTypeBound) {
         switch (value) {
             case Value.Empty() -> {}
             case Value.Literal(String val) when val.contains(",") -> Arrays.stream(val.split(",\\s*"))
                                                                            .map(item -> valueResolver.resolveCodeValue(
                                                                                    contentTypeBound, item))
-                                                                           .forEach(valueCode -> initializers.add(
-                                                                                   CodeValues.methodCall(
-                                                                                           collectionCodeValue, "add",
-                                                                                           valueCode)));
-            case Value val -> initializers.add(CodeValues.methodCall(collectionCodeValue, "add",
-                                                                     valueResolver.resolveCodeValue(contentTypeBound,
-                                                                                                    val)));
+                                                                           .forEach(valueCode -> addToCollection(
+                                                                                   collectionCodeValue, collectionType,
+                                                                                   valueCode));
+            case Value val -> addToCollection(collectionCodeValue, collectionType,
+                                              valueResolver.resolveCodeValue(contentTypeBound, val));
         }
     }
 
@@ -974,11 +1566,67 @@ public class ObjectNodeProcessor {
                                                        "Unable to determine the class of property %s".formatted(
                                                                property)));
 
-        Expression.Lambda.MethodReference listener = resolveControllerPropertyChangeListener(propertyClass, handler);
         StatementExpression.MethodCall propertyMethodCall = CodeValues.methodCall(objectIdentifier, propertyMethod);
+        if (options.subscribeChangeHandlers() && typeResolver.isResolvable(SUBSCRIPTION_CLASS)) {
+            Expression subscriber = resolveControllerPropertySubscriber(propertyClass, handler).orElse(null);
+            if (subscriber != null) {
+                initializers.add(subscriptionResolver.resolveSubscription(
+                        CodeValues.methodCall(propertyMethodCall, "subscribe", subscriber)));
+                return;
+            }
+        }
+
+        Expression.Lambda.MethodReference listener = resolveControllerPropertyChangeListener(propertyClass, handler);
         initializers.add(CodeValues.methodCall(propertyMethodCall, "addListener", listener));
     }
 
+    /**
+     * Resolves a subscriber for the Subscription api of JavaFX 21 if the controller method does not take the
+     * observable like a change listener. A method taking the old and new value is subscribed as a change subscriber,
+     * one taking only the new value as a value subscriber, which is also called with the current value when
+     * subscribing, and one without parameters as an invalidation subscriber.
+     *
+     * @return the subscriber or an empty optional if the method takes the arguments of a change listener
+     */
+    private Optional<Expression> resolveControllerPropertySubscriber(Class<?> propertyClass, Handler handler) {
+        if (!(handler instanceof Handler.Method(String methodName))) {
+            return Optional.empty();
+        }
+
+        Class<?> valueClass = propertyClass.isPrimitive() && propertyClass != boolean.class ?
+                              Number.class :
+                              typeResolver.wrapType(propertyClass);
+        if (methodResolver.findMethod(controllerClass, methodName, typeResolver.resolve(OBSERVABLE_VALUE_CLASS),
+                                      valueClass, valueClass).isPresent()) {
+            return Optional.empty();
+        }
+
+        for (int parameterCount = 2; parameterCount >= 0; parameterCount--) {
+            Type[] parameterTypes = Collections.nCopies(parameterCount, valueClass).toArray(Type[]::new);
+            Method method = methodResolver.findMethod(controllerClass, methodName, parameterTypes).orElse(null);
+            if (method == null) {
+                continue;
+            }
+
+            List<String> parameterNames = Stream.generate(() -> nameResolver.resolveUniqueName(valueClass))
+                                                .limit(parameterCount)
+                                                .toList();
+            StatementExpression.MethodCall handlerCall = CodeValues.methodCall(FxmlProcessor.CONTROLLER_NAME, method,
+                                                                               parameterNames.stream()
+                                                                                             .map(CodeValues::variable)
+                                                                                             .toArray());
+            Statement handlerStatement = method.getExceptionTypes().length == 0 ?
+                                         handlerCall :
+                                         CodeValues.rethrow(handlerCall);
+            return Optional.of(CodeValues.lambdaBuilder()
+                                         .untyped(parameters -> parameterNames.forEach(parameters::parameter))
+                                         .body(body -> body.statement(handlerStatement))
+                                         .build());
+        }
+
+        return Optional.empty();
+    }
+
     private void processPropertyContainerListener(Method propertyGetter, Handler handler) {
         Expression listener = resolveControllerContainerChangeListener(propertyGetter.getGenericReturnType(), handler);
         StatementExpression.MethodCall propertyMethodCall = CodeValues.methodCall(objectIdentifier, propertyGetter);
@@ -1049,40 +1697,35 @@ public class ObjectNodeProcessor {
                                                       methodName, valueType)));
     }
 
-    private Expression.Lambda resolveControllerEventHandlerMethod(Class<?> eventType, String methodName) {
-        return methodResolver.findMethod(controllerClass, methodName, eventType)
-                             .map(method -> {
-                                 if (method.getExceptionTypes().length == 0) {
-                                     return CodeValues.methodReference(FxmlProcessor.CONTROLLER_NAME, method);
-                                 } else {
-                                     StatementExpression.MethodCall eventHandlerCall = CodeValues.methodCall(
-                                             FxmlProcessor.CONTROLLER_NAME, method, CodeValues.variable("event"));
-                                     return CodeValues.lambdaBuilder()
-                                                      .untyped(parameters -> parameters.parameter("event"))
-                                                      .body(lambdaBodyBuilder -> lambdaBodyBuilder.statement(
-                                                              CodeValues.rethrow(eventHandlerCall)))
-                                                      .build();
-                                 }
-                             })
-                             .or(() -> methodResolver.findMethod(controllerClass, methodName).map(method -> {
-                                 if (method.getExceptionTypes().length == 0) {
-                                     return CodeValues.lambdaBuilder()
-                                                      .untyped(parameters -> parameters.parameter("event"))
-                                                      .body(body -> body.statement(
-                                                              CodeValues.methodCall(FxmlProcessor.CONTROLLER_NAME,
-                                                                                    method)))
-                                                      .build();
-                                 } else {
-                                     StatementExpression.MethodCall eventHandlerCall = CodeValues.methodCall(
-                                             FxmlProcessor.CONTROLLER_NAME, method);
-                                     return CodeValues.lambdaBuilder()
-                                                      .untyped(parameters -> parameters.parameter("event"))
-                                                      .body(lambdaBodyBuilder -> lambdaBodyBuilder.statement(
-                                                              CodeValues.rethrow(eventHandlerCall)))
-                                                      .build();
-                                 }
-                             }))
-                             .orElseThrow(() -> new IllegalArgumentException(
-                                     "No method %s on %s".formatted(methodName, controllerClass)));
+    private Expression resolveControllerEventHandlerMethod(Class<?> eventType, String methodName) {
+        Method method = methodResolver.findMethod(controllerClass, methodName, eventType)
+                                      .or(() -> methodResolver.findMethod(controllerClass, methodName))
+                                      .orElseThrow(() -> new IllegalArgumentException(
+                                              "No method %s on %s".formatted(methodName, controllerClass)));
+
+        if (options.dispatchEventHandlers()) {
+            return eventHandlerResolver.resolveDispatchedHandler(method);
+        }
+
+        boolean passesEvent = method.getParameterCount() == 1;
+        if (passesEvent && method.getExceptionTypes().length == 0) {
+            return CodeValues.methodReference(FxmlProcessor.CONTROLLER_NAME, method);
+        }
+
+        StatementExpression.MethodCall eventHandlerCall = passesEvent ?
+                                                          CodeValues.methodCall(FxmlProcessor.CONTROLLER_NAME, method,
+                                                                                CodeValues.variable("event")) :
+                                                          CodeValues.methodCall(FxmlProcessor.CONTROLLER_NAME, method);
+        Statement eventHandlerStatement = method.getExceptionTypes().length == 0 ?
+                                          eventHandlerCall :
+                                          CodeValues.rethrow(eventHandlerCall);
+        return CodeValues.lambdaBuilder()
+                         .untyped(parameters -> parameters.parameter("event"))
+                         .body(body -> body.statement(eventHandlerStatement))
+                         .build();
     }
+
+    private record ChildNode(String identifier, int start, int end, boolean splittable) {}
+
+    private record SplitChild(int end, Statement.Declaration buildMethodCall) {}
 }
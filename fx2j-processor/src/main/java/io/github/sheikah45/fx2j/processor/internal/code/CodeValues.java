@@ -219,6 +219,20 @@ public final class CodeValues {
         return methodReference(type(type), methodName);
     }
 
+    public static Expression.Operation.Binary binary(Expression left, Expression.Operation.BinaryOperator operator,
+                                                     Expression right) {
+        return new Expression.Operation.Binary(left, operator, right);
+    }
+
+    public static Expression.Operation.Unary unary(Expression.Operation.UnaryOperator operator, Expression operand) {
+        return new Expression.Operation.Unary(operator, operand);
+    }
+
+    public static Expression.Operation.Ternary ternary(Expression condition, Expression whenTrue,
+                                                      Expression whenFalse) {
+        return new Expression.Operation.Ternary(condition, whenTrue, whenFalse);
+    }
+
     public static LambdaBuilder lambdaBuilder() {
         return new LambdaBuilder();
     }
@@ -4,7 +4,7 @@ import java.util.List;
 import java.util.Objects;
 
 sealed public interface Expression
-        permits Expression.Array, Expression.Assignable, Expression.Enum, Expression.Lambda,
+        permits Expression.Array, Expression.Assignable, Expression.Enum, Expression.Lambda, Expression.Operation,
         Expression.Type, Literal, StatementExpression {
     sealed interface Assignable extends Expression {}
     sealed interface Array extends Expression {
@@ -47,6 +47,56 @@ sealed public interface Expression
         }
 
     }
+    sealed interface Operation extends Expression {
+        enum BinaryOperator {
+            ADD("+"), SUBTRACT("-"), MULTIPLY("*"), DIVIDE("/"), MODULO("%"), GREATER_THAN(">"),
+            GREATER_THAN_EQUAL(">="), LESS_THAN("<"), LESS_THAN_EQUAL("<="), EQUAL("=="), NOT_EQUAL("!="), AND("&&"),
+            OR("||");
+
+            private final String symbol;
+
+            BinaryOperator(String symbol) {
+                this.symbol = symbol;
+            }
+
+            public String symbol() {
+                return symbol;
+            }
+        }
+        enum UnaryOperator {
+            NEGATE("-"), NOT("!");
+
+            private final String symbol;
+
+            UnaryOperator(String symbol) {
+                this.symbol = symbol;
+            }
+
+            public String symbol() {
+                return symbol;
+            }
+        }
+        record Binary(Expression left, BinaryOperator operator, Expression right) implements Operation {
+            public Binary {
+                Objects.requireNonNull(left, "left cannot be null");
+                Objects.requireNonNull(operator, "operator cannot be null");
+                Objects.requireNonNull(right, "right cannot be null");
+            }
+        }
+        record Unary(UnaryOperator operator, Expression operand) implements Operation {
+            public Unary {
+                Objects.requireNonNull(operator, "operator cannot be null");
+                Objects.requireNonNull(operand, "operand cannot be null");
+            }
+        }
+        record Ternary(Expression condition, Expression whenTrue, Expression whenFalse) implements Operation {
+            public Ternary {
+                Objects.requireNonNull(condition, "condition cannot be null");
+                Objects.requireNonNull(whenTrue, "whenTrue cannot be null");
+                Objects.requireNonNull(whenFalse, "whenFalse cannot be null");
+            }
+        }
+    }
     record Variable(String identifier) implements Assignable, Resource, Declarator {
         public Variable {
             Objects.requireNonNull(identifier, "identifier cannot be null");
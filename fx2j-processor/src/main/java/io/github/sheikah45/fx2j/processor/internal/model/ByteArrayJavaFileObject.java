@@ -0,0 +1,25 @@
+package io.github.sheikah45.fx2j.processor.internal.model;
+
+import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+public class ByteArrayJavaFileObject extends SimpleJavaFileObject {
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    public ByteArrayJavaFileObject(String name, Kind kind) {
+        super(URI.create("bytes:///" + name.replace('.', '/') + kind.extension), kind);
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+        outputStream.reset();
+        return outputStream;
+    }
+
+    public byte[] getBytes() {
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.sheikah45.fx2j.processor.internal.model;
+
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.resolve.ConstantResolver;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The code of a view which can be inlined into the build method of a view including it.
+ *
+ * @param builderType              the builder class of the included view
+ * @param nodeCode                 the code building the root of the included view
+ * @param constants                the constants of the builder the code references
+ * @param controllerInitializer    the expression creating the controller of the included view or null if it has none
+ * @param controllerInitializeName the name of the initialize method of the controller or null if it has none
+ */
+public record IncludedCode(TypeValue.Raw.Top builderType, ObjectNodeCode nodeCode,
+                           List<ConstantResolver.Constant> constants, Expression controllerInitializer,
+                           String controllerInitializeName) {
+    public IncludedCode {
+        Objects.requireNonNull(builderType, "builderType cannot be null");
+        Objects.requireNonNull(nodeCode, "nodeCode cannot be null");
+        Objects.requireNonNull(constants, "constants cannot be null");
+        constants = List.copyOf(constants);
+    }
+}
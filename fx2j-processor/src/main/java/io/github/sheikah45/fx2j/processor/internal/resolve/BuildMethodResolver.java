@@ -0,0 +1,316 @@
+package io.github.sheikah45.fx2j.processor.internal.resolve;
+
+import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Declarator;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Literal;
+import io.github.sheikah45.fx2j.processor.internal.code.Parameter;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeAnalysisUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeRenameUtils;
+import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BuildMethodResolver {
+
+    private static final String THIS_NAME = "this";
+    private static final String ARGUMENT_NAME = "arg";
+    private static final String PLACEHOLDER_PREFIX = "$";
+    private static final Set<String> MEMBER_IDENTIFIERS = Set.of(THIS_NAME, FxmlProcessor.CONTROLLER_NAME,
+                                                                 FxmlProcessor.RESOURCES_NAME,
+                                                                 FxmlProcessor.CONTROLLER_FACTORY_NAME,
+                                                                 FxmlProcessor.CONTROLLER_DEPENDENCIES_NAME);
+
+    private final ConstantResolver constantResolver;
+    private final ExpressionResolver expressionResolver;
+
+    private final List<BuildMethod> buildMethods = new ArrayList<>();
+    private final List<SharedBuildMethod> sharedBuildMethods = new ArrayList<>();
+    private Set<String> referencedIds;
+
+    BuildMethodResolver(ConstantResolver constantResolver, ExpressionResolver expressionResolver) {
+        this.constantResolver = constantResolver;
+        this.expressionResolver = expressionResolver;
+    }
+
+    public void setReferencedIds(Set<String> referencedIds) {
+        this.referencedIds = Set.copyOf(referencedIds);
+    }
+
+    /**
+     * Moves the statements building the node with the given identifier into their own method if they neither use
+     * local variables declared outside of them nor declare ids or shared bind expressions which are referenced
+     * elsewhere.
+     *
+     * @return the declaration of the node initialized by calling the new method or an empty optional if the statements
+     * cannot be moved
+     */
+    public Optional<Statement.Declaration> resolveBuildMethod(String identifier, List<Statement> statements) {
+        TypeValue.Declarable type = findMovableType(identifier, statements).orElse(null);
+        if (type == null) {
+            return Optional.empty();
+        }
+
+        expressionResolver.unshareIdentifiers(CodeAnalysisUtils.collectDeclaredIdentifiers(statements));
+        String methodName = "build%s".formatted(StringUtils.capitalize(identifier));
+        buildMethods.add(new BuildMethod(methodName, type, identifier, List.of(), statements));
+        return Optional.of(createBuildMethodCall(type, identifier, methodName, List.of()));
+    }
+
+    /**
+     * Moves the statements building nodes which only differ in the identifiers they declare and the values of their
+     * literals into a shared method taking the differing literal values as arguments. Nodes are only moved if they could
+     * be moved into their own method, if at least two of them share a method or if a previously created method can build
+     * them, and if calling the method is smaller than the statements it replaces.
+     *
+     * @param subtrees the statements building each node by the identifier of the node
+     * @return the declaration of the node initialized by calling the shared method by the identifier of each node whose
+     * statements are moved
+     */
+    public Map<String, Statement.Declaration> resolveSharedBuildMethods(SequencedMap<String, List<Statement>> subtrees) {
+        SequencedMap<List<Statement>, List<Subtree>> subtreesByShape = new LinkedHashMap<>();
+        subtrees.forEach((identifier, statements) -> findMovableType(identifier, statements).ifPresent(
+                type -> {
+                    Subtree subtree = createSubtree(identifier, type, statements);
+                    subtreesByShape.computeIfAbsent(subtree.shape(), ignored -> new ArrayList<>()).add(subtree);
+                }));
+
+        Map<String, Statement.Declaration> buildMethodCalls = new HashMap<>();
+        subtreesByShape.forEach((shape, shapedSubtrees) -> {
+            SharedBuildMethod sharedBuildMethod = sharedBuildMethods.stream()
+                                                                    .filter(shared -> shared.canBuild(shape,
+                                                                                                      shapedSubtrees))
+                                                                    .findFirst()
+                                                                    .orElse(null);
+            if (sharedBuildMethod == null) {
+                if (shapedSubtrees.size() < 2) {
+                    return;
+                }
+
+                sharedBuildMethod = createSharedBuildMethod(shape, shapedSubtrees);
+            }
+
+            Subtree first = shapedSubtrees.getFirst();
+            Statement.Declaration firstCall = sharedBuildMethod.createCall(first);
+            if (CodeAnalysisUtils.estimateBytecodeSize(List.of(firstCall)) >=
+                CodeAnalysisUtils.estimateBytecodeSize(first.statements())) {
+                return;
+            }
+
+            if (!sharedBuildMethods.contains(sharedBuildMethod)) {
+                sharedBuildMethods.add(sharedBuildMethod);
+                buildMethods.add(sharedBuildMethod.buildMethod());
+            }
+
+            for (Subtree subtree : shapedSubtrees) {
+                expressionResolver.unshareIdentifiers(subtree.declaredIdentifiers());
+                buildMethodCalls.put(subtree.identifier(), sharedBuildMethod.createCall(subtree));
+            }
+        });
+        return buildMethodCalls;
+    }
+
+    private Optional<TypeValue.Declarable> findMovableType(String identifier, List<Statement> statements) {
+        if (referencedIds == null) {
+            return Optional.empty();
+        }
+
+        TypeValue.Declarable type = findDeclaredType(identifier, statements).orElse(null);
+        if (type == null) {
+            return Optional.empty();
+        }
+
+        SequencedSet<String> declaredIdentifiers = CodeAnalysisUtils.collectDeclaredIdentifiers(statements);
+        boolean declaresReferencedId = declaredIdentifiers.stream()
+                                                          .filter(declared -> !declared.equals(identifier))
+                                                          .anyMatch(referencedIds::contains);
+        boolean declaresSharedExpression = declaredIdentifiers.stream().anyMatch(expressionResolver::isShared);
+        if (declaresReferencedId || declaresSharedExpression) {
+            return Optional.empty();
+        }
+
+        Set<String> constantIdentifiers = constantResolver.getConstants()
+                                                          .stream()
+                                                          .map(ConstantResolver.Constant::identifier)
+                                                          .collect(Collectors.toSet());
+        boolean usesOuterVariables = CodeAnalysisUtils.collectReferencedIdentifiers(statements)
+                                                      .stream()
+                                                      .filter(referenced -> !declaredIdentifiers.contains(referenced))
+                                                      .filter(referenced -> !MEMBER_IDENTIFIERS.contains(referenced))
+                                                      .anyMatch(referenced -> !constantIdentifiers.contains(referenced));
+        if (usesOuterVariables) {
+            return Optional.empty();
+        }
+
+        return Optional.of(type);
+    }
+
+    private static Subtree createSubtree(String identifier, TypeValue.Declarable type, List<Statement> statements) {
+        SequencedSet<String> declaredIdentifiers = CodeAnalysisUtils.collectDeclaredIdentifiers(statements);
+        Map<String, String> placeholderNames = new HashMap<>();
+        declaredIdentifiers.forEach(
+                declared -> placeholderNames.put(declared, PLACEHOLDER_PREFIX + placeholderNames.size()));
+
+        List<Literal> literals = new ArrayList<>();
+        List<Statement> shape = CodeRenameUtils.replaceLiterals(
+                CodeRenameUtils.renameIdentifiers(statements, placeholderNames), literal -> {
+                    if (literal instanceof Literal.Null) {
+                        return literal;
+                    }
+
+                    literals.add(literal);
+                    return CodeValues.variable(PLACEHOLDER_PREFIX + literal.getClass().getSimpleName());
+                });
+        return new Subtree(identifier, type, statements, declaredIdentifiers, shape, literals);
+    }
+
+    private static SharedBuildMethod createSharedBuildMethod(List<Statement> shape, List<Subtree> subtrees) {
+        Subtree first = subtrees.getFirst();
+        List<Literal> fixedLiterals = IntStream.range(0, first.literals().size())
+                                               .mapToObj(index -> findFixedLiteral(subtrees, index))
+                                               .toList();
+
+        List<Parameter> parameters = new ArrayList<>();
+        List<String> argumentNames = new ArrayList<>();
+        for (int i = 0; i < fixedLiterals.size(); i++) {
+            if (fixedLiterals.get(i) == null) {
+                String argumentName = ARGUMENT_NAME + parameters.size();
+                while (first.declaredIdentifiers().contains(argumentName)) {
+                    argumentName = "_" + argumentName;
+                }
+                parameters.add(new Parameter(literalType(first.literals().get(i)), argumentName));
+                argumentNames.add(argumentName);
+            } else {
+                argumentNames.add(null);
+            }
+        }
+
+        int[] literalIndex = {0};
+        List<Statement> statements = CodeRenameUtils.replaceLiterals(first.statements(), literal -> {
+            if (literal instanceof Literal.Null) {
+                return literal;
+            }
+
+            String argumentName = argumentNames.get(literalIndex[0]++);
+            return argumentName == null ? literal : CodeValues.variable(argumentName);
+        });
+
+        String methodName = "build%s".formatted(StringUtils.capitalize(first.identifier()));
+        BuildMethod buildMethod = new BuildMethod(methodName, first.type(), first.identifier(), parameters,
+                                                  statements);
+        return new SharedBuildMethod(shape, fixedLiterals, buildMethod);
+    }
+
+    private static Literal findFixedLiteral(List<Subtree> subtrees, int index) {
+        Literal literal = subtrees.getFirst().literals().get(index);
+        return subtrees.stream().allMatch(subtree -> subtree.literals().get(index).equals(literal)) ? literal : null;
+    }
+
+    private static TypeValue.Declarable literalType(Literal literal) {
+        return switch (literal) {
+            case Literal.Bool ignored -> TypeValues.of(boolean.class);
+            case Literal.Char ignored -> TypeValues.of(char.class);
+            case Literal.Byte ignored -> TypeValues.of(byte.class);
+            case Literal.Short ignored -> TypeValues.of(short.class);
+            case Literal.Int ignored -> TypeValues.of(int.class);
+            case Literal.Long ignored -> TypeValues.of(long.class);
+            case Literal.Float ignored -> TypeValues.of(float.class);
+            case Literal.Double ignored -> TypeValues.of(double.class);
+            case Literal.Str ignored -> TypeValues.of(String.class);
+            case Literal.Null ignored -> throw new IllegalArgumentException("null literal has no type");
+        };
+    }
+
+    private static Statement.Declaration createBuildMethodCall(TypeValue.Declarable type, String identifier,
+                                                               String methodName, List<Literal> arguments) {
+        List<Expression> args = new ArrayList<>();
+        args.add(CodeValues.variable(FxmlProcessor.RESOURCES_NAME));
+        args.add(CodeValues.variable(FxmlProcessor.CONTROLLER_FACTORY_NAME));
+        args.addAll(arguments);
+        return CodeValues.declaration(type, identifier, new StatementExpression.MethodCall(
+                CodeValues.variable(THIS_NAME), methodName, args));
+    }
+
+    private static Optional<TypeValue.Declarable> findDeclaredType(String identifier, List<Statement> statements) {
+        return statements.stream()
+                         .filter(Statement.Declaration.class::isInstance)
+                         .map(Statement.Declaration.class::cast)
+                         .filter(declaration -> declaration.declarators().size() == 1 &&
+                                                declaresIdentifier(declaration.declarators().getFirst(), identifier))
+                         .map(Statement.Declaration::type)
+                         .findFirst();
+    }
+
+    private static boolean declaresIdentifier(Declarator declarator, String identifier) {
+        return switch (declarator) {
+            case Expression.Variable(String declared) -> declared.equals(identifier);
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression ignored) ->
+                    receiver instanceof Expression.Variable(String declared) && declared.equals(identifier);
+        };
+    }
+
+    public List<BuildMethod> getBuildMethods() {
+        return List.copyOf(buildMethods);
+    }
+
+    public int getBuildMethodCount() {
+        return buildMethods.size();
+    }
+
+    public void retainBuildMethods(int count) {
+        buildMethods.subList(count, buildMethods.size()).clear();
+        sharedBuildMethods.removeIf(sharedBuildMethod -> !buildMethods.contains(sharedBuildMethod.buildMethod()));
+    }
+
+    public record BuildMethod(String name, TypeValue.Declarable returnType, String identifier,
+                              List<Parameter> parameters, List<Statement> statements) {
+        public BuildMethod {
+            parameters = List.copyOf(parameters);
+            statements = List.copyOf(statements);
+        }
+    }
+
+    private record Subtree(String identifier, TypeValue.Declarable type, List<Statement> statements,
+                           Set<String> declaredIdentifiers, List<Statement> shape, List<Literal> literals) {}
+
+    /**
+     * A method building every subtree of the given shape whose literals match the fixed literals, the literals with a
+     * null fixed literal are passed as arguments.
+     */
+    private record SharedBuildMethod(List<Statement> shape, List<Literal> fixedLiterals, BuildMethod buildMethod) {
+
+        private boolean canBuild(List<Statement> subtreeShape, List<Subtree> subtrees) {
+            return shape.equals(subtreeShape) && subtrees.stream().allMatch(this::matchesFixedLiterals);
+        }
+
+        private boolean matchesFixedLiterals(Subtree subtree) {
+            return IntStream.range(0, fixedLiterals.size())
+                            .allMatch(index -> fixedLiterals.get(index) == null ||
+                                               fixedLiterals.get(index).equals(subtree.literals().get(index)));
+        }
+
+        private Statement.Declaration createCall(Subtree subtree) {
+            List<Literal> arguments = IntStream.range(0, fixedLiterals.size())
+                                               .filter(index -> fixedLiterals.get(index) == null)
+                                               .mapToObj(subtree.literals()::get)
+                                               .toList();
+            return createBuildMethodCall(buildMethod.returnType(), subtree.identifier(), buildMethod.name(),
+                                         arguments);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.sheikah45.fx2j.processor.internal.resolve;
+
+import io.github.sheikah45.fx2j.parser.property.BindExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class CellItemResolver {
+
+    public static final String ITEM_NAME = "item";
+
+    private final TypeResolver typeResolver;
+    private final MethodResolver methodResolver;
+    private final NameResolver nameResolver;
+
+    private final List<ItemUpdate> itemUpdates = new ArrayList<>();
+    private Type itemType;
+
+    CellItemResolver(TypeResolver typeResolver, MethodResolver methodResolver, NameResolver nameResolver) {
+        this.typeResolver = typeResolver;
+        this.methodResolver = methodResolver;
+        this.nameResolver = nameResolver;
+    }
+
+    public Type getItemType() {
+        return itemType;
+    }
+
+    public void setItemType(Type itemType) {
+        this.itemType = itemType;
+    }
+
+    public boolean isItemExpression(BindExpression expression) {
+        if (itemType == null) {
+            return false;
+        }
+
+        return switch (expression) {
+            case BindExpression.Variable(String name) -> ITEM_NAME.equals(name);
+            case BindExpression.PropertyRead(BindExpression receiver, String ignored) -> isItemExpression(receiver);
+            default -> false;
+        };
+    }
+
+    /**
+     * Resolves the setter call which applies the item value to the property. The value the property has in the template
+     * is captured when the view is built, so an empty cell can be reset to it and a null value along the property chain
+     * of the item falls back to it.
+     */
+    public void resolveItemUpdate(Expression receiver, Type receiverType, String property, Method setter,
+                                  BindExpression expression) {
+        Type parameterType = setter.getGenericParameterTypes()[0];
+        Class<?> parameterClass = typeResolver.resolveClassFromType(parameterType);
+        Optional<Method> getter = findItemGetter(receiverType, property);
+        Type defaultType = getter.map(Method::getGenericReturnType).orElse(parameterClass);
+        Expression defaultExpression = getter.<Expression>map(method -> CodeValues.methodCall(receiver, method))
+                                             .orElseGet(() -> CodeValues.of(
+                                                     ValueResolver.DEFAULTS_MAP.get(parameterClass)));
+        List<Statement> defaults = new ArrayList<>();
+        Expression.Variable defaultValue = declareValue(defaultType, defaultExpression, defaults);
+
+        List<Statement> statements = new ArrayList<>();
+        ItemValue itemValue = resolveItemValue(expression, statements);
+        Expression value;
+        if (typeResolver.isAssignableFrom(parameterType, itemValue.type()) ||
+            typeResolver.wrapType(parameterType) == typeResolver.wrapType(itemValue.type())) {
+            value = itemValue.value();
+        } else if (parameterType == String.class) {
+            value = CodeValues.methodCall(String.class, "valueOf", itemValue.value());
+        } else {
+            throw new IllegalArgumentException(
+                    "Cannot assign item value of type %s to %s".formatted(itemValue.type(), parameterType));
+        }
+
+        if (itemValue.nullableReceiver() != null) {
+            value = CodeValues.ternary(CodeValues.binary(itemValue.nullableReceiver(),
+                                                         Expression.Operation.BinaryOperator.EQUAL,
+                                                         CodeValues.nullValue()), defaultValue, value);
+        }
+
+        statements.add(CodeValues.methodCall(receiver, setter, value));
+        itemUpdates.add(new ItemUpdate(defaults.getFirst(), statements,
+                                       CodeValues.methodCall(receiver, setter, defaultValue)));
+    }
+
+    /**
+     * Reads the property chain from the item. Every intermediate value is stored in a variable, as it may be null and
+     * the reads following it are guarded by a null check.
+     */
+    private ItemValue resolveItemValue(BindExpression expression, List<Statement> statements) {
+        return switch (expression) {
+            case BindExpression.Variable(String name) when ITEM_NAME.equals(name) ->
+                    new ItemValue(itemType, CodeValues.variable(ITEM_NAME), null);
+            case BindExpression.PropertyRead(BindExpression receiver, String property) -> {
+                ItemValue receiverValue = resolveItemValue(receiver, statements);
+                Expression receiverExpression = receiverValue.value();
+                Expression.Variable nullableReceiver = receiverValue.nullableReceiver();
+                if (!(receiverExpression instanceof Expression.Variable)) {
+                    if (nullableReceiver != null) {
+                        receiverExpression = CodeValues.ternary(
+                                CodeValues.binary(nullableReceiver, Expression.Operation.BinaryOperator.EQUAL,
+                                                  CodeValues.nullValue()), CodeValues.nullValue(),
+                                receiverExpression);
+                    }
+
+                    nullableReceiver = declareValue(receiverValue.type(), receiverExpression, statements);
+                    receiverExpression = nullableReceiver;
+                }
+
+                Method getter = resolveItemGetter(receiverValue.type(), property);
+                yield new ItemValue(getter.getGenericReturnType(), CodeValues.methodCall(receiverExpression, getter),
+                                    nullableReceiver);
+            }
+            default -> throw new IllegalArgumentException("%s is not an item expression".formatted(expression));
+        };
+    }
+
+    private Expression.Variable declareValue(Type type, Expression value, List<Statement> statements) {
+        Type declaredType = type instanceof Class<?> || type instanceof ParameterizedType ?
+                            type :
+                            typeResolver.resolveClassFromType(type);
+        String identifier = nameResolver.resolveUniqueName(declaredType);
+        statements.add(CodeValues.declaration(declaredType, identifier, value));
+        return CodeValues.variable(identifier);
+    }
+
+    private Method resolveItemGetter(Type type, String property) {
+        return findItemGetter(type, property).orElseThrow(() -> new IllegalArgumentException(
+                "No getter found for item property %s on %s".formatted(property, type)));
+    }
+
+    private Optional<Method> findItemGetter(Type type, String property) {
+        String booleanGetterName = "is%s".formatted(StringUtils.capitalize(property));
+        return methodResolver.resolveGetter(type, property)
+                             .or(() -> methodResolver.findMethod(type, booleanGetterName, 0));
+    }
+
+    public List<Statement> getItemDefaults() {
+        return itemUpdates.stream().map(ItemUpdate::defaultDeclaration).toList();
+    }
+
+    public List<Statement> getItemUpdates() {
+        return itemUpdates.stream().flatMap(itemUpdate -> itemUpdate.statements().stream()).toList();
+    }
+
+    public List<Statement> getItemResets() {
+        return itemUpdates.stream().map(ItemUpdate::reset).toList();
+    }
+
+    public int getItemUpdateCount() {
+        return itemUpdates.size();
+    }
+
+    public void retainItemUpdates(int count) {
+        itemUpdates.subList(count, itemUpdates.size()).clear();
+    }
+
+    private record ItemValue(Type type, Expression value, Expression.Variable nullableReceiver) {}
+
+    private record ItemUpdate(Statement defaultDeclaration, List<Statement> statements, Statement reset) {}
+}
@@ -0,0 +1,208 @@
+package io.github.sheikah45.fx2j.processor.internal.resolve;
+
+import io.github.sheikah45.fx2j.api.Fx2jResourceManifest;
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Literal;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeRenameUtils;
+
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.SequencedSet;
+import java.util.Set;
+
+public class ConstantResolver {
+
+    /**
+     * Immutable types whose construction does not depend on the JavaFX toolkit. Constants are initialized with the
+     * builder class, so a failure while constructing them would make the builder class permanently unusable.
+     */
+    private static final Set<String> DEFAULT_IMMUTABLE_TYPES = Set.of("javafx.geometry.Insets",
+                                                                      "javafx.geometry.Point2D",
+                                                                      "javafx.geometry.Point3D",
+                                                                      "javafx.geometry.Rectangle2D",
+                                                                      "javafx.geometry.Dimension2D",
+                                                                      "javafx.scene.paint.Paint",
+                                                                      "javafx.scene.paint.Color",
+                                                                      "javafx.scene.paint.Stop",
+                                                                      "javafx.scene.layout.CornerRadii",
+                                                                      "javafx.util.Duration");
+
+    private final TypeResolver typeResolver;
+    private final TypeValue.Raw.Top ownerType;
+    private final Path resourceRootPath;
+    private final Path resourceDirectory;
+
+    private final SequencedMap<Expression, Constant> constants = new LinkedHashMap<>();
+    private final Map<String, Integer> identifierCounts = new HashMap<>();
+    private final Set<String> immutableTypes = new HashSet<>(DEFAULT_IMMUTABLE_TYPES);
+    private final SequencedSet<Fx2jResourceManifest.ImageResource> cachedImages = new LinkedHashSet<>();
+
+    ConstantResolver(TypeResolver typeResolver, TypeValue.Raw.Top ownerType, Path resourceRootPath,
+                     Path relativeFilePath) {
+        this.typeResolver = typeResolver;
+        this.ownerType = ownerType;
+        this.resourceRootPath = resourceRootPath;
+        Path parent = relativeFilePath == null ? null : relativeFilePath.getParent();
+        this.resourceDirectory = parent == null ? Path.of("") : parent;
+    }
+
+    public Expression.Variable resolveLocation(Path location) {
+        if (ownerType == null) {
+            throw new UnsupportedOperationException("Location resolution requires the builder class");
+        }
+
+        String resourcePath = toResourcePath(location);
+        if (!resourceExists(resourcePath)) {
+            throw new UnsupportedOperationException(
+                    "Location %s cannot be found at compile time".formatted(location));
+        }
+
+        Expression initializer = CodeValues.methodCall(CodeValues.fieldAccess(ownerType, "class"), "getResource",
+                                                       CodeValues.literal("/" + resourcePath));
+        String fileName = Path.of(resourcePath).getFileName().toString();
+        return resolveConstant(URL.class, "location_" + fileName, initializer);
+    }
+
+    public Expression.Variable resolveConstant(Type type, String name, Expression initializer) {
+        Constant constant = constants.computeIfAbsent(initializer,
+                                                      key -> new Constant(type, toConstantIdentifier(name), key));
+        if (!constant.type().equals(type)) {
+            throw new IllegalArgumentException(
+                    "Constant %s already declared with type %s".formatted(constant.identifier(), constant.type()));
+        }
+
+        return CodeValues.variable(constant.identifier());
+    }
+
+    /**
+     * Declares a constant of the builder of an included view in this builder so the code of the included view can be
+     * inlined. References to the included builder class are replaced with this builder class.
+     *
+     * @param constant          the constant of the included builder
+     * @param includedOwnerType the included builder class
+     * @param renames           the identifiers of the included constants which were already declared in this builder
+     * @return the variable referencing the constant in this builder
+     */
+    public Expression.Variable resolveIncludedConstant(Constant constant, TypeValue.Raw.Top includedOwnerType,
+                                                       Map<String, String> renames) {
+        if (ownerType == null) {
+            throw new UnsupportedOperationException("Included constants require the builder class");
+        }
+
+        Expression initializer = CodeRenameUtils.renameIdentifiers(constant.initializer(), renames,
+                                                                   Map.of(includedOwnerType, ownerType));
+        return resolveConstant(constant.type(), constant.identifier(), initializer);
+    }
+
+    /**
+     * Hoists the given value into a static constant of the builder if its type is known to be immutable and it is
+     * only built from constant arguments, so that it is shared between all builds instead of being recreated.
+     *
+     * @return the variable referencing the constant or the value itself if it cannot be hoisted
+     */
+    public Expression resolveImmutableValue(Type type, Expression value) {
+        if (ownerType == null || !isImmutable(type) || !isConstant(value)) {
+            return value;
+        }
+
+        return resolveConstant(type, typeResolver.resolveClassFromType(type).getSimpleName(), value);
+    }
+
+    public void addImmutableType(Type type) {
+        immutableTypes.add(typeResolver.resolveClassFromType(type).getName());
+    }
+
+    public boolean isImmutable(Type type) {
+        Class<?> typeClass = typeResolver.resolveClassFromType(type);
+        return typeClass != null && immutableTypes.contains(typeClass.getName());
+    }
+
+    private boolean isImmutable(TypeValue type) {
+        return switch (type) {
+            case TypeValue.Raw.Top(String packageName, String simpleName) ->
+                    immutableTypes.contains(packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+            case TypeValue.Parameterized(TypeValue.Raw rawType, List<TypeValue> ignored) -> isImmutable(rawType);
+            default -> false;
+        };
+    }
+
+    private boolean isConstant(Expression expression) {
+        return switch (expression) {
+            case Literal ignored -> true;
+            case Expression.Enum ignored -> true;
+            case Expression.Variable(String identifier) -> constants.values()
+                                                                    .stream()
+                                                                    .map(Constant::identifier)
+                                                                    .anyMatch(identifier::equals);
+            case Expression.FieldAccess(Expression.Type ignored, String field) -> true;
+            case Expression.Array.Declared(TypeValue.Declarable ignored, List<? extends Expression> values) ->
+                    values.stream().allMatch(this::isConstant);
+            case StatementExpression.NewInstance(
+                    TypeValue.Declarable type, List<? extends Expression> args
+            ) -> isImmutable(type) && args.stream().allMatch(this::isConstant);
+            case StatementExpression.MethodCall(
+                    Expression.Type(TypeValue type), String ignored, List<? extends Expression> args
+            ) -> isImmutable(type) && args.stream().allMatch(this::isConstant);
+            default -> false;
+        };
+    }
+
+    public List<Constant> getConstants() {
+        return List.copyOf(constants.values());
+    }
+
+    public void addCachedImage(Fx2jResourceManifest.ImageResource image) {
+        cachedImages.add(image);
+    }
+
+    public List<Fx2jResourceManifest.ImageResource> getCachedImages() {
+        return List.copyOf(cachedImages);
+    }
+
+    private String toResourcePath(Path location) {
+        String path = location.toString().replace("\\", "/");
+        Path resourcePath = path.startsWith("/") ?
+                            Path.of(path.substring(1)).normalize() :
+                            resourceDirectory.resolve(path).normalize();
+        if (resourcePath.startsWith("..") || resourcePath.toString().isBlank()) {
+            throw new IllegalArgumentException("Location %s is outside of the resource root".formatted(location));
+        }
+
+        return resourcePath.toString().replace("\\", "/");
+    }
+
+    private boolean resourceExists(String resourcePath) {
+        if (resourceRootPath != null && Files.exists(resourceRootPath.resolve(resourcePath))) {
+            return true;
+        }
+
+        return typeResolver.getClassLoader().getResource(resourcePath) != null;
+    }
+
+    private String toConstantIdentifier(String name) {
+        String rawIdentifier = name.replaceAll("[^A-Za-z0-9]+", "_")
+                                   .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                                   .toUpperCase(Locale.ROOT);
+        if (Character.isDigit(rawIdentifier.charAt(0))) {
+            rawIdentifier = "_" + rawIdentifier;
+        }
+
+        Integer count = identifierCounts.compute(rawIdentifier, (key, value) -> value == null ? 0 : value + 1);
+        return count == 0 ? rawIdentifier : rawIdentifier + "_" + count;
+    }
+
+    public record Constant(Type type, String identifier, Expression initializer) {}
+}
@@ -0,0 +1,41 @@
+package io.github.sheikah45.fx2j.processor.internal.resolve;
+
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventHandlerResolver {
+
+    public static final String DISPATCHER_CLASS_NAME = "EventHandlerDispatcher";
+    public static final String EVENT_HANDLER_METHOD_NAME = "eventHandler";
+
+    private static final String THIS_NAME = "this";
+
+    private final List<Method> handlerMethods = new ArrayList<>();
+
+    EventHandlerResolver() {}
+
+    /**
+     * Registers the controller method with the dispatcher of the builder. Handlers calling the same method share
+     * their dispatch index.
+     *
+     * @return the expression creating the event handler which dispatches to the given method
+     */
+    public Expression resolveDispatchedHandler(Method handlerMethod) {
+        int handlerIndex = handlerMethods.indexOf(handlerMethod);
+        if (handlerIndex < 0) {
+            handlerIndex = handlerMethods.size();
+            handlerMethods.add(handlerMethod);
+        }
+
+        return CodeValues.methodCall(CodeValues.variable(THIS_NAME), EVENT_HANDLER_METHOD_NAME,
+                                     CodeValues.literal(handlerIndex));
+    }
+
+    public List<Method> getHandlerMethods() {
+        return List.copyOf(handlerMethods);
+    }
+}
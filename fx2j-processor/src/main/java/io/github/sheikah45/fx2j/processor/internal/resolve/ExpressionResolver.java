@@ -4,30 +4,70 @@ import io.github.sheikah45.fx2j.parser.property.BindExpression;
 import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.Expression;
 import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
 import io.github.sheikah45.fx2j.processor.internal.model.ExpressionResult;
+import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public class ExpressionResolver {
 
     private static final String BINDINGS_CLASS_NAME = "javafx.beans.binding.Bindings";
+    private static final String BINDING_CLASS_NAME_FORMAT = "javafx.beans.binding.%sBinding";
+    private static final String OBSERVABLE_CLASS_NAME = "javafx.beans.Observable";
+    private static final TypeValue.Raw FX2J_BINDINGS_TYPE = TypeValues.of(
+            "io.github.sheikah45.fx2j.api.Fx2jBindings");
+    private static final Map<Class<?>, String> FUSED_BINDING_TYPES = Map.of(double.class, "Double", float.class,
+                                                                            "Float", long.class, "Long", int.class,
+                                                                            "Integer", boolean.class, "Boolean",
+                                                                            String.class, "String");
+    private static final Set<Class<?>> PRIMITIVE_BINDING_TYPES = Set.of(double.class, float.class, long.class,
+                                                                        int.class, boolean.class);
+    private static final String OBSERVABLE_VALUE_CLASS_NAME = "javafx.beans.value.ObservableValue";
+    private static final String OBSERVABLE_VALUE_CLASS_NAME_FORMAT = "javafx.beans.value.Observable%sValue";
+    private static final List<String> SELECT_BINDING_TYPES = List.of("Double", "Float", "Integer", "Long", "Boolean",
+                                                                     "String");
+    private static final Set<Class<?>> NUMERIC_TYPES = Set.of(byte.class, short.class, int.class, long.class,
+                                                              float.class, double.class);
 
     private final TypeResolver typeResolver;
     private final MethodResolver methodResolver;
     private final NameResolver nameResolver;
 
+    private final SequencedMap<ResolvedKey, ExpressionResult> resolvedExpressions = new LinkedHashMap<>();
+    private final Set<String> sharedIdentifiers = new HashSet<>();
+
     ExpressionResolver(TypeResolver typeResolver, MethodResolver methodResolver, NameResolver nameResolver) {
         this.typeResolver = typeResolver;
         this.methodResolver = methodResolver;
         this.nameResolver = nameResolver;
     }
 
+    /**
+     * Resolves the bind expression using the fluent binding api. Identical subexpressions within the builder are only
+     * built once, later occurrences reuse the variable declared for the first one.
+     */
     public ExpressionResult resolveExpression(BindExpression value) {
+        return resolveShared(new ResolvedKey(value, false), () -> Optional.of(resolveExpressionInternal(value)))
+                .orElseThrow();
+    }
+
+    private ExpressionResult resolveExpressionInternal(BindExpression value) {
         return switch (value) {
             case BindExpression.Null() -> new ExpressionResult(Object.class, CodeValues.nullValue(), List.of());
             case BindExpression.Whole(long val) when val > Integer.MAX_VALUE || val < Integer.MIN_VALUE ->
@@ -44,6 +84,9 @@ public class ExpressionResolver {
                     new ExpressionResult(String.class, CodeValues.literal(val), List.of());
             case BindExpression.Variable(String name) ->
                     new ExpressionResult(nameResolver.resolveTypeById(name), CodeValues.variable(name), List.of());
+            case BindExpression.PropertyRead(BindExpression bindExpression, String property) when
+                    bindExpression instanceof BindExpression.PropertyRead &&
+                    isPropertyChain(bindExpression) -> resolveSelect(bindExpression, property);
             case BindExpression.PropertyRead(BindExpression bindExpression, String property) -> {
                 ExpressionResult expressionResult = resolveExpression(bindExpression);
                 List<Statement.Declaration> initializers = new ArrayList<>(expressionResult.initializers());
@@ -137,6 +180,314 @@ public class ExpressionResolver {
         };
     }
 
+    /**
+     * Resolves a property read on the value of another property read with a select binding from Fx2jBindings, which
+     * follows the current value of the receiver and re-wires to the property of the new value whenever it changes.
+     * The link is a method reference, so no reflection is needed at runtime.
+     */
+    private ExpressionResult resolveSelect(BindExpression receiver, String property) {
+        ExpressionResult receiverResult = resolveExpression(receiver);
+        List<Statement.Declaration> initializers = new ArrayList<>(receiverResult.initializers());
+
+        Class<?> ownerClass = resolveValueClass(receiver);
+        Method readProperty = methodResolver.resolveProperty(ownerClass, property)
+                                            .orElseThrow(() -> new IllegalArgumentException(
+                                                    "No property found for expression binding %s".formatted(
+                                                            property)));
+        Type propertyType = readProperty.getGenericReturnType();
+        Expression link = CodeValues.methodReference(ownerClass, readProperty.getName());
+        String bindingTypeName = SELECT_BINDING_TYPES.stream()
+                                                     .filter(typeName -> typeResolver.isAssignableFrom(
+                                                             typeResolver.resolve(
+                                                                     OBSERVABLE_VALUE_CLASS_NAME_FORMAT.formatted(
+                                                                             typeName)), propertyType))
+                                                     .findFirst()
+                                                     .orElse(null);
+
+        Expression bindingsType = CodeValues.type(FX2J_BINDINGS_TYPE);
+        if (bindingTypeName != null) {
+            Class<?> bindingClass = typeResolver.resolve(BINDING_CLASS_NAME_FORMAT.formatted(bindingTypeName));
+            String identifier = nameResolver.resolveUniqueName(bindingClass);
+            initializers.add(CodeValues.declaration(bindingClass, identifier, CodeValues.methodCall(
+                    bindingsType, "select%s".formatted(bindingTypeName), receiverResult.value(), link)));
+            return new ExpressionResult(bindingClass, CodeValues.variable(identifier), initializers);
+        }
+
+        if (!typeResolver.isAssignableFrom(typeResolver.resolve(OBSERVABLE_VALUE_CLASS_NAME), propertyType)) {
+            throw new IllegalArgumentException("Property %s of %s is not observable".formatted(property, ownerClass));
+        }
+
+        Class<?> bindingClass = typeResolver.resolve(BINDING_CLASS_NAME_FORMAT.formatted("Object"));
+        Class<?> valueClass = typeResolver.wrapType(resolveValueClass(ownerClass, property));
+        Type bindingType = typeResolver.parameterize(bindingClass, valueClass);
+        String identifier = nameResolver.resolveUniqueName(bindingType);
+        initializers.add(CodeValues.declaration(bindingType, identifier,
+                                                CodeValues.methodCall(bindingsType, "select", receiverResult.value(),
+                                                                      link)));
+        return new ExpressionResult(bindingType, CodeValues.variable(identifier), initializers);
+    }
+
+    private static boolean isPropertyChain(BindExpression expression) {
+        return switch (expression) {
+            case BindExpression.Variable ignored -> true;
+            case BindExpression.PropertyRead(BindExpression receiver, String ignored) -> isPropertyChain(receiver);
+            default -> false;
+        };
+    }
+
+    private Class<?> resolveValueClass(BindExpression expression) {
+        return switch (expression) {
+            case BindExpression.Variable(String name) ->
+                    typeResolver.resolveClassFromType(nameResolver.resolveTypeById(name));
+            case BindExpression.PropertyRead(BindExpression receiver, String property) ->
+                    resolveValueClass(resolveValueClass(receiver), property);
+            default -> throw new IllegalArgumentException(
+                    "Cannot resolve value type of expression %s".formatted(expression));
+        };
+    }
+
+    private Class<?> resolveValueClass(Class<?> ownerClass, String property) {
+        return methodResolver.resolveGetter(ownerClass, property)
+                             .or(() -> methodResolver.findMethod(ownerClass, "is%s".formatted(
+                                     StringUtils.capitalize(property)), 0))
+                             .map(Method::getReturnType)
+                             .orElseThrow(() -> new IllegalArgumentException(
+                                     "No getter found for property %s of %s".formatted(property, ownerClass)));
+    }
+
+    /**
+     * Lowers a bind expression with operators into a single binding which computes the whole expression from the
+     * values of its leaf properties, so only one binding with one listener per leaf property is created instead of a
+     * binding per operator. Numeric and boolean expressions are computed by primitive suppliers through Fx2jBindings
+     * so recomputing them does not box the value.
+     *
+     * @return the fused binding or an empty optional if the expression has no operators or contains parts which can
+     * only be computed by the fluent bindings
+     */
+    public Optional<ExpressionResult> resolveFusedExpression(BindExpression value) {
+        if (value instanceof BindExpression.PropertyRead) {
+            return Optional.empty();
+        }
+
+        return resolveShared(new ResolvedKey(value, true), () -> resolveFusedExpressionInternal(value));
+    }
+
+    private Optional<ExpressionResult> resolveFusedExpressionInternal(BindExpression value) {
+        Map<String, Expression> dependencies = new LinkedHashMap<>();
+        FusedValue fusedValue = fuse(value, dependencies).orElse(null);
+        if (fusedValue == null || dependencies.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String bindingTypeName = FUSED_BINDING_TYPES.get(fusedValue.type());
+        if (bindingTypeName == null) {
+            return Optional.empty();
+        }
+
+        Expression bindingsType = PRIMITIVE_BINDING_TYPES.contains(fusedValue.type()) ?
+                                  CodeValues.type(FX2J_BINDINGS_TYPE) :
+                                  CodeValues.type(typeResolver.resolve(BINDINGS_CLASS_NAME));
+        Class<?> bindingClass = typeResolver.resolve(BINDING_CLASS_NAME_FORMAT.formatted(bindingTypeName));
+        List<Expression> args = new ArrayList<>();
+        args.add(CodeValues.lambdaBuilder()
+                           .body(body -> body.statement(CodeValues.returns(fusedValue.value())))
+                           .build());
+        args.addAll(dependencies.values());
+        String createMethodName = "create%sBinding".formatted(bindingTypeName);
+        String identifier = nameResolver.resolveUniqueName(bindingClass);
+        Statement.Declaration declaration = CodeValues.declaration(bindingClass, identifier,
+                                                                   CodeValues.methodCall(bindingsType,
+                                                                                         createMethodName,
+                                                                                         args.toArray()));
+        return Optional.of(new ExpressionResult(bindingClass, CodeValues.variable(identifier), List.of(declaration)));
+    }
+
+    /**
+     * Returns the previously resolved result for an identical expression without its initializers or resolves and
+     * records the expression if its result is a declared variable which can be shared.
+     */
+    private Optional<ExpressionResult> resolveShared(ResolvedKey key, Supplier<Optional<ExpressionResult>> resolver) {
+        ExpressionResult resolved = resolvedExpressions.get(key);
+        if (resolved != null) {
+            if (resolved.value() instanceof Expression.Variable(String identifier)) {
+                sharedIdentifiers.add(identifier);
+            }
+
+            return Optional.of(new ExpressionResult(resolved.type(), resolved.value(), List.of()));
+        }
+
+        Optional<ExpressionResult> result = resolver.get();
+        result.filter(expressionResult -> expressionResult.value() instanceof Expression.Variable)
+              .filter(expressionResult -> !expressionResult.initializers().isEmpty())
+              .ifPresent(expressionResult -> resolvedExpressions.put(key, expressionResult));
+        return result;
+    }
+
+    /**
+     * Returns whether the variable declared for an expression is used by more than one expression.
+     */
+    public boolean isShared(String identifier) {
+        return sharedIdentifiers.contains(identifier);
+    }
+
+    /**
+     * Stops sharing the variables with the given identifiers, used when their declarations are moved out of the
+     * scope of later expressions.
+     */
+    public void unshareIdentifiers(Collection<String> identifiers) {
+        resolvedExpressions.values()
+                           .removeIf(result -> result.value() instanceof Expression.Variable(String identifier) &&
+                                               identifiers.contains(identifier));
+    }
+
+    public int getResolvedExpressionCount() {
+        return resolvedExpressions.size();
+    }
+
+    public void retainResolvedExpressions(int count) {
+        List<ResolvedKey> keys = new ArrayList<>(resolvedExpressions.sequencedKeySet());
+        keys.subList(count, keys.size()).forEach(resolvedExpressions::remove);
+    }
+
+    private Optional<FusedValue> fuse(BindExpression value, Map<String, Expression> dependencies) {
+        return switch (value) {
+            case BindExpression.Whole(long val) when val > Integer.MAX_VALUE || val < Integer.MIN_VALUE ->
+                    Optional.empty();
+            case BindExpression.Whole(long val) ->
+                    Optional.of(new FusedValue(int.class, CodeValues.literal((int) val)));
+            case BindExpression.Fraction(double val) ->
+                    Optional.of(new FusedValue(double.class, CodeValues.literal(val)));
+            case BindExpression.Boolean(boolean val) ->
+                    Optional.of(new FusedValue(boolean.class, CodeValues.literal(val)));
+            case BindExpression.String(String val) ->
+                    Optional.of(new FusedValue(String.class, CodeValues.literal(val)));
+            case BindExpression.PropertyRead(BindExpression.Variable(String identifier), String property) ->
+                    fuseProperty(identifier, property, dependencies);
+            case BindExpression.Add(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.ADD, dependencies);
+            case BindExpression.Subtract(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.SUBTRACT, dependencies);
+            case BindExpression.Multiply(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.MULTIPLY, dependencies);
+            case BindExpression.Divide(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.DIVIDE, dependencies);
+            case BindExpression.Modulo(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.MODULO, dependencies);
+            case BindExpression.GreaterThan(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.GREATER_THAN, dependencies);
+            case BindExpression.GreaterThanEqual(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.GREATER_THAN_EQUAL, dependencies);
+            case BindExpression.LessThan(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.LESS_THAN, dependencies);
+            case BindExpression.LessThanEqual(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.LESS_THAN_EQUAL, dependencies);
+            case BindExpression.Equal(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.EQUAL, dependencies);
+            case BindExpression.NotEqual(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.NOT_EQUAL, dependencies);
+            case BindExpression.And(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.AND, dependencies);
+            case BindExpression.Or(BindExpression left, BindExpression right) ->
+                    fuseBinary(left, right, Expression.Operation.BinaryOperator.OR, dependencies);
+            case BindExpression.Invert(BindExpression operand) ->
+                    fuse(operand, dependencies).filter(fused -> fused.type() == boolean.class)
+                                               .map(fused -> new FusedValue(boolean.class, CodeValues.unary(
+                                                       Expression.Operation.UnaryOperator.NOT, fused.value())));
+            case BindExpression.Negate(BindExpression operand) ->
+                    fuse(operand, dependencies).filter(fused -> NUMERIC_TYPES.contains(fused.type()))
+                                               .map(fused -> new FusedValue(
+                                                       promoteNumericTypes(fused.type(), int.class),
+                                                       CodeValues.unary(Expression.Operation.UnaryOperator.NEGATE,
+                                                                        fused.value())));
+            default -> Optional.empty();
+        };
+    }
+
+    private Optional<FusedValue> fuseProperty(String identifier, String property,
+                                              Map<String, Expression> dependencies) {
+        Type ownerType = nameResolver.resolveTypeById(identifier);
+        Method propertyMethod = methodResolver.resolveProperty(ownerType, property).orElse(null);
+        if (propertyMethod == null || !typeResolver.isAssignableFrom(typeResolver.resolve(OBSERVABLE_CLASS_NAME),
+                                                                     propertyMethod.getGenericReturnType())) {
+            return Optional.empty();
+        }
+
+        Method getter = methodResolver.resolveGetter(ownerType, property)
+                                      .or(() -> methodResolver.findMethod(ownerType, "is%s".formatted(
+                                              StringUtils.capitalize(property)), 0))
+                                      .orElse(null);
+        if (getter == null) {
+            return Optional.empty();
+        }
+
+        dependencies.putIfAbsent("%s.%s".formatted(identifier, property),
+                                 CodeValues.methodCall(identifier, propertyMethod));
+        return Optional.of(new FusedValue(getter.getReturnType(), CodeValues.methodCall(identifier, getter)));
+    }
+
+    private Optional<FusedValue> fuseBinary(BindExpression left, BindExpression right,
+                                            Expression.Operation.BinaryOperator operator,
+                                            Map<String, Expression> dependencies) {
+        FusedValue leftValue = fuse(left, dependencies).orElse(null);
+        FusedValue rightValue = fuse(right, dependencies).orElse(null);
+        if (leftValue == null || rightValue == null) {
+            return Optional.empty();
+        }
+
+        Class<?> leftType = leftValue.type();
+        Class<?> rightType = rightValue.type();
+        boolean numeric = NUMERIC_TYPES.contains(leftType) && NUMERIC_TYPES.contains(rightType);
+        boolean logical = leftType == boolean.class && rightType == boolean.class;
+        boolean concatenation = leftType == String.class || rightType == String.class;
+        Class<?> resultType = switch (operator) {
+            case ADD -> concatenation ? String.class : numeric ? promoteNumericTypes(leftType, rightType) : null;
+            case SUBTRACT, MULTIPLY, DIVIDE, MODULO -> numeric ? promoteNumericTypes(leftType, rightType) : null;
+            case GREATER_THAN, GREATER_THAN_EQUAL, LESS_THAN, LESS_THAN_EQUAL -> numeric ? boolean.class : null;
+            case EQUAL, NOT_EQUAL -> numeric || logical ? boolean.class : null;
+            case AND, OR -> logical ? boolean.class : null;
+        };
+
+        if (resultType == null) {
+            return Optional.empty();
+        }
+
+        if (resultType == String.class) {
+            return Optional.of(new FusedValue(resultType, CodeValues.binary(toNullSafeString(leftValue), operator,
+                                                                            toNullSafeString(rightValue))));
+        }
+
+        return Optional.of(
+                new FusedValue(resultType, CodeValues.binary(leftValue.value(), operator, rightValue.value())));
+    }
+
+    /**
+     * Converts null property values to an empty string like the fluent concat binding does instead of the "null" of
+     * java string concatenation. Literals, primitives and nested concatenations are never null.
+     */
+    private static Expression toNullSafeString(FusedValue fusedValue) {
+        if (fusedValue.type().isPrimitive() || !(fusedValue.value() instanceof StatementExpression.MethodCall)) {
+            return fusedValue.value();
+        }
+
+        return CodeValues.methodCall(Objects.class, "toString", fusedValue.value(), "");
+    }
+
+    /**
+     * Applies the binary numeric promotion of the java language so the fused binding has the same value type as the
+     * fluent bindings it replaces.
+     */
+    private static Class<?> promoteNumericTypes(Class<?> leftType, Class<?> rightType) {
+        if (leftType == double.class || rightType == double.class) {
+            return double.class;
+        } else if (leftType == float.class || rightType == float.class) {
+            return float.class;
+        } else if (leftType == long.class || rightType == long.class) {
+            return long.class;
+        } else {
+            return int.class;
+        }
+    }
+
     private ExpressionResult computeExpressionWithMethod(BindExpression left, BindExpression right,
                                                          String... methodNames) {
         ExpressionResult leftResult = resolveExpression(left);
@@ -206,4 +557,8 @@ public class ExpressionResolver {
 
         throw new IllegalArgumentException("Cannot %s %s".formatted(methodName, value));
     }
+
+    private record FusedValue(Class<?> type, Expression value) {}
+
+    private record ResolvedKey(BindExpression expression, boolean fused) {}
 }
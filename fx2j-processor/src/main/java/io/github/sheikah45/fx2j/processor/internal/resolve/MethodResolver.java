@@ -17,11 +17,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class MethodResolver {
 
     public static final String DEFAULT_PROPERTY_CLASS = "javafx.beans.DefaultProperty";
     private static final String NAMED_ARG_CLASS = "javafx.beans.NamedArg";
+    private static final Set<String> INJECT_ANNOTATION_NAMES = Set.of("javax.inject.Inject", "jakarta.inject.Inject",
+                                                                      "com.google.inject.Inject");
+    private static final Set<String> QUALIFIER_ANNOTATION_NAMES = Set.of("javax.inject.Qualifier",
+                                                                         "jakarta.inject.Qualifier",
+                                                                         "com.google.inject.BindingAnnotation");
 
     private final TypeResolver typeResolver;
 
@@ -252,6 +258,33 @@ public class MethodResolver {
         return List.of(typeResolver.resolveClassFromType(type).getConstructors());
     }
 
+    public Optional<Constructor<?>> findInjectConstructor(Type type) {
+        List<Constructor<?>> injectConstructors = getConstructors(type).stream()
+                                                                       .filter(MethodResolver::isInjectConstructor)
+                                                                       .toList();
+        if (injectConstructors.size() > 1) {
+            throw new IllegalArgumentException("Multiple inject constructors found in %s".formatted(type));
+        }
+
+        return injectConstructors.stream().findFirst();
+    }
+
+    public Optional<Annotation> findQualifier(Parameter parameter) {
+        return Arrays.stream(parameter.getAnnotations())
+                     .filter(annotation -> Arrays.stream(annotation.annotationType().getAnnotations())
+                                                 .map(Annotation::annotationType)
+                                                 .map(Class::getName)
+                                                 .anyMatch(QUALIFIER_ANNOTATION_NAMES::contains))
+                     .findFirst();
+    }
+
+    private static boolean isInjectConstructor(Constructor<?> constructor) {
+        return Arrays.stream(constructor.getAnnotations())
+                     .map(Annotation::annotationType)
+                     .map(Class::getName)
+                     .anyMatch(INJECT_ANNOTATION_NAMES::contains);
+    }
+
     private sealed interface MethodCacheKey {
         record Count(Type receiverType, String methodName, int paramCount) implements MethodCacheKey {}
         record ParamTypes(Type receiverType, String methodName, Type... paramTypes) implements MethodCacheKey {}
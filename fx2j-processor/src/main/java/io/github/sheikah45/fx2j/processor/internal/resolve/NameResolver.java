@@ -3,8 +3,11 @@ package io.github.sheikah45.fx2j.processor.internal.resolve;
 import io.github.sheikah45.fx2j.processor.internal.utils.StringUtils;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class NameResolver {
 
@@ -12,6 +15,7 @@ public class NameResolver {
 
     private final Map<String, Integer> idCounts = new HashMap<>();
     private final Map<String, Type> idTypeMap = new HashMap<>();
+    private final Set<String> providedIds = new LinkedHashSet<>();
 
     NameResolver(TypeResolver typeResolver) {
         this.typeResolver = typeResolver;
@@ -22,11 +26,16 @@ public class NameResolver {
         String rawIdentifier = StringUtils.camelCase(clazz.getSimpleName());
         Integer nameCount = idCounts.compute(rawIdentifier, (key, value) -> value == null ? 0 : value + 1);
         String identifier = rawIdentifier + nameCount;
-        storeIdType(identifier, type);
+        putIdType(identifier, type);
         return identifier;
     }
 
     public void storeIdType(String id, Type type) {
+        putIdType(id, type);
+        providedIds.add(id);
+    }
+
+    private void putIdType(String id, Type type) {
         if (idTypeMap.containsKey(id)) {
             throw new IllegalArgumentException(
                     "Type mapping to %s already exists for id %s".formatted(idTypeMap.get(id), id));
@@ -35,6 +44,33 @@ public class NameResolver {
         idTypeMap.put(id, type);
     }
 
+    public boolean isResolved(String id) {
+        return idTypeMap.containsKey(id);
+    }
+
+    /**
+     * Reserves identifiers declared by code which was not resolved through this resolver, such as the inlined code of
+     * an included view, so they are not handed out again.
+     */
+    public void reserveNames(Collection<String> ids) {
+        ids.forEach(id -> putIdType(id, Object.class));
+    }
+
+    public Set<String> getProvidedIds() {
+        return Set.copyOf(providedIds);
+    }
+
+    public void retainProvidedIds(Set<String> ids) {
+        providedIds.removeIf(id -> {
+            if (ids.contains(id)) {
+                return false;
+            }
+
+            idTypeMap.remove(id);
+            return true;
+        });
+    }
+
     public Type resolveTypeById(String id) {
         return idTypeMap.computeIfAbsent(id, key -> {
             throw new IllegalArgumentException("No type known for id %s".formatted(id));
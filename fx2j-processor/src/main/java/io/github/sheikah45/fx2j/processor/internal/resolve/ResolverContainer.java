@@ -1,5 +1,8 @@
 package io.github.sheikah45.fx2j.processor.internal.resolve;
 
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+
+import java.nio.file.Path;
 import java.util.Set;
 
 public class ResolverContainer {
@@ -9,23 +12,49 @@ public class ResolverContainer {
     private final NameResolver nameResolver;
     private final ValueResolver valueResolver;
     private final ExpressionResolver expressionResolver;
+    private final ConstantResolver constantResolver;
+    private final CellItemResolver cellItemResolver;
+    private final BuildMethodResolver buildMethodResolver;
+    private final EventHandlerResolver eventHandlerResolver;
+    private final SubscriptionResolver subscriptionResolver;
 
     private ResolverContainer(TypeResolver typeResolver, MethodResolver methodResolver, NameResolver nameResolver,
-                              ValueResolver valueResolver, ExpressionResolver expressionResolver) {
+                              ValueResolver valueResolver, ExpressionResolver expressionResolver,
+                              ConstantResolver constantResolver, CellItemResolver cellItemResolver,
+                              BuildMethodResolver buildMethodResolver, EventHandlerResolver eventHandlerResolver,
+                              SubscriptionResolver subscriptionResolver) {
         this.typeResolver = typeResolver;
         this.methodResolver = methodResolver;
         this.nameResolver = nameResolver;
         this.valueResolver = valueResolver;
         this.expressionResolver = expressionResolver;
+        this.constantResolver = constantResolver;
+        this.cellItemResolver = cellItemResolver;
+        this.buildMethodResolver = buildMethodResolver;
+        this.eventHandlerResolver = eventHandlerResolver;
+        this.subscriptionResolver = subscriptionResolver;
     }
 
     public static ResolverContainer from(Set<String> imports, ClassLoader classLoader) {
+        return from(imports, classLoader, null, null, null);
+    }
+
+    public static ResolverContainer from(Set<String> imports, ClassLoader classLoader, TypeValue.Raw.Top builderType,
+                                         Path resourceRootPath, Path relativeFilePath) {
         TypeResolver typeResolver = new TypeResolver(imports, classLoader);
         MethodResolver methodResolver = new MethodResolver(typeResolver);
         NameResolver nameResolver = new NameResolver(typeResolver);
-        ValueResolver valueResolver = new ValueResolver(typeResolver, methodResolver, nameResolver);
+        ConstantResolver constantResolver = new ConstantResolver(typeResolver, builderType, resourceRootPath,
+                                                                 relativeFilePath);
+        ValueResolver valueResolver = new ValueResolver(typeResolver, methodResolver, nameResolver, constantResolver);
         ExpressionResolver expressionResolver = new ExpressionResolver(typeResolver, methodResolver, nameResolver);
-        return new ResolverContainer(typeResolver, methodResolver, nameResolver, valueResolver, expressionResolver);
+        CellItemResolver cellItemResolver = new CellItemResolver(typeResolver, methodResolver, nameResolver);
+        BuildMethodResolver buildMethodResolver = new BuildMethodResolver(constantResolver, expressionResolver);
+        EventHandlerResolver eventHandlerResolver = new EventHandlerResolver();
+        SubscriptionResolver subscriptionResolver = new SubscriptionResolver();
+        return new ResolverContainer(typeResolver, methodResolver, nameResolver, valueResolver, expressionResolver,
+                                     constantResolver, cellItemResolver, buildMethodResolver, eventHandlerResolver,
+                                     subscriptionResolver);
     }
 
     public TypeResolver getTypeResolver() {
@@ -47,4 +76,24 @@ public class ResolverContainer {
     public ExpressionResolver getExpressionResolver() {
         return expressionResolver;
     }
+
+    public ConstantResolver getConstantResolver() {
+        return constantResolver;
+    }
+
+    public CellItemResolver getCellItemResolver() {
+        return cellItemResolver;
+    }
+
+    public BuildMethodResolver getBuildMethodResolver() {
+        return buildMethodResolver;
+    }
+
+    public EventHandlerResolver getEventHandlerResolver() {
+        return eventHandlerResolver;
+    }
+
+    public SubscriptionResolver getSubscriptionResolver() {
+        return subscriptionResolver;
+    }
 }
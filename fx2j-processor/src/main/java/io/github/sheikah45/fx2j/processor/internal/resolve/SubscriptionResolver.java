@@ -0,0 +1,34 @@
+package io.github.sheikah45.fx2j.processor.internal.resolve;
+
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+
+public class SubscriptionResolver {
+
+    public static final String SUBSCRIPTIONS_NAME = "subscriptions";
+    public static final String SUBSCRIPTION_NAME = "subscription";
+
+    private static final String THIS_NAME = "this";
+
+    private int subscriptionCount;
+
+    SubscriptionResolver() {}
+
+    /**
+     * Stores the subscription returned by the subscribe call in the next slot of the subscriptions of the builder,
+     * which are combined into the single subscription of the builder at the end of the build.
+     *
+     * @return the statement storing the subscription
+     */
+    public Statement resolveSubscription(Expression subscribeCall) {
+        Expression.ArrayAccess slot = new Expression.ArrayAccess(
+                CodeValues.fieldAccess(CodeValues.variable(THIS_NAME), SUBSCRIPTIONS_NAME),
+                CodeValues.literal(subscriptionCount++));
+        return CodeValues.assignment(slot, subscribeCall);
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptionCount;
+    }
+}
@@ -9,6 +9,7 @@ import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class TypeResolver {
 
     private final ClassLoader classLoader;
+    private final Set<String> imports;
 
     private final Set<String> importPrefixes = new HashSet<>();
     private final Map<String, Class<?>> resolvedClassesMap = new HashMap<>();
@@ -25,6 +27,7 @@ public class TypeResolver {
 
     TypeResolver(Set<String> imports, ClassLoader classLoader) {
         this.classLoader = classLoader;
+        this.imports = Set.copyOf(imports);
         resolveImports(imports);
     }
 
@@ -53,6 +56,14 @@ public class TypeResolver {
         return clazz;
     }
 
+    /**
+     * Returns whether the type can be found on the classpath, which is used to detect features of the JavaFX version
+     * the views are compiled against.
+     */
+    public boolean isResolvable(String typeName) {
+        return resolvedClassesMap.computeIfAbsent(typeName, this::resolveWithoutCache) != null;
+    }
+
     private Class<?> resolveWithoutCache(String typeName) {
         try {
             return Class.forName(typeName, false, classLoader);
@@ -168,6 +179,10 @@ public class TypeResolver {
         return upperBound != desiredUpperBound;
     }
 
+    public Set<String> getImports() {
+        return imports;
+    }
+
     public ClassLoader getClassLoader() {
         return classLoader;
     }
@@ -204,9 +219,47 @@ public class TypeResolver {
         return resolvedClassMap.computeIfAbsent(type, this::resolveTypeUpperBound);
     }
 
+    /**
+     * Returns the raw type parameterized with the given type arguments, for results whose type arguments are only
+     * known from the view and not from the signature of a method.
+     */
+    public ParameterizedType parameterize(Class<?> rawType, Type... typeArguments) {
+        if (rawType.getTypeParameters().length != typeArguments.length) {
+            throw new IllegalArgumentException(
+                    "Type %s does not have %d type parameters".formatted(rawType, typeArguments.length));
+        }
+
+        return new ResolvedParameterizedType(rawType, List.of(typeArguments));
+    }
+
     public boolean isAssignableFrom(Type baseType, Type checkedType) {
         Class<?> baseClass = resolveClassFromType(baseType);
         Class<?> checkedClass = resolveClassFromType(checkedType);
         return baseClass.isAssignableFrom(checkedClass) || baseClass.isAssignableFrom(wrapType(checkedClass));
     }
+
+    private record ResolvedParameterizedType(Class<?> rawType, List<Type> typeArguments) implements ParameterizedType {
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return typeArguments.toArray(Type[]::new);
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return rawType.getDeclaringClass();
+        }
+
+        @Override
+        public String getTypeName() {
+            return typeArguments.stream()
+                                .map(Type::getTypeName)
+                                .collect(Collectors.joining(", ", rawType.getTypeName() + "<", ">"));
+        }
+    }
 }
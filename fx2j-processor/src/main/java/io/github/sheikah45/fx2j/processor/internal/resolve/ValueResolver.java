@@ -12,10 +12,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.ResourceBundle;
 
 public class ValueResolver {
     static final Map<Class<?>, Object> DEFAULTS_MAP = Map.of(byte.class, 0, short.class, 0, int.class, 0, long.class,
@@ -25,11 +28,23 @@ public class ValueResolver {
     private final TypeResolver typeResolver;
     private final MethodResolver methodResolver;
     private final NameResolver nameResolver;
+    private final ConstantResolver constantResolver;
 
-    ValueResolver(TypeResolver typeResolver, MethodResolver methodResolver, NameResolver nameResolver) {
+    private ResourceBundle resources;
+
+    ValueResolver(TypeResolver typeResolver, MethodResolver methodResolver, NameResolver nameResolver,
+                  ConstantResolver constantResolver) {
         this.typeResolver = typeResolver;
         this.methodResolver = methodResolver;
         this.nameResolver = nameResolver;
+        this.constantResolver = constantResolver;
+    }
+
+    /**
+     * Sets the resource bundle whose strings are inlined into the builder instead of being looked up at runtime.
+     */
+    public void setResources(ResourceBundle resources) {
+        this.resources = resources;
     }
 
     public Expression coerceDefaultValue(NamedArgValue namedArgValue) {
@@ -120,7 +135,8 @@ public class ValueResolver {
             case Float number when Objects.equals(number, Float.NaN) -> CodeValues.fieldAccess(Float.class, "NaN");
             case Enum<?> enumValue -> CodeValues.enumValue(enumValue);
             case Object val when typeResolver.isPrimitive(val.getClass()) -> CodeValues.of(val);
-            default -> CodeValues.methodCall(staticMethod, valueString);
+            default -> constantResolver.resolveImmutableValue(staticMethod.getGenericReturnType(),
+                                                              CodeValues.methodCall(staticMethod, valueString));
         };
     }
 
@@ -135,12 +151,26 @@ public class ValueResolver {
 
                 yield CodeValues.variable(reference);
             }
+            case Value.Resource(String resource) when valueType == String.class && resources != null -> {
+                if (!resources.containsKey(resource)) {
+                    throw new IllegalArgumentException(
+                            "Resource key %s not found in bundle %s for locale %s".formatted(resource,
+                                                                                         resources.getBaseBundleName(),
+                                                                                         resources.getLocale()));
+                }
+
+                yield CodeValues.literal(resources.getString(resource));
+            }
             case Value.Resource(String resource) when valueType == String.class ->
                     new StatementExpression.MethodCall(CodeValues.variable(FxmlProcessor.RESOURCES_NAME), "getString",
                                                        List.of(CodeValues.literal(resource)));
             case Value.Literal(String val) -> resolveCodeValue(valueType, val);
-            case Value.Location ignored ->
-                    throw new UnsupportedOperationException("Location resolution not yet supported");
+            case Value.Location(Path location) when typeResolver.isAssignableFrom(URL.class, valueType) ->
+                    constantResolver.resolveLocation(location);
+            case Value.Location(Path location) when valueType == String.class || valueType == Object.class ->
+                    CodeValues.methodCall(constantResolver.resolveLocation(location), "toExternalForm");
+            case Value.Location ignored -> throw new UnsupportedOperationException(
+                    "Cannot resolve location to type %s".formatted(valueType));
             case Value.Resource ignored -> throw new UnsupportedOperationException(
                     "Non string resource types not supported");
             case BindExpression ignored ->
@@ -0,0 +1,246 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.parser.property.BindExpression;
+import io.github.sheikah45.fx2j.parser.property.Value;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+public class BindExpressionUtils {
+
+    /**
+     * Evaluates all subexpressions which only consist of literals and replaces them with the literal of their value.
+     * Operators follow the semantics of java, where whole numbers within the int range are treated as ints and
+     * fractions as doubles. Subexpressions which cannot be evaluated, like an integer division by zero or operators
+     * with operands of incompatible types, are left as they are.
+     *
+     * @param expression the expression to fold
+     * @return the expression with all constant subexpressions folded
+     */
+    public static BindExpression foldConstants(BindExpression expression) {
+        return switch (expression) {
+            case BindExpression.Null ignored -> expression;
+            case BindExpression.Whole ignored -> expression;
+            case BindExpression.Fraction ignored -> expression;
+            case BindExpression.Boolean ignored -> expression;
+            case BindExpression.String ignored -> expression;
+            case BindExpression.Variable ignored -> expression;
+            case BindExpression.PropertyRead(BindExpression bindExpression, String property) ->
+                    new BindExpression.PropertyRead(foldConstants(bindExpression), property);
+            case BindExpression.MethodCall(
+                    BindExpression bindExpression, String methodName, List<BindExpression> args
+            ) -> new BindExpression.MethodCall(foldConstants(bindExpression), methodName,
+                                               args.stream().map(BindExpressionUtils::foldConstants).toList());
+            case BindExpression.CollectionAccess(BindExpression bindExpression, BindExpression key) ->
+                    new BindExpression.CollectionAccess(foldConstants(bindExpression), foldConstants(key));
+            case BindExpression.Negate(BindExpression bindExpression) -> switch (foldConstants(bindExpression)) {
+                case BindExpression.Whole(long value) when isInt(value) -> new BindExpression.Whole(-(int) value);
+                case BindExpression.Whole(long value) -> new BindExpression.Whole(-value);
+                case BindExpression.Fraction(double value) -> new BindExpression.Fraction(-value);
+                case BindExpression folded -> new BindExpression.Negate(folded);
+            };
+            case BindExpression.Invert(BindExpression bindExpression) -> switch (foldConstants(bindExpression)) {
+                case BindExpression.Boolean(boolean value) -> new BindExpression.Boolean(!value);
+                case BindExpression folded -> new BindExpression.Invert(folded);
+            };
+            case BindExpression.Add(BindExpression left, BindExpression right) -> {
+                BindExpression foldedLeft = foldConstants(left);
+                BindExpression foldedRight = foldConstants(right);
+                if ((foldedLeft instanceof BindExpression.String || foldedRight instanceof BindExpression.String) &&
+                    isLiteral(foldedLeft) && isLiteral(foldedRight)) {
+                    yield new BindExpression.String(toLiteralString(foldedLeft) + toLiteralString(foldedRight));
+                }
+
+                yield foldArithmetic(foldedLeft, foldedRight, BindExpression.Add::new, Integer::sum, Long::sum,
+                                     Double::sum, false);
+            }
+            case BindExpression.Subtract(BindExpression left, BindExpression right) ->
+                    foldArithmetic(foldConstants(left), foldConstants(right), BindExpression.Subtract::new,
+                                   (first, second) -> first - second, (first, second) -> first - second,
+                                   (first, second) -> first - second, false);
+            case BindExpression.Multiply(BindExpression left, BindExpression right) ->
+                    foldArithmetic(foldConstants(left), foldConstants(right), BindExpression.Multiply::new,
+                                   (first, second) -> first * second, (first, second) -> first * second,
+                                   (first, second) -> first * second, false);
+            case BindExpression.Divide(BindExpression left, BindExpression right) ->
+                    foldArithmetic(foldConstants(left), foldConstants(right), BindExpression.Divide::new,
+                                   (first, second) -> first / second, (first, second) -> first / second,
+                                   (first, second) -> first / second, true);
+            case BindExpression.Modulo(BindExpression left, BindExpression right) ->
+                    foldArithmetic(foldConstants(left), foldConstants(right), BindExpression.Modulo::new,
+                                   (first, second) -> first % second, (first, second) -> first % second,
+                                   (first, second) -> first % second, true);
+            case BindExpression.GreaterThan(BindExpression left, BindExpression right) ->
+                    foldComparison(foldConstants(left), foldConstants(right), BindExpression.GreaterThan::new,
+                                   comparison -> comparison > 0);
+            case BindExpression.GreaterThanEqual(BindExpression left, BindExpression right) ->
+                    foldComparison(foldConstants(left), foldConstants(right), BindExpression.GreaterThanEqual::new,
+                                   comparison -> comparison >= 0);
+            case BindExpression.LessThan(BindExpression left, BindExpression right) ->
+                    foldComparison(foldConstants(left), foldConstants(right), BindExpression.LessThan::new,
+                                   comparison -> comparison < 0);
+            case BindExpression.LessThanEqual(BindExpression left, BindExpression right) ->
+                    foldComparison(foldConstants(left), foldConstants(right), BindExpression.LessThanEqual::new,
+                                   comparison -> comparison <= 0);
+            case BindExpression.Equal(BindExpression left, BindExpression right) ->
+                    foldEquality(foldConstants(left), foldConstants(right), BindExpression.Equal::new, true);
+            case BindExpression.NotEqual(BindExpression left, BindExpression right) ->
+                    foldEquality(foldConstants(left), foldConstants(right), BindExpression.NotEqual::new, false);
+            case BindExpression.And(BindExpression left, BindExpression right) -> {
+                BindExpression foldedLeft = foldConstants(left);
+                BindExpression foldedRight = foldConstants(right);
+                if (foldedLeft instanceof BindExpression.Boolean(boolean leftValue) &&
+                    foldedRight instanceof BindExpression.Boolean(boolean rightValue)) {
+                    yield new BindExpression.Boolean(leftValue && rightValue);
+                }
+
+                yield new BindExpression.And(foldedLeft, foldedRight);
+            }
+            case BindExpression.Or(BindExpression left, BindExpression right) -> {
+                BindExpression foldedLeft = foldConstants(left);
+                BindExpression foldedRight = foldConstants(right);
+                if (foldedLeft instanceof BindExpression.Boolean(boolean leftValue) &&
+                    foldedRight instanceof BindExpression.Boolean(boolean rightValue)) {
+                    yield new BindExpression.Boolean(leftValue || rightValue);
+                }
+
+                yield new BindExpression.Or(foldedLeft, foldedRight);
+            }
+        };
+    }
+
+    /**
+     * Converts a non null literal expression into the equivalent static value, so it can be assigned like any other
+     * attribute value instead of being bound.
+     *
+     * @return the static value or an empty optional if the expression is not a non null literal
+     */
+    public static Optional<Value.Literal> toStaticValue(BindExpression expression) {
+        if (expression instanceof BindExpression.Null || !isLiteral(expression)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Value.Literal(toLiteralString(expression)));
+    }
+
+    private static boolean isLiteral(BindExpression expression) {
+        return expression instanceof BindExpression.Null || expression instanceof BindExpression.Whole ||
+               expression instanceof BindExpression.Fraction || expression instanceof BindExpression.Boolean ||
+               expression instanceof BindExpression.String;
+    }
+
+    /**
+     * Converts a literal to the string it contributes to a concatenation. Null is converted to an empty string like the
+     * fluent concat binding does at runtime.
+     */
+    private static String toLiteralString(BindExpression expression) {
+        return switch (expression) {
+            case BindExpression.Whole(long value) -> String.valueOf(value);
+            case BindExpression.Fraction(double value) -> String.valueOf(value);
+            case BindExpression.Boolean(boolean value) -> String.valueOf(value);
+            case BindExpression.String(String value) -> value;
+            case BindExpression.Null ignored -> "";
+            default -> throw new IllegalArgumentException("Expression %s is not a literal".formatted(expression));
+        };
+    }
+
+    private static boolean isInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    private static BindExpression foldArithmetic(BindExpression left, BindExpression right,
+                                                 BinaryOperator<BindExpression> unfolded,
+                                                 IntBinaryOperator intOperation, LongBinaryOperator longOperation,
+                                                 DoubleBinaryOperator doubleOperation, boolean division) {
+        return switch (left) {
+            case BindExpression.Whole(long leftValue) when right instanceof BindExpression.Whole(long rightValue) -> {
+                if (division && rightValue == 0) {
+                    yield unfolded.apply(left, right);
+                }
+
+                if (isInt(leftValue) && isInt(rightValue)) {
+                    yield new BindExpression.Whole(intOperation.applyAsInt((int) leftValue, (int) rightValue));
+                }
+
+                yield new BindExpression.Whole(longOperation.applyAsLong(leftValue, rightValue));
+            }
+            case BindExpression.Whole(long leftValue) when right instanceof BindExpression.Fraction(
+                    double rightValue
+            ) -> new BindExpression.Fraction(doubleOperation.applyAsDouble(leftValue, rightValue));
+            case BindExpression.Fraction(double leftValue) when right instanceof BindExpression.Whole(
+                    long rightValue
+            ) -> new BindExpression.Fraction(doubleOperation.applyAsDouble(leftValue, rightValue));
+            case BindExpression.Fraction(double leftValue) when right instanceof BindExpression.Fraction(
+                    double rightValue
+            ) -> new BindExpression.Fraction(doubleOperation.applyAsDouble(leftValue, rightValue));
+            default -> unfolded.apply(left, right);
+        };
+    }
+
+    private static BindExpression foldComparison(BindExpression left, BindExpression right,
+                                                 BinaryOperator<BindExpression> unfolded,
+                                                 ComparisonPredicate predicate) {
+        Double leftValue = toNumber(left);
+        Double rightValue = toNumber(right);
+        if (leftValue == null || rightValue == null) {
+            return unfolded.apply(left, right);
+        }
+
+        if (left instanceof BindExpression.Whole(long leftWhole) &&
+            right instanceof BindExpression.Whole(long rightWhole)) {
+            return new BindExpression.Boolean(predicate.test(Long.compare(leftWhole, rightWhole)));
+        }
+
+        if (leftValue.isNaN() || rightValue.isNaN()) {
+            return new BindExpression.Boolean(false);
+        }
+
+        return new BindExpression.Boolean(predicate.test(Double.compare(leftValue, rightValue)));
+    }
+
+    private static BindExpression foldEquality(BindExpression left, BindExpression right,
+                                               BinaryOperator<BindExpression> unfolded, boolean equal) {
+        if (left instanceof BindExpression.Whole(long leftValue) &&
+            right instanceof BindExpression.Whole(long rightValue)) {
+            return new BindExpression.Boolean((leftValue == rightValue) == equal);
+        }
+
+        Double leftNumber = toNumber(left);
+        Double rightNumber = toNumber(right);
+        if (leftNumber != null && rightNumber != null) {
+            return new BindExpression.Boolean((leftNumber.doubleValue() == rightNumber.doubleValue()) == equal);
+        }
+
+        boolean comparable = switch (left) {
+            case BindExpression.Boolean ignored -> right instanceof BindExpression.Boolean;
+            case BindExpression.String ignored ->
+                    right instanceof BindExpression.String || right instanceof BindExpression.Null;
+            case BindExpression.Null ignored ->
+                    right instanceof BindExpression.String || right instanceof BindExpression.Null;
+            default -> false;
+        };
+        if (!comparable) {
+            return unfolded.apply(left, right);
+        }
+
+        return new BindExpression.Boolean(Objects.equals(left, right) == equal);
+    }
+
+    private static Double toNumber(BindExpression expression) {
+        return switch (expression) {
+            case BindExpression.Whole(long value) -> (double) value;
+            case BindExpression.Fraction(double value) -> value;
+            default -> null;
+        };
+    }
+
+    @FunctionalInterface
+    private interface ComparisonPredicate {
+        boolean test(int comparison);
+    }
+}
@@ -0,0 +1,316 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.processor.internal.code.BlockStatement;
+import io.github.sheikah45.fx2j.processor.internal.code.Declarator;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Literal;
+import io.github.sheikah45.fx2j.processor.internal.code.Parameter;
+import io.github.sheikah45.fx2j.processor.internal.code.Resource;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+
+public class CodeAnalysisUtils {
+
+    /**
+     * Estimates the bytecode size of the statements. Lambda bodies are excluded as they are compiled into their own
+     * synthetic methods.
+     */
+    public static int estimateBytecodeSize(List<? extends Statement> statements) {
+        return statements.stream().mapToInt(CodeAnalysisUtils::estimateStatementSize).sum();
+    }
+
+    private static int estimateStatementSize(Statement statement) {
+        return switch (statement) {
+            case Statement.LineBreak() -> 0;
+            case StatementExpression.Empty() -> 0;
+            case Statement.Declaration(TypeValue.Declarable ignored, List<? extends Declarator> declarators) ->
+                    declarators.stream().mapToInt(CodeAnalysisUtils::estimateDeclaratorSize).sum();
+            case StatementExpression statementExpression -> estimateExpressionSize(statementExpression) + 1;
+            case Statement.Return.Value(Expression value) -> estimateExpressionSize(value) + 1;
+            case Statement.Return.Void() -> 1;
+            case Statement.Throw(Expression exception) -> estimateExpressionSize(exception) + 1;
+            case Statement.Break ignored -> 3;
+            case Statement.Continue ignored -> 3;
+            case BlockStatement.For(BlockStatement.For.Type forType, BlockStatement.Block body) ->
+                    estimateForTypeSize(forType) + estimateBytecodeSize(body.statements()) + 6;
+            case BlockStatement.Try(
+                    List<Resource> resources, BlockStatement.Block body, List<BlockStatement.Try.Catch> catchBlocks,
+                    BlockStatement.Block finallyBlock
+            ) -> resources.stream().mapToInt(CodeAnalysisUtils::estimateResourceSize).sum() +
+                 estimateBytecodeSize(body.statements()) + catchBlocks.stream()
+                                                                      .mapToInt(catchBlock -> estimateBytecodeSize(
+                                                                              catchBlock.body().statements()) + 5)
+                                                                      .sum() +
+                 2 * estimateBytecodeSize(finallyBlock.statements()) + 3;
+        };
+    }
+
+    private static int estimateDeclaratorSize(Declarator declarator) {
+        return switch (declarator) {
+            case Expression.Variable ignored -> 0;
+            case StatementExpression.Assignment<?>(Expression.Assignable ignored, Expression value) ->
+                    estimateExpressionSize(value) + 2;
+        };
+    }
+
+    private static int estimateResourceSize(Resource resource) {
+        return switch (resource) {
+            case Expression.Variable ignored -> 2;
+            case Resource.ResourceDeclaration(TypeValue.Declarable ignored1, String ignored2, Expression initializer) ->
+                    estimateExpressionSize(initializer) + 2;
+        };
+    }
+
+    private static int estimateForTypeSize(BlockStatement.For.Type forType) {
+        return switch (forType) {
+            case BlockStatement.For.BasicDeclaration(
+                    Statement.Declaration initializer, Expression termination, List<? extends Expression> incrementors
+            ) -> estimateStatementSize(initializer) + estimateExpressionSize(termination) + estimateSum(incrementors);
+            case BlockStatement.For.BasicStatementExpression(
+                    List<? extends StatementExpression> statementExpressions, Expression termination,
+                    List<? extends Expression> incrementors
+            ) -> estimateSum(statementExpressions) + estimateExpressionSize(termination) + estimateSum(incrementors);
+            case BlockStatement.For.Enhanced(Parameter ignored, Expression parameters) ->
+                    estimateExpressionSize(parameters) + 12;
+        };
+    }
+
+    private static int estimateExpressionSize(Expression expression) {
+        return switch (expression) {
+            case Literal.Null() -> 1;
+            case Literal.Bool ignored -> 1;
+            case Literal literal -> 3;
+            case Expression.Variable ignored -> 2;
+            case Expression.Type ignored -> 0;
+            case Expression.Enum ignored -> 3;
+            case Expression.FieldAccess(Expression receiver, String ignored) -> estimateExpressionSize(receiver) + 3;
+            case Expression.ArrayAccess(Expression receiver, Expression accessor) ->
+                    estimateExpressionSize(receiver) + estimateExpressionSize(accessor) + 1;
+            case Expression.Array.Declared(TypeValue.Declarable ignored, List<? extends Expression> values) ->
+                    values.stream().mapToInt(value -> estimateExpressionSize(value) + 4).sum() + 5;
+            case Expression.Array.Sized ignored -> 5;
+            case Expression.Lambda.MethodReference(Expression receiver, String ignored) ->
+                    estimateExpressionSize(receiver) + 5;
+            case Expression.Lambda.Arrow ignored -> 5;
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator ignored, Expression right
+            ) -> estimateExpressionSize(left) + estimateExpressionSize(right) + 1;
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator ignored, Expression operand) ->
+                    estimateExpressionSize(operand) + 1;
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) ->
+                    estimateExpressionSize(condition) + estimateExpressionSize(whenTrue) +
+                    estimateExpressionSize(whenFalse) + 6;
+            case StatementExpression.Empty() -> 0;
+            case StatementExpression.NewInstance(TypeValue.Declarable ignored, List<? extends Expression> args) ->
+                    estimateSum(args) + 7;
+            case StatementExpression.MethodCall(
+                    Expression receiver, String ignored, List<? extends Expression> args
+            ) -> estimateExpressionSize(receiver) + estimateSum(args) + 3;
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) ->
+                    estimateExpressionSize(receiver) + estimateExpressionSize(value);
+            case StatementExpression.PreIncrement(Expression.Assignable receiver) ->
+                    estimateExpressionSize(receiver) + 3;
+            case StatementExpression.PostIncrement(Expression.Assignable receiver) ->
+                    estimateExpressionSize(receiver) + 3;
+            case StatementExpression.PreDecrement(Expression.Assignable receiver) ->
+                    estimateExpressionSize(receiver) + 3;
+            case StatementExpression.PostDecrement(Expression.Assignable receiver) ->
+                    estimateExpressionSize(receiver) + 3;
+        };
+    }
+
+    private static int estimateSum(Collection<? extends Expression> expressions) {
+        return expressions.stream().mapToInt(CodeAnalysisUtils::estimateExpressionSize).sum();
+    }
+
+    /**
+     * Collects the identifiers of all local variables, lambda parameters and exception parameters declared in the
+     * statements including nested blocks and lambda bodies.
+     */
+    public static SequencedSet<String> collectDeclaredIdentifiers(List<? extends Statement> statements) {
+        SequencedSet<String> identifiers = new LinkedHashSet<>();
+        visitStatements(statements, identifiers, new LinkedHashSet<>());
+        return identifiers;
+    }
+
+    /**
+     * Collects the identifiers of all variables referenced in the statements including nested blocks and lambda
+     * bodies.
+     */
+    public static SequencedSet<String> collectReferencedIdentifiers(List<? extends Statement> statements) {
+        SequencedSet<String> identifiers = new LinkedHashSet<>();
+        visitStatements(statements, new LinkedHashSet<>(), identifiers);
+        return identifiers;
+    }
+
+    /**
+     * Counts how often each variable is referenced in the statements including nested blocks and lambda bodies.
+     */
+    public static Map<String, Integer> countReferences(List<? extends Statement> statements) {
+        List<String> references = new ArrayList<>();
+        visitStatements(statements, new ArrayList<>(), references);
+        Map<String, Integer> counts = new HashMap<>();
+        references.forEach(identifier -> counts.merge(identifier, 1, Integer::sum));
+        return counts;
+    }
+
+    public static SequencedSet<String> collectReferencedIdentifiers(Expression expression) {
+        SequencedSet<String> identifiers = new LinkedHashSet<>();
+        visitExpression(expression, new LinkedHashSet<>(), identifiers);
+        return identifiers;
+    }
+
+    private static void visitStatements(List<? extends Statement> statements, Collection<String> declared,
+                                        Collection<String> referenced) {
+        statements.forEach(statement -> visitStatement(statement, declared, referenced));
+    }
+
+    private static void visitStatement(Statement statement, Collection<String> declared,
+                                       Collection<String> referenced) {
+        switch (statement) {
+            case Statement.LineBreak() -> {}
+            case Statement.Break ignored -> {}
+            case Statement.Continue ignored -> {}
+            case Statement.Return.Void() -> {}
+            case Statement.Return.Value(Expression value) -> visitExpression(value, declared, referenced);
+            case Statement.Throw(Expression exception) -> visitExpression(exception, declared, referenced);
+            case Statement.Declaration(TypeValue.Declarable ignored, List<? extends Declarator> declarators) ->
+                    declarators.forEach(declarator -> {
+                        switch (declarator) {
+                            case Expression.Variable(String identifier) -> declared.add(identifier);
+                            case StatementExpression.Assignment<?>(
+                                    Expression.Assignable receiver, Expression value
+                            ) -> {
+                                if (receiver instanceof Expression.Variable(String identifier)) {
+                                    declared.add(identifier);
+                                } else {
+                                    visitExpression(receiver, declared, referenced);
+                                }
+                                visitExpression(value, declared, referenced);
+                            }
+                        }
+                    });
+            case StatementExpression statementExpression ->
+                    visitExpression(statementExpression, declared, referenced);
+            case BlockStatement.For(BlockStatement.For.Type forType, BlockStatement.Block body) -> {
+                switch (forType) {
+                    case BlockStatement.For.BasicDeclaration(
+                            Statement.Declaration initializer, Expression termination,
+                            List<? extends Expression> incrementors
+                    ) -> {
+                        visitStatement(initializer, declared, referenced);
+                        visitExpression(termination, declared, referenced);
+                        incrementors.forEach(incrementor -> visitExpression(incrementor, declared, referenced));
+                    }
+                    case BlockStatement.For.BasicStatementExpression(
+                            List<? extends StatementExpression> statementExpressions, Expression termination,
+                            List<? extends Expression> incrementors
+                    ) -> {
+                        statementExpressions.forEach(expression -> visitExpression(expression, declared, referenced));
+                        visitExpression(termination, declared, referenced);
+                        incrementors.forEach(incrementor -> visitExpression(incrementor, declared, referenced));
+                    }
+                    case BlockStatement.For.Enhanced(Parameter loopParameter, Expression parameters) -> {
+                        declared.add(loopParameter.identifier());
+                        visitExpression(parameters, declared, referenced);
+                    }
+                }
+                visitStatements(body.statements(), declared, referenced);
+            }
+            case BlockStatement.Try(
+                    List<Resource> resources, BlockStatement.Block body, List<BlockStatement.Try.Catch> catchBlocks,
+                    BlockStatement.Block finallyBlock
+            ) -> {
+                resources.forEach(resource -> {
+                    switch (resource) {
+                        case Expression.Variable(String identifier) -> referenced.add(identifier);
+                        case Resource.ResourceDeclaration(
+                                TypeValue.Declarable ignored, String identifier, Expression initializer
+                        ) -> {
+                            declared.add(identifier);
+                            visitExpression(initializer, declared, referenced);
+                        }
+                    }
+                });
+                visitStatements(body.statements(), declared, referenced);
+                catchBlocks.forEach(catchBlock -> {
+                    declared.add(catchBlock.identifier());
+                    visitStatements(catchBlock.body().statements(), declared, referenced);
+                });
+                visitStatements(finallyBlock.statements(), declared, referenced);
+            }
+        }
+    }
+
+    private static void visitExpression(Expression expression, Collection<String> declared,
+                                        Collection<String> referenced) {
+        switch (expression) {
+            case Literal ignored -> {}
+            case Expression.Type ignored -> {}
+            case Expression.Enum ignored -> {}
+            case Expression.Array.Sized ignored -> {}
+            case StatementExpression.Empty() -> {}
+            case Expression.Variable(String identifier) -> referenced.add(identifier);
+            case Expression.FieldAccess(Expression receiver, String ignored) ->
+                    visitExpression(receiver, declared, referenced);
+            case Expression.ArrayAccess(Expression receiver, Expression accessor) -> {
+                visitExpression(receiver, declared, referenced);
+                visitExpression(accessor, declared, referenced);
+            }
+            case Expression.Array.Declared(TypeValue.Declarable ignored, List<? extends Expression> values) ->
+                    values.forEach(value -> visitExpression(value, declared, referenced));
+            case Expression.Lambda.MethodReference(Expression receiver, String ignored) ->
+                    visitExpression(receiver, declared, referenced);
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator ignored, Expression right
+            ) -> {
+                visitExpression(left, declared, referenced);
+                visitExpression(right, declared, referenced);
+            }
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator ignored, Expression operand) ->
+                    visitExpression(operand, declared, referenced);
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) -> {
+                visitExpression(condition, declared, referenced);
+                visitExpression(whenTrue, declared, referenced);
+                visitExpression(whenFalse, declared, referenced);
+            }
+            case Expression.Lambda.Arrow.Typed(List<Parameter> parameters, BlockStatement.Block body) -> {
+                parameters.stream().map(Parameter::identifier).forEach(declared::add);
+                visitStatements(body.statements(), declared, referenced);
+            }
+            case Expression.Lambda.Arrow.Untyped(List<String> parameters, BlockStatement.Block body) -> {
+                declared.addAll(parameters);
+                visitStatements(body.statements(), declared, referenced);
+            }
+            case StatementExpression.NewInstance(TypeValue.Declarable ignored, List<? extends Expression> args) ->
+                    args.forEach(arg -> visitExpression(arg, declared, referenced));
+            case StatementExpression.MethodCall(
+                    Expression receiver, String ignored, List<? extends Expression> args
+            ) -> {
+                visitExpression(receiver, declared, referenced);
+                args.forEach(arg -> visitExpression(arg, declared, referenced));
+            }
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) -> {
+                visitExpression(receiver, declared, referenced);
+                visitExpression(value, declared, referenced);
+            }
+            case StatementExpression.PreIncrement(Expression.Assignable receiver) ->
+                    visitExpression(receiver, declared, referenced);
+            case StatementExpression.PostIncrement(Expression.Assignable receiver) ->
+                    visitExpression(receiver, declared, referenced);
+            case StatementExpression.PreDecrement(Expression.Assignable receiver) ->
+                    visitExpression(receiver, declared, referenced);
+            case StatementExpression.PostDecrement(Expression.Assignable receiver) ->
+                    visitExpression(receiver, declared, referenced);
+        }
+    }
+}
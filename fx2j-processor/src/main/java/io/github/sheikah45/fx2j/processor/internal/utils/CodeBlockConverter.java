@@ -21,7 +21,7 @@ import java.util.List;
 
 public class CodeBlockConverter {
 
-    private static TypeName convertToTypeName(TypeValue type) {
+    public static TypeName convertToTypeName(TypeValue type) {
         return switch (type) {
             case TypeValue.Raw.Primitive(String primitive) -> convertPrimitiveToTypeName(primitive);
             case TypeValue.Raw.Array array -> convertToArrayName(array);
@@ -140,10 +140,30 @@ public class CodeBlockConverter {
             case Expression.ArrayAccess(Expression receiver, Expression accessor) ->
                     CodeBlock.of("$L[$L]", convertExpressionToCodeBlock(receiver),
                                  convertExpressionToCodeBlock(accessor));
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator operator, Expression right
+            ) -> CodeBlock.of("$L $L $L", convertOperandToCodeBlock(left), operator.symbol(),
+                              convertOperandToCodeBlock(right));
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator operator, Expression operand) -> {
+                CodeBlock operandBlock = convertOperandToCodeBlock(operand);
+                yield CodeBlock.of(operand instanceof Literal ? "$L($L)" : "$L$L", operator.symbol(), operandBlock);
+            }
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) ->
+                    CodeBlock.of("$L ? $L : $L", convertOperandToCodeBlock(condition),
+                                 convertOperandToCodeBlock(whenTrue), convertOperandToCodeBlock(whenFalse));
             case StatementExpression statementExpression -> convertStatementExpressionToCodeBlock(statementExpression);
         };
     }
 
+    /**
+     * Nested operations are always parenthesized so the generated code evaluates in the order of the expression tree
+     * regardless of operator precedence.
+     */
+    private static CodeBlock convertOperandToCodeBlock(Expression operand) {
+        CodeBlock operandBlock = convertExpressionToCodeBlock(operand);
+        return operand instanceof Expression.Operation ? CodeBlock.of("($L)", operandBlock) : operandBlock;
+    }
+
     private static CodeBlock convertToLambda(CodeBlock paramBlock, List<? extends Statement> body) {
         if (body.isEmpty()) {
             return CodeBlock.of("($L) -> {}", paramBlock);
@@ -0,0 +1,342 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.processor.internal.code.Declarator;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Literal;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class CodeOptimizationUtils {
+
+    private static final Pattern ACCESSOR_PATTERN = Pattern.compile("(get|is)[A-Z].*|.+Property");
+
+    private enum Use {PENDING, FOUND, BLOCKED}
+
+    /**
+     * Removes the declarations of unused local variables whose initializers are free of side effects and inlines
+     * variables which are used only once into their use site. A variable is only inlined if doing so does not change
+     * the order of evaluations with side effects, so it is either a constant value or used by the directly following
+     * statement before anything with side effects is evaluated there. Zero argument getters and property accessors
+     * called on declared local variables are considered free of side effects.
+     *
+     * @param statements      the top level statements of a method body
+     * @param liveIdentifiers the identifiers used after the statements which must be kept
+     * @return the optimized statements
+     */
+    public static List<Statement> optimize(List<? extends Statement> statements, Set<String> liveIdentifiers) {
+        List<Statement> optimized = new ArrayList<>(statements);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Map<String, Integer> referenceCounts = CodeAnalysisUtils.countReferences(optimized);
+            Map<String, TypeValue.Declarable> declaredTypes = collectDeclaredTypes(optimized);
+            for (int i = optimized.size() - 1; i >= 0; i--) {
+                if (!(optimized.get(i) instanceof Statement.Declaration(
+                        TypeValue.Declarable type, List<? extends Declarator> declarators
+                )) || declarators.size() != 1) {
+                    continue;
+                }
+
+                String identifier = declaredIdentifier(declarators.getFirst());
+                if (identifier == null || liveIdentifiers.contains(identifier)) {
+                    continue;
+                }
+
+                Expression initializer = declaredInitializer(declarators.getFirst());
+                int referenceCount = referenceCounts.getOrDefault(identifier, 0);
+                if (referenceCount == 0 && (initializer == null || isSideEffectFree(initializer, declaredTypes))) {
+                    optimized.remove(i);
+                    changed = true;
+                } else if (referenceCount == 1 && initializer != null &&
+                           isInlineable(type, initializer, declaredTypes) &&
+                           inlineDeclaration(optimized, i, identifier, initializer)) {
+                    changed = true;
+                }
+            }
+        }
+
+        return optimized;
+    }
+
+    private static boolean inlineDeclaration(List<Statement> statements, int declarationIndex, String identifier,
+                                             Expression initializer) {
+        boolean constant = isConstant(initializer);
+        for (int i = declarationIndex + 1; i < statements.size(); i++) {
+            Statement statement = statements.get(i);
+            if (statement instanceof Statement.LineBreak) {
+                continue;
+            }
+
+            Use use = findUse(statement, identifier);
+            if (use == Use.FOUND) {
+                statements.set(i, replaceVariable(statement, identifier, initializer));
+                statements.remove(declarationIndex);
+                return true;
+            }
+
+            boolean referenced = CodeAnalysisUtils.collectReferencedIdentifiers(List.of(statement))
+                                                  .contains(identifier);
+            if (referenced || !constant) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    private static Map<String, TypeValue.Declarable> collectDeclaredTypes(List<Statement> statements) {
+        Map<String, TypeValue.Declarable> declaredTypes = new HashMap<>();
+        for (Statement statement : statements) {
+            if (statement instanceof Statement.Declaration(
+                    TypeValue.Declarable type, List<? extends Declarator> declarators
+            )) {
+                declarators.stream()
+                           .map(CodeOptimizationUtils::declaredIdentifier)
+                           .filter(Objects::nonNull)
+                           .forEach(identifier -> declaredTypes.put(identifier, type));
+            }
+        }
+
+        return declaredTypes;
+    }
+
+    private static String declaredIdentifier(Declarator declarator) {
+        return switch (declarator) {
+            case Expression.Variable(String identifier) -> identifier;
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression ignored) ->
+                    receiver instanceof Expression.Variable(String identifier) ? identifier : null;
+        };
+    }
+
+    private static Expression declaredInitializer(Declarator declarator) {
+        return switch (declarator) {
+            case Expression.Variable ignored -> null;
+            case StatementExpression.Assignment<?>(Expression.Assignable ignored, Expression value) -> value;
+        };
+    }
+
+    /**
+     * Only expressions whose static type is known to match the declared type are inlined so overload resolution at the
+     * use site is unchanged.
+     */
+    private static boolean isInlineable(TypeValue.Declarable type, Expression initializer,
+                                        Map<String, TypeValue.Declarable> declaredTypes) {
+        return switch (initializer) {
+            case Literal.Str ignored -> type.equals(TypeValues.of(String.class));
+            case Literal.Bool ignored -> type.equals(TypeValues.of(boolean.class));
+            case Literal.Int ignored -> type.equals(TypeValues.of(int.class));
+            case Literal.Double ignored -> type.equals(TypeValues.of(double.class));
+            case Literal ignored -> false;
+            case StatementExpression.NewInstance(
+                    TypeValue.Declarable instanceType, List<? extends Expression> ignored
+            ) -> instanceType.equals(type) && !(type instanceof TypeValue.Parameterized);
+            case Expression.Enum(Enum<?> value) -> type.equals(TypeValues.of(value.getDeclaringClass()));
+            case Expression.Variable(String identifier) -> type.equals(declaredTypes.get(identifier));
+            default -> false;
+        };
+    }
+
+    private static boolean isConstant(Expression expression) {
+        return switch (expression) {
+            case Literal ignored -> true;
+            case Expression.Enum ignored -> true;
+            case Expression.Variable ignored -> true;
+            case Expression.FieldAccess(Expression.Type ignored, String field) -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isSideEffectFree(Expression expression, Map<String, TypeValue.Declarable> declaredTypes) {
+        return switch (expression) {
+            case Literal ignored -> true;
+            case Expression.Variable ignored -> true;
+            case Expression.Type ignored -> true;
+            case Expression.Enum ignored -> true;
+            case Expression.Array.Sized ignored -> true;
+            case Expression.Lambda.Arrow ignored -> true;
+            case Expression.Lambda.MethodReference(Expression receiver, String ignored) ->
+                    isSideEffectFree(receiver, declaredTypes);
+            case Expression.FieldAccess(Expression receiver, String ignored) ->
+                    isSideEffectFree(receiver, declaredTypes);
+            case Expression.Array.Declared(TypeValue.Declarable ignored, List<? extends Expression> values) ->
+                    values.stream().allMatch(value -> isSideEffectFree(value, declaredTypes));
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator ignored, Expression right
+            ) -> isSideEffectFree(left, declaredTypes) && isSideEffectFree(right, declaredTypes);
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator ignored, Expression operand) ->
+                    isSideEffectFree(operand, declaredTypes);
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) ->
+                    isSideEffectFree(condition, declaredTypes) && isSideEffectFree(whenTrue, declaredTypes) &&
+                    isSideEffectFree(whenFalse, declaredTypes);
+            case StatementExpression.MethodCall(
+                    Expression.Variable(String receiver), String methodName, List<? extends Expression> args
+            ) when args.isEmpty() -> isAccessor(methodName) && declaredTypes.containsKey(receiver);
+            default -> false;
+        };
+    }
+
+    private static boolean isAccessor(String methodName) {
+        return ACCESSOR_PATTERN.matcher(methodName).matches();
+    }
+
+    private static Use findUse(Statement statement, String identifier) {
+        return switch (statement) {
+            case Statement.Declaration(TypeValue.Declarable ignored, List<? extends Declarator> declarators) -> {
+                for (Declarator declarator : declarators) {
+                    Expression initializer = declaredInitializer(declarator);
+                    Use use = initializer == null ? Use.PENDING : findUse(initializer, identifier);
+                    if (use != Use.PENDING) {
+                        yield use;
+                    }
+                }
+                yield Use.PENDING;
+            }
+            case StatementExpression statementExpression -> findUse((Expression) statementExpression, identifier);
+            default -> Use.BLOCKED;
+        };
+    }
+
+    /**
+     * Follows the evaluation order of the expression to find the use of the identifier. The search is blocked if an
+     * evaluation with side effects happens before the use or the use is inside a lambda body.
+     */
+    private static Use findUse(Expression expression, String identifier) {
+        return switch (expression) {
+            case Expression.Variable(String referenced) -> referenced.equals(identifier) ? Use.FOUND : Use.PENDING;
+            case Literal ignored -> Use.PENDING;
+            case Expression.Type ignored -> Use.PENDING;
+            case Expression.Enum ignored -> Use.PENDING;
+            case Expression.Array.Sized ignored -> Use.PENDING;
+            case StatementExpression.Empty() -> Use.PENDING;
+            case Expression.Lambda.Arrow arrow ->
+                    CodeAnalysisUtils.collectReferencedIdentifiers(arrow).contains(identifier) ?
+                    Use.BLOCKED :
+                    Use.PENDING;
+            case Expression.Lambda.MethodReference(Expression receiver, String ignored) ->
+                    findUse(receiver, identifier);
+            case Expression.FieldAccess(Expression receiver, String ignored) -> findUse(receiver, identifier);
+            case Expression.ArrayAccess(Expression receiver, Expression accessor) ->
+                    findFirstUse(List.of(receiver, accessor), identifier);
+            case Expression.Array.Declared(TypeValue.Declarable ignored, List<? extends Expression> values) ->
+                    findFirstUse(values, identifier);
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator ignored, Expression right
+            ) -> findFirstUse(List.of(left, right), identifier);
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator ignored, Expression operand) ->
+                    findUse(operand, identifier);
+            case Expression.Operation.Ternary(Expression condition, Expression ignored1, Expression ignored2) ->
+                    blockIfPending(findUse(condition, identifier));
+            case StatementExpression.NewInstance(TypeValue.Declarable ignored, List<? extends Expression> args) ->
+                    blockIfPending(findFirstUse(args, identifier));
+            case StatementExpression.MethodCall(
+                    Expression receiver, String methodName, List<? extends Expression> args
+            ) -> {
+                List<Expression> evaluated = new ArrayList<>();
+                evaluated.add(receiver);
+                evaluated.addAll(args);
+                Use use = findFirstUse(evaluated, identifier);
+                yield args.isEmpty() && isAccessor(methodName) ? use : blockIfPending(use);
+            }
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) -> {
+                Use use = receiver instanceof Expression.Variable ? Use.PENDING : findUse(receiver, identifier);
+                yield blockIfPending(use == Use.PENDING ? findUse(value, identifier) : use);
+            }
+            case StatementExpression.PreIncrement ignored -> Use.BLOCKED;
+            case StatementExpression.PostIncrement ignored -> Use.BLOCKED;
+            case StatementExpression.PreDecrement ignored -> Use.BLOCKED;
+            case StatementExpression.PostDecrement ignored -> Use.BLOCKED;
+        };
+    }
+
+    private static Use findFirstUse(List<? extends Expression> expressions, String identifier) {
+        for (Expression expression : expressions) {
+            Use use = findUse(expression, identifier);
+            if (use != Use.PENDING) {
+                return use;
+            }
+        }
+
+        return Use.PENDING;
+    }
+
+    private static Use blockIfPending(Use use) {
+        return use == Use.PENDING ? Use.BLOCKED : use;
+    }
+
+    private static Statement replaceVariable(Statement statement, String identifier, Expression replacement) {
+        return switch (statement) {
+            case Statement.Declaration(TypeValue.Declarable type, List<? extends Declarator> declarators) ->
+                    new Statement.Declaration(type, declarators.stream()
+                                                               .map(declarator -> replaceVariable(declarator,
+                                                                                                  identifier,
+                                                                                                  replacement))
+                                                               .toList());
+            case StatementExpression statementExpression ->
+                    (Statement) replaceVariable((Expression) statementExpression, identifier, replacement);
+            default -> statement;
+        };
+    }
+
+    private static Declarator replaceVariable(Declarator declarator, String identifier, Expression replacement) {
+        return switch (declarator) {
+            case Expression.Variable variable -> variable;
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) ->
+                    new StatementExpression.Assignment<>(receiver, replaceVariable(value, identifier, replacement));
+        };
+    }
+
+    private static Expression replaceVariable(Expression expression, String identifier, Expression replacement) {
+        return switch (expression) {
+            case Expression.Variable(String referenced) when referenced.equals(identifier) -> replacement;
+            case Expression.FieldAccess(Expression receiver, String field) ->
+                    new Expression.FieldAccess(replaceVariable(receiver, identifier, replacement), field);
+            case Expression.ArrayAccess(Expression receiver, Expression accessor) ->
+                    new Expression.ArrayAccess(replaceVariable(receiver, identifier, replacement),
+                                               replaceVariable(accessor, identifier, replacement));
+            case Expression.Array.Declared(TypeValue.Declarable componentType, List<? extends Expression> values) ->
+                    new Expression.Array.Declared(componentType, replaceVariables(values, identifier, replacement));
+            case Expression.Lambda.MethodReference(Expression receiver, String methodName) ->
+                    new Expression.Lambda.MethodReference(replaceVariable(receiver, identifier, replacement),
+                                                          methodName);
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator operator, Expression right
+            ) -> new Expression.Operation.Binary(replaceVariable(left, identifier, replacement), operator,
+                                                 replaceVariable(right, identifier, replacement));
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator operator, Expression operand) ->
+                    new Expression.Operation.Unary(operator, replaceVariable(operand, identifier, replacement));
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) ->
+                    new Expression.Operation.Ternary(replaceVariable(condition, identifier, replacement),
+                                                     replaceVariable(whenTrue, identifier, replacement),
+                                                     replaceVariable(whenFalse, identifier, replacement));
+            case StatementExpression.NewInstance(TypeValue.Declarable type, List<? extends Expression> args) ->
+                    new StatementExpression.NewInstance(type, replaceVariables(args, identifier, replacement));
+            case StatementExpression.MethodCall(
+                    Expression receiver, String methodName, List<? extends Expression> args
+            ) -> new StatementExpression.MethodCall(replaceVariable(receiver, identifier, replacement), methodName,
+                                                       replaceVariables(args, identifier, replacement));
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value)
+                    when !(receiver instanceof Expression.Variable) ->
+                    new StatementExpression.Assignment<>(
+                            (Expression.Assignable) replaceVariable(receiver, identifier, replacement),
+                            replaceVariable(value, identifier, replacement));
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) ->
+                    new StatementExpression.Assignment<>(receiver, replaceVariable(value, identifier, replacement));
+            default -> expression;
+        };
+    }
+
+    private static List<Expression> replaceVariables(List<? extends Expression> expressions, String identifier,
+                                                     Expression replacement) {
+        return expressions.stream().map(expression -> replaceVariable(expression, identifier, replacement)).toList();
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.processor.internal.code.BlockStatement;
+import io.github.sheikah45.fx2j.processor.internal.code.Declarator;
+import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.Literal;
+import io.github.sheikah45.fx2j.processor.internal.code.Parameter;
+import io.github.sheikah45.fx2j.processor.internal.code.Resource;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class CodeRenameUtils {
+
+    /**
+     * Renames all declarations of and references to the given identifiers in the statements including nested blocks
+     * and lambda bodies. Field and method names are left as they are.
+     *
+     * @param statements the statements to rename the identifiers in
+     * @param renames    the new identifier for each identifier to rename
+     * @return the statements with the identifiers renamed
+     */
+    public static List<Statement> renameIdentifiers(List<? extends Statement> statements, Map<String, String> renames) {
+        return renameStatements(statements, new Renames(renames, Map.of(), literal -> literal));
+    }
+
+    /**
+     * Replaces all literals in the statements including nested blocks and lambda bodies. The literals are visited in
+     * the order they appear in the code.
+     *
+     * @param statements  the statements to replace the literals in
+     * @param replacement the function providing the expression each literal is replaced with
+     * @return the statements with the literals replaced
+     */
+    public static List<Statement> replaceLiterals(List<? extends Statement> statements,
+                                                  Function<Literal, Expression> replacement) {
+        return renameStatements(statements, new Renames(Map.of(), Map.of(), replacement));
+    }
+
+    /**
+     * Renames all references to the given identifiers in the expression and replaces the given types where they are
+     * used as the receiver of a static member access, such as {@code Builder.class}.
+     *
+     * @param expression  the expression to rename the identifiers in
+     * @param renames     the new identifier for each identifier to rename
+     * @param typeRenames the new type for each receiver type to replace
+     * @return the expression with the identifiers and types renamed
+     */
+    public static Expression renameIdentifiers(Expression expression, Map<String, String> renames,
+                                               Map<TypeValue, TypeValue> typeRenames) {
+        return renameExpression(expression, new Renames(renames, typeRenames, literal -> literal));
+    }
+
+    private static List<Statement> renameStatements(List<? extends Statement> statements, Renames renames) {
+        return statements.stream().map(statement -> renameStatement(statement, renames)).toList();
+    }
+
+    private static Statement renameStatement(Statement statement, Renames renames) {
+        return switch (statement) {
+            case Statement.LineBreak lineBreak -> lineBreak;
+            case Statement.Break breakStatement -> breakStatement;
+            case Statement.Continue continueStatement -> continueStatement;
+            case Statement.Return.Void returnStatement -> returnStatement;
+            case Statement.Return.Value(Expression value) ->
+                    new Statement.Return.Value(renameExpression(value, renames));
+            case Statement.Throw(Expression exception) -> new Statement.Throw(renameExpression(exception, renames));
+            case Statement.Declaration declaration -> renameDeclaration(declaration, renames);
+            case StatementExpression statementExpression ->
+                    (Statement) renameExpression(statementExpression, renames);
+            case BlockStatement.For(BlockStatement.For.Type forType, BlockStatement.Block body) ->
+                    new BlockStatement.For(renameForType(forType, renames), renameBlock(body, renames));
+            case BlockStatement.Try(
+                    List<Resource> resources, BlockStatement.Block body, List<BlockStatement.Try.Catch> catchBlocks,
+                    BlockStatement.Block finallyBlock
+            ) -> new BlockStatement.Try(
+                    resources.stream().map(resource -> renameResource(resource, renames)).toList(),
+                    renameBlock(body, renames),
+                    catchBlocks.stream().map(catchBlock -> renameCatch(catchBlock, renames)).toList(),
+                    renameBlock(finallyBlock, renames));
+        };
+    }
+
+    private static Statement.Declaration renameDeclaration(Statement.Declaration declaration, Renames renames) {
+        return new Statement.Declaration(declaration.type(), declaration.declarators()
+                                                                         .stream()
+                                                                         .map(declarator -> renameDeclarator(
+                                                                                 declarator, renames))
+                                                                         .toList());
+    }
+
+    private static Declarator renameDeclarator(Declarator declarator, Renames renames) {
+        return switch (declarator) {
+            case Expression.Variable(String identifier) -> new Expression.Variable(rename(identifier, renames));
+            case StatementExpression.Assignment<?> assignment ->
+                    (StatementExpression.Assignment<?>) renameExpression(assignment, renames);
+        };
+    }
+
+    private static Resource renameResource(Resource resource, Renames renames) {
+        return switch (resource) {
+            case Expression.Variable(String identifier) -> new Expression.Variable(rename(identifier, renames));
+            case Resource.ResourceDeclaration(
+                    TypeValue.Declarable type, String identifier, Expression initializer
+            ) -> new Resource.ResourceDeclaration(type, rename(identifier, renames),
+                                                  renameExpression(initializer, renames));
+        };
+    }
+
+    private static BlockStatement.Try.Catch renameCatch(BlockStatement.Try.Catch catchBlock, Renames renames) {
+        return new BlockStatement.Try.Catch(rename(catchBlock.identifier(), renames), catchBlock.exceptionTypes(),
+                                            renameBlock(catchBlock.body(), renames));
+    }
+
+    private static BlockStatement.For.Type renameForType(BlockStatement.For.Type forType, Renames renames) {
+        return switch (forType) {
+            case BlockStatement.For.BasicDeclaration(
+                    Statement.Declaration initializer, Expression termination, List<? extends Expression> incrementors
+            ) -> new BlockStatement.For.BasicDeclaration(renameDeclaration(initializer, renames),
+                                                         renameExpression(termination, renames),
+                                                         renameExpressions(incrementors, renames));
+            case BlockStatement.For.BasicStatementExpression(
+                    List<? extends StatementExpression> statementExpressions, Expression termination,
+                    List<? extends Expression> incrementors
+            ) -> {
+                List<StatementExpression> renamedExpressions =
+                        statementExpressions.stream()
+                                            .map(expression -> (StatementExpression) renameExpression(expression,
+                                                                                                      renames))
+                                            .toList();
+                yield new BlockStatement.For.BasicStatementExpression(renamedExpressions,
+                                                                      renameExpression(termination, renames),
+                                                                      renameExpressions(incrementors, renames));
+            }
+            case BlockStatement.For.Enhanced(Parameter loopParameter, Expression parameters) ->
+                    new BlockStatement.For.Enhanced(renameParameter(loopParameter, renames),
+                                                    renameExpression(parameters, renames));
+        };
+    }
+
+    private static BlockStatement.Block renameBlock(BlockStatement.Block block, Renames renames) {
+        return new BlockStatement.Block(renameStatements(block.statements(), renames));
+    }
+
+    private static Parameter renameParameter(Parameter parameter, Renames renames) {
+        return new Parameter(parameter.type(), rename(parameter.identifier(), renames));
+    }
+
+    private static Expression renameExpression(Expression expression, Renames renames) {
+        return switch (expression) {
+            case Literal literal -> renames.literals().apply(literal);
+            case Expression.Type(TypeValue type) -> new Expression.Type(renames.types().getOrDefault(type, type));
+            case Expression.Enum enumValue -> enumValue;
+            case Expression.Array.Sized sized -> sized;
+            case StatementExpression.Empty empty -> empty;
+            case Expression.Variable(String identifier) -> new Expression.Variable(rename(identifier, renames));
+            case Expression.FieldAccess(Expression receiver, String field) ->
+                    new Expression.FieldAccess(renameExpression(receiver, renames), field);
+            case Expression.ArrayAccess(Expression receiver, Expression accessor) ->
+                    new Expression.ArrayAccess(renameExpression(receiver, renames),
+                                               renameExpression(accessor, renames));
+            case Expression.Array.Declared(TypeValue.Declarable componentType, List<? extends Expression> values) ->
+                    new Expression.Array.Declared(componentType, renameExpressions(values, renames));
+            case Expression.Lambda.MethodReference(Expression receiver, String methodName) ->
+                    new Expression.Lambda.MethodReference(renameExpression(receiver, renames), methodName);
+            case Expression.Lambda.Arrow.Typed(List<Parameter> parameters, BlockStatement.Block body) ->
+                    new Expression.Lambda.Arrow.Typed(
+                            parameters.stream().map(parameter -> renameParameter(parameter, renames)).toList(),
+                            renameBlock(body, renames));
+            case Expression.Lambda.Arrow.Untyped(List<String> parameters, BlockStatement.Block body) ->
+                    new Expression.Lambda.Arrow.Untyped(
+                            parameters.stream().map(parameter -> rename(parameter, renames)).toList(),
+                            renameBlock(body, renames));
+            case Expression.Operation.Binary(
+                    Expression left, Expression.Operation.BinaryOperator operator, Expression right
+            ) -> new Expression.Operation.Binary(renameExpression(left, renames), operator,
+                                                 renameExpression(right, renames));
+            case Expression.Operation.Unary(Expression.Operation.UnaryOperator operator, Expression operand) ->
+                    new Expression.Operation.Unary(operator, renameExpression(operand, renames));
+            case Expression.Operation.Ternary(Expression condition, Expression whenTrue, Expression whenFalse) ->
+                    new Expression.Operation.Ternary(renameExpression(condition, renames),
+                                                     renameExpression(whenTrue, renames),
+                                                     renameExpression(whenFalse, renames));
+            case StatementExpression.NewInstance(TypeValue.Declarable type, List<? extends Expression> args) ->
+                    new StatementExpression.NewInstance(type, renameExpressions(args, renames));
+            case StatementExpression.MethodCall(
+                    Expression receiver, String methodName, List<? extends Expression> args
+            ) -> new StatementExpression.MethodCall(renameExpression(receiver, renames), methodName,
+                                                    renameExpressions(args, renames));
+            case StatementExpression.Assignment<?>(Expression.Assignable receiver, Expression value) ->
+                    new StatementExpression.Assignment<>((Expression.Assignable) renameExpression(receiver, renames),
+                                                         renameExpression(value, renames));
+            case StatementExpression.PreIncrement(Expression.Assignable receiver) ->
+                    new StatementExpression.PreIncrement((Expression.Assignable) renameExpression(receiver, renames));
+            case StatementExpression.PostIncrement(Expression.Assignable receiver) ->
+                    new StatementExpression.PostIncrement((Expression.Assignable) renameExpression(receiver, renames));
+            case StatementExpression.PreDecrement(Expression.Assignable receiver) ->
+                    new StatementExpression.PreDecrement((Expression.Assignable) renameExpression(receiver, renames));
+            case StatementExpression.PostDecrement(Expression.Assignable receiver) ->
+                    new StatementExpression.PostDecrement((Expression.Assignable) renameExpression(receiver, renames));
+        };
+    }
+
+    private static List<Expression> renameExpressions(List<? extends Expression> expressions, Renames renames) {
+        return expressions.stream().map(expression -> renameExpression(expression, renames)).toList();
+    }
+
+    private static String rename(String identifier, Renames renames) {
+        return renames.identifiers().getOrDefault(identifier, identifier);
+    }
+
+    private record Renames(Map<String, String> identifiers, Map<TypeValue, TypeValue> types,
+                           Function<Literal, Expression> literals) {}
+}
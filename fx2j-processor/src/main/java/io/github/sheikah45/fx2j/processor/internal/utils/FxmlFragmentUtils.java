@@ -0,0 +1,193 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.parser.attribute.EventHandlerAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.FxmlAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.IdAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.InstancePropertyAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.NameSpaceAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.StaticPropertyAttribute;
+import io.github.sheikah45.fx2j.parser.element.ClassInstanceElement;
+import io.github.sheikah45.fx2j.parser.element.CopyElement;
+import io.github.sheikah45.fx2j.parser.element.DefineElement;
+import io.github.sheikah45.fx2j.parser.element.ElementContent;
+import io.github.sheikah45.fx2j.parser.element.FxmlElement;
+import io.github.sheikah45.fx2j.parser.element.InstanceElement;
+import io.github.sheikah45.fx2j.parser.element.InstancePropertyElement;
+import io.github.sheikah45.fx2j.parser.element.ReferenceElement;
+import io.github.sheikah45.fx2j.parser.element.ScriptElement;
+import io.github.sheikah45.fx2j.parser.element.StaticPropertyElement;
+import io.github.sheikah45.fx2j.parser.element.ValueElement;
+import io.github.sheikah45.fx2j.parser.property.BindExpression;
+import io.github.sheikah45.fx2j.parser.property.Handler;
+import io.github.sheikah45.fx2j.parser.property.Value;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class FxmlFragmentUtils {
+
+    private static final URI FXML_NAMESPACE = URI.create("http://javafx.com/fxml");
+
+    public static String toFragmentFxml(InstanceElement element, Set<String> imports) {
+        List<FxmlAttribute> attributes = new ArrayList<>();
+        attributes.add(new NameSpaceAttribute("fx", FXML_NAMESPACE));
+        attributes.addAll(element.content().attributes());
+        InstanceElement fragmentRoot = new InstanceElement(element.className(),
+                                                           new ElementContent<>(attributes, element.content().elements(),
+                                                                                element.content().value()));
+        String importInstructions = imports.stream()
+                                           .sorted()
+                                           .map(importString -> "<?import " + importString + "?>\n")
+                                           .collect(Collectors.joining());
+        return importInstructions + fragmentRoot.toFxml();
+    }
+
+    public static SequencedSet<String> collectReferencedIds(FxmlElement element) {
+        SequencedSet<String> referencedIds = new LinkedHashSet<>();
+        visitElement(element, child -> {
+            switch (child) {
+                case ReferenceElement(String source, ElementContent<?, ?> ignored) -> referencedIds.add(source);
+                case CopyElement(String source, ElementContent<?, ?> ignored) -> referencedIds.add(source);
+                default -> {}
+            }
+        }, attribute -> {
+            switch (attribute) {
+                case InstancePropertyAttribute(String ignored, Value value) -> collectReferences(value, referencedIds);
+                case StaticPropertyAttribute(String ignored1, String ignored2, Value value) ->
+                        collectReferences(value, referencedIds);
+                case EventHandlerAttribute(String ignored, Handler.Reference(String value)) ->
+                        referencedIds.add(value);
+                default -> {}
+            }
+        }, value -> collectReferences(value, referencedIds));
+        return referencedIds;
+    }
+
+    public static SequencedMap<String, String> collectDefinedIds(FxmlElement element) {
+        SequencedMap<String, String> definedIds = new LinkedHashMap<>();
+        visitElement(element, child -> {
+            String className = switch (child) {
+                case InstanceElement(String name, ElementContent<?, ?> ignored) -> name;
+                case ValueElement(String name, String ignored1, ElementContent<?, ?> ignored2) -> name;
+                default -> null;
+            };
+
+            if (className != null && child instanceof ClassInstanceElement classInstanceElement) {
+                classInstanceElement.content()
+                                    .attributes()
+                                    .stream()
+                                    .filter(IdAttribute.class::isInstance)
+                                    .map(IdAttribute.class::cast)
+                                    .map(IdAttribute::value)
+                                    .findFirst()
+                                    .ifPresent(id -> definedIds.put(id, className));
+            }
+        }, attribute -> {}, value -> {});
+        return definedIds;
+    }
+
+    public static boolean containsControllerHandlers(FxmlElement element) {
+        List<Handler> handlers = new ArrayList<>();
+        visitElement(element, child -> {}, attribute -> {
+            if (attribute instanceof EventHandlerAttribute(String ignored, Handler.Method handler)) {
+                handlers.add(handler);
+            }
+        }, value -> {});
+        return !handlers.isEmpty();
+    }
+
+    public static void visitElement(FxmlElement element, Consumer<FxmlElement> elementVisitor,
+                                     Consumer<FxmlAttribute> attributeVisitor, Consumer<Value> valueVisitor) {
+        elementVisitor.accept(element);
+        switch (element) {
+            case ClassInstanceElement classInstanceElement ->
+                    visitContent(classInstanceElement.content(), elementVisitor, attributeVisitor, valueVisitor);
+            case InstancePropertyElement(String ignored, ElementContent<?, ?> content) ->
+                    visitContent(content, elementVisitor, attributeVisitor, valueVisitor);
+            case StaticPropertyElement(String ignored1, String ignored2, ElementContent<?, ?> content) ->
+                    visitContent(content, elementVisitor, attributeVisitor, valueVisitor);
+            case DefineElement(List<ClassInstanceElement> elements) -> elements.forEach(
+                    child -> visitElement(child, elementVisitor, attributeVisitor, valueVisitor));
+            case ScriptElement ignored -> {}
+        }
+    }
+
+    private static void visitContent(ElementContent<?, ?> content, Consumer<FxmlElement> elementVisitor,
+                                     Consumer<FxmlAttribute> attributeVisitor, Consumer<Value> valueVisitor) {
+        content.attributes().forEach(attributeVisitor);
+        valueVisitor.accept(content.value());
+        content.elements().forEach(child -> visitElement(child, elementVisitor, attributeVisitor, valueVisitor));
+    }
+
+    private static void collectReferences(Value value, Collection<String> referencedIds) {
+        switch (value) {
+            case Value.Reference(String reference) -> referencedIds.add(reference);
+            case BindExpression bindExpression -> collectReferences(bindExpression, referencedIds);
+            default -> {}
+        }
+    }
+
+    private static void collectReferences(BindExpression expression, Collection<String> referencedIds) {
+        switch (expression) {
+            case BindExpression.Variable(String variable) -> referencedIds.add(variable);
+            case BindExpression.PropertyRead(BindExpression receiver, String ignored) ->
+                    collectReferences(receiver, referencedIds);
+            case BindExpression.MethodCall(BindExpression receiver, String ignored, List<BindExpression> args) -> {
+                collectReferences(receiver, referencedIds);
+                args.forEach(arg -> collectReferences(arg, referencedIds));
+            }
+            case BindExpression.CollectionAccess(BindExpression receiver, BindExpression key) -> {
+                collectReferences(receiver, referencedIds);
+                collectReferences(key, referencedIds);
+            }
+            case BindExpression.Negate(BindExpression operand) -> collectReferences(operand, referencedIds);
+            case BindExpression.Invert(BindExpression operand) -> collectReferences(operand, referencedIds);
+            case BindExpression.Multiply(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Divide(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Modulo(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Add(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Subtract(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.GreaterThan(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.GreaterThanEqual(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.LessThan(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.LessThanEqual(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Equal(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.NotEqual(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.And(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.Or(BindExpression left, BindExpression right) ->
+                    collectReferences(left, right, referencedIds);
+            case BindExpression.String ignored -> {}
+            case BindExpression.Whole ignored -> {}
+            case BindExpression.Fraction ignored -> {}
+            case BindExpression.Boolean ignored -> {}
+            case BindExpression.Null ignored -> {}
+        }
+    }
+
+    private static void collectReferences(BindExpression left, BindExpression right,
+                                          Collection<String> referencedIds) {
+        collectReferences(left, referencedIds);
+        collectReferences(right, referencedIds);
+    }
+}
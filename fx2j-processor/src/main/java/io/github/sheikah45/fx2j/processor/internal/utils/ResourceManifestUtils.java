@@ -0,0 +1,74 @@
+package io.github.sheikah45.fx2j.processor.internal.utils;
+
+import io.github.sheikah45.fx2j.api.Fx2jResourceManifest;
+import io.github.sheikah45.fx2j.parser.attribute.InstancePropertyAttribute;
+import io.github.sheikah45.fx2j.parser.attribute.StaticPropertyAttribute;
+import io.github.sheikah45.fx2j.parser.element.ElementContent;
+import io.github.sheikah45.fx2j.parser.element.FxmlElement;
+import io.github.sheikah45.fx2j.parser.element.IncludeElement;
+import io.github.sheikah45.fx2j.parser.element.InstancePropertyElement;
+import io.github.sheikah45.fx2j.parser.property.Value;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.SequencedSet;
+import java.util.Set;
+
+public class ResourceManifestUtils {
+
+    private static final Set<String> URL_PROPERTIES = Set.of("url");
+    private static final Set<String> FONT_EXTENSIONS = Set.of("ttf", "otf");
+
+    /**
+     * Collects the resources referenced by the fxml tree. Images are not collected since the arguments they are cached
+     * with are only known once the tree is processed.
+     */
+    public static Fx2jResourceManifest collectResourceManifest(FxmlElement rootElement) {
+        SequencedSet<String> locations = new LinkedHashSet<>();
+        SequencedSet<String> resourceKeys = new LinkedHashSet<>();
+        SequencedSet<String> includes = new LinkedHashSet<>();
+        FxmlFragmentUtils.visitElement(rootElement, element -> {
+            switch (element) {
+                case IncludeElement includeElement -> includes.add(toLocationString(includeElement.source()));
+                case InstancePropertyElement(String property, ElementContent<?, ?> content)
+                        when URL_PROPERTIES.contains(property) && content.value() instanceof Value.Literal(
+                        String value) -> locations.add(value);
+                default -> {}
+            }
+        }, attribute -> {
+            switch (attribute) {
+                case InstancePropertyAttribute(String property, Value.Literal(String value))
+                        when URL_PROPERTIES.contains(property) -> locations.add(value);
+                case InstancePropertyAttribute(String ignored, Value value) ->
+                        collectResource(value, locations, resourceKeys);
+                case StaticPropertyAttribute(String ignored1, String ignored2, Value value) ->
+                        collectResource(value, locations, resourceKeys);
+                default -> {}
+            }
+        }, value -> collectResource(value, locations, resourceKeys));
+
+        return new Fx2jResourceManifest(List.of(), filterByExtension(locations, FONT_EXTENSIONS),
+                                        List.copyOf(resourceKeys), List.copyOf(includes));
+    }
+
+    private static void collectResource(Value value, Set<String> locations, Set<String> resourceKeys) {
+        switch (value) {
+            case Value.Location(Path location) -> locations.add(toLocationString(location));
+            case Value.Resource(String key) -> resourceKeys.add(key);
+            default -> {}
+        }
+    }
+
+    private static String toLocationString(Path location) {
+        return location.toString().replace("\\", "/");
+    }
+
+    private static List<String> filterByExtension(Set<String> locations, Set<String> extensions) {
+        return locations.stream()
+                        .filter(location -> extensions.contains(
+                                StringUtils.substringAfterLast(location, ".").toLowerCase(Locale.ROOT)))
+                        .toList();
+    }
+}
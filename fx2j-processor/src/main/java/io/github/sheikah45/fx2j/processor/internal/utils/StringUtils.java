@@ -1,6 +1,5 @@
 package io.github.sheikah45.fx2j.processor.internal.utils;
 
-import java.io.File;
 import java.nio.file.Path;
 import java.util.Locale;
 
@@ -29,6 +28,10 @@ public class StringUtils {
         return StringUtils.delimitedToCapitalize(className) + "Builder";
     }
 
+    public static String localeToIdentifier(Locale locale) {
+        return Locale.ROOT.equals(locale) ? "Root" : locale.toLanguageTag().replace('-', '_');
+    }
+
     public static String substringBeforeLast(String string, String delimiter) {
         int index = string.lastIndexOf(delimiter);
         if (index == -1) {
@@ -53,6 +56,11 @@ public class StringUtils {
     }
 
     public static String fxmlFileToPackageName(Path filePath) {
-        return filePath.getParent().toString().replace(File.separatorChar, '.').toLowerCase(Locale.ROOT);
+        Path parent = filePath.getParent();
+        if (parent == null) {
+            return "";
+        }
+        return parent.toString().replace(parent.getFileSystem().getSeparator(), ".").toLowerCase(Locale.ROOT);
     }
+
 }
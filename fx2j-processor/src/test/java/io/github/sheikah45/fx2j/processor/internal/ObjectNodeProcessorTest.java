@@ -1,5 +1,6 @@
 package io.github.sheikah45.fx2j.processor.internal;
 
+import io.github.sheikah45.fx2j.api.Fx2jFragmentLoader;
 import io.github.sheikah45.fx2j.parser.attribute.EventHandlerAttribute;
 import io.github.sheikah45.fx2j.parser.attribute.IdAttribute;
 import io.github.sheikah45.fx2j.parser.attribute.InstancePropertyAttribute;
@@ -23,8 +24,10 @@ import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.Expression;
 import io.github.sheikah45.fx2j.processor.internal.code.Statement;
 import io.github.sheikah45.fx2j.processor.internal.code.StatementExpression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
 import io.github.sheikah45.fx2j.processor.internal.model.ObjectNodeCode;
 import io.github.sheikah45.fx2j.processor.internal.resolve.ResolverContainer;
+import io.github.sheikah45.fx2j.processor.internal.utils.FxmlFragmentUtils;
 import io.github.sheikah45.fx2j.processor.testcontroller.ChangeHandlerController;
 import io.github.sheikah45.fx2j.processor.testcontroller.EventHandlerMethodController;
 import io.github.sheikah45.fx2j.processor.testcontroller.PublicController;
@@ -46,6 +49,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -430,6 +434,38 @@ class ObjectNodeProcessorTest {
         assertEquals(CodeValues.methodCall(getChildren, "add", buttonVariable), put1);
     }
 
+    @Test
+    void testPropertyCollectionPropertyElementsAddedInOrder() {
+        Class<?> objectClass = VBox.class;
+        ObjectNodeCode nodeCode = new ObjectNodeProcessor(new InstanceElement(objectClass.getCanonicalName(),
+                                                                              new ElementContent<>(List.of(),
+                                                                                                   List.of(new InstanceElement(
+                                                                                                                   Button.class.getCanonicalName(),
+                                                                                                                   EMPTY_CONTENT),
+                                                                                                           new InstanceElement(
+                                                                                                                   Button.class.getCanonicalName(),
+                                                                                                                   EMPTY_CONTENT)),
+                                                                                                   new Value.Empty())),
+                                                          Object.class, resolverContainer, EMPTY_PATH, EMPTY_PATH,
+                                                          "").getNodeCode();
+
+        Expression.Variable variable = CodeValues.variable("vBox0");
+        StatementExpression.MethodCall getChildren = CodeValues.methodCall(variable, "getChildren");
+        List<Statement> initializers = nodeCode.initializers();
+        assertEquals(6, initializers.size());
+        assertEquals(CodeValues.declaration(Button.class, CodeValues.variable("button0"),
+                                            CodeValues.newInstance(Button.class)), initializers.get(2));
+        assertEquals(CodeValues.declaration(Button.class, CodeValues.variable("button1"),
+                                            CodeValues.newInstance(Button.class)), initializers.get(4));
+        assertEquals(CodeValues.methodCall(getChildren, "addAll", CodeValues.variable("button0"),
+                                           CodeValues.variable("button1")), initializers.getLast());
+        assertEquals(1, initializers.stream()
+                                    .filter(StatementExpression.MethodCall.class::isInstance)
+                                    .map(StatementExpression.MethodCall.class::cast)
+                                    .filter(methodCall -> methodCall.receiver().equals(getChildren))
+                                    .count());
+    }
+
     @Test
     void testPropertyCollectionPropertyElementValue() {
         Class<?> objectClass = VBox.class;
@@ -451,11 +487,9 @@ class ObjectNodeProcessorTest {
         assertEquals(objectClass, nodeCode.nodeClass());
         assertEquals(variable, nodeCode.nodeValue());
         List<Statement> initializers = nodeCode.initializers();
-        assertEquals(3, initializers.size());
-        Statement add1 = initializers.get(1);
-        assertEquals(CodeValues.methodCall(getStyleClass, "add", "child"), add1);
-        Statement add2 = initializers.getLast();
-        assertEquals(CodeValues.methodCall(getStyleClass, "add", "dog"), add2);
+        assertEquals(2, initializers.size());
+        Statement addAll = initializers.getLast();
+        assertEquals(CodeValues.methodCall(getStyleClass, "addAll", "child", "dog"), addAll);
     }
 
     @Test
@@ -476,11 +510,9 @@ class ObjectNodeProcessorTest {
         assertEquals(objectClass, nodeCode.nodeClass());
         assertEquals(variable, nodeCode.nodeValue());
         List<Statement> initializers = nodeCode.initializers();
-        assertEquals(3, initializers.size());
-        Statement add1 = initializers.get(1);
-        assertEquals(CodeValues.methodCall(getStyleClass, "add", "child"), add1);
-        Statement add2 = initializers.getLast();
-        assertEquals(CodeValues.methodCall(getStyleClass, "add", "dog"), add2);
+        assertEquals(2, initializers.size());
+        Statement addAll = initializers.getLast();
+        assertEquals(CodeValues.methodCall(getStyleClass, "addAll", "child", "dog"), addAll);
     }
 
     @Test
@@ -580,6 +612,50 @@ class ObjectNodeProcessorTest {
         assertEquals(CodeValues.methodCall(getProperties, "put", "val2", stringVariable), put2);
     }
 
+    @Test
+    void testPropertyMapPropertyElementsPutTogether() {
+        Class<?> objectClass = Pane.class;
+        ObjectNodeCode nodeCode = new ObjectNodeProcessor(new InstanceElement(objectClass.getCanonicalName(),
+                                                                              new ElementContent<>(List.of(),
+                                                                                                   List.of(new InstancePropertyElement(
+                                                                                                           "properties",
+                                                                                                           new ElementContent<>(
+                                                                                                                   List.of(),
+                                                                                                                   List.of(new InstancePropertyElement(
+                                                                                                                                   "val0",
+                                                                                                                                   new ElementContent<>(
+                                                                                                                                           List.of(),
+                                                                                                                                           List.of(new ValueElement(
+                                                                                                                                                   String.class.getCanonicalName(),
+                                                                                                                                                   "0",
+                                                                                                                                                   EMPTY_CONTENT)),
+                                                                                                                                           new Value.Empty())),
+                                                                                                                           new InstancePropertyElement(
+                                                                                                                                   "val1",
+                                                                                                                                   new ElementContent<>(
+                                                                                                                                           List.of(),
+                                                                                                                                           List.of(new ValueElement(
+                                                                                                                                                   String.class.getCanonicalName(),
+                                                                                                                                                   "1",
+                                                                                                                                                   EMPTY_CONTENT)),
+                                                                                                                                           new Value.Empty()))),
+                                                                                                                   new Value.Empty()))),
+                                                                                                   new Value.Empty())),
+                                                          Object.class, resolverContainer, EMPTY_PATH, EMPTY_PATH,
+                                                          "").getNodeCode();
+
+        Expression.Variable variable = CodeValues.variable("pane0");
+        StatementExpression.MethodCall getProperties = CodeValues.methodCall(variable, "getProperties");
+        List<Statement> initializers = nodeCode.initializers();
+        assertEquals(6, initializers.size());
+        assertEquals(CodeValues.declaration(String.class, CodeValues.variable("string0"), "0"), initializers.get(2));
+        assertEquals(CodeValues.declaration(String.class, CodeValues.variable("string1"), "1"), initializers.get(4));
+        assertEquals(CodeValues.methodCall(getProperties, "putAll",
+                                           CodeValues.methodCall(Map.class, "of", "val0", CodeValues.variable("string0"),
+                                                                 "val1", CodeValues.variable("string1"))),
+                     initializers.getLast());
+    }
+
     @Test
     void testObjectInstancePropertyAttribute() {
         Class<?> objectClass = Button.class;
@@ -657,6 +733,47 @@ class ObjectNodeProcessorTest {
         assertEquals(CodeValues.methodCall(variable, "setText", stringVariable), statement);
     }
 
+    @Test
+    void testUnsupportedChildFallback() {
+        Class<?> objectClass = VBox.class;
+        InstanceElement childElement = new InstanceElement(Button.class.getCanonicalName(), new ElementContent<>(
+                List.of(new InstancePropertyAttribute("prefWidth", new BindExpression.Modulo(
+                        new BindExpression.Variable("width"), new BindExpression.Whole(2)))), List.of(), new Value.Empty()));
+        Path resourceRoot = Path.of("src/test/resources").toAbsolutePath();
+        Path relativeFilePath = Path.of("fxml/process/simple-root.fxml");
+        ResolverContainer fileResolverContainer = ResolverContainer.from(Set.of(), getClass().getClassLoader(),
+                                                                         new TypeValue.Raw.Top("", "SimpleRootBuilder"),
+                                                                         resourceRoot, relativeFilePath);
+        ObjectNodeCode nodeCode = new ObjectNodeProcessor(new InstanceElement(objectClass.getCanonicalName(),
+                                                                              new ElementContent<>(List.of(),
+                                                                                                   List.of(childElement),
+                                                                                                   new Value.Empty())),
+                                                          Object.class, fileResolverContainer,
+                                                          resourceRoot.resolve(relativeFilePath), resourceRoot,
+                                                          "").getNodeCode();
+
+        Expression.Variable variable = CodeValues.variable("vBox0");
+        assertEquals(objectClass, nodeCode.nodeClass());
+        assertEquals(variable, nodeCode.nodeValue());
+        List<Statement> initializers = nodeCode.initializers();
+        assertEquals(5, initializers.size());
+        Statement namespaceDeclaration = initializers.get(2);
+        assertInstanceOf(Statement.Declaration.class, namespaceDeclaration);
+        Statement fragmentDeclaration = initializers.get(3);
+        Expression.Variable buttonVariable = CodeValues.variable("button1");
+        assertEquals(CodeValues.declaration(Button.class, buttonVariable,
+                                            CodeValues.methodCall(Fx2jFragmentLoader.class, "load",
+                                                                  FxmlFragmentUtils.toFragmentFxml(childElement,
+                                                                                                   Set.of()),
+                                                                  CodeValues.variable("LOCATION_SIMPLE_ROOT_FXML"),
+                                                                  CodeValues.variable(FxmlProcessor.RESOURCES_NAME),
+                                                                  CodeValues.variable("button1Namespace"))),
+                     fragmentDeclaration);
+        Statement statement = initializers.getLast();
+        assertEquals(CodeValues.methodCall(CodeValues.methodCall(variable, "getChildren"), "add", buttonVariable),
+                     statement);
+    }
+
     @Test
     void testObjectInstancePropertyBindExpression() {
         Class<?> objectClass = Button.class;
@@ -3,26 +3,35 @@ package io.github.sheikah45.fx2j.processor.internal.resolve;
 import io.github.sheikah45.fx2j.parser.property.BindExpression;
 import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.Expression;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
 import io.github.sheikah45.fx2j.processor.internal.model.ExpressionResult;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.binding.IntegerBinding;
 import javafx.beans.binding.NumberBinding;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.binding.StringBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableBooleanValue;
 import javafx.beans.value.ObservableNumberValue;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.control.Label;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ExpressionResolverTest extends AbstractResolverTest {
@@ -113,6 +122,34 @@ class ExpressionResolverTest extends AbstractResolverTest {
                 new BindExpression.PropertyRead(new BindExpression.Variable("a"), "blank")));
     }
 
+    @Test
+    void testResolveNestedPropertyReadSelect() {
+        resolverContainer.getNameResolver().storeIdType("a", Label.class);
+        Expression.Variable objectProperty0 = CodeValues.variable("objectProperty0");
+        Expression.Variable stringBinding0 = CodeValues.variable("stringBinding0");
+        assertEquals(new ExpressionResult(StringBinding.class, stringBinding0, List.of(
+                             CodeValues.declaration(new TypeValue.Parameterized(TypeValues.of(ObjectProperty.class),
+                                                                                List.of(TypeValues.of(Node.class))),
+                                                    objectProperty0, CodeValues.methodCall("a", "graphicProperty")),
+                             CodeValues.declaration(StringBinding.class, stringBinding0,
+                                                    CodeValues.methodCall(CodeValues.type(
+                                                            TypeValues.of("io.github.sheikah45.fx2j.api.Fx2jBindings")),
+                                                            "selectString", objectProperty0,
+                                                            CodeValues.methodReference(Node.class, "idProperty"))))),
+                     expressionResolver.resolveExpression(new BindExpression.PropertyRead(
+                             new BindExpression.PropertyRead(new BindExpression.Variable("a"), "graphic"), "id")));
+    }
+
+    @Test
+    void testResolveNestedPropertyReadSelectObject() {
+        resolverContainer.getNameResolver().storeIdType("a", Label.class);
+        ExpressionResult result = expressionResolver.resolveExpression(new BindExpression.PropertyRead(
+                new BindExpression.PropertyRead(new BindExpression.Variable("a"), "graphic"), "parent"));
+        ParameterizedType bindingType = assertInstanceOf(ParameterizedType.class, result.type());
+        assertEquals(ObjectBinding.class, bindingType.getRawType());
+        assertArrayEquals(new Type[]{Parent.class}, bindingType.getActualTypeArguments());
+    }
+
     @Test
     void testResolveMethodCall() {
         resolverContainer.getNameResolver().storeIdType("a", Label.class);
@@ -3,6 +3,7 @@ package io.github.sheikah45.fx2j.processor.internal.resolve;
 import io.github.sheikah45.fx2j.parser.property.BindExpression;
 import io.github.sheikah45.fx2j.parser.property.Value;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.internal.code.TypeValue;
 import io.github.sheikah45.fx2j.processor.internal.code.TypeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
 import io.github.sheikah45.fx2j.processor.internal.code.Expression;
@@ -17,8 +18,10 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -180,6 +183,43 @@ class ValueResolverTest extends AbstractResolverTest {
                      () -> valueResolver.resolveCodeValue(Float.class, new Value.Location(Path.of(""))));
     }
 
+    @Test
+    void testResolveLocationToUrl() {
+        ResolverContainer builderContainer = createBuilderResolverContainer();
+        ValueResolver builderValueResolver = builderContainer.getValueResolver();
+
+        assertEquals(CodeValues.variable("LOCATION_RELATIVE_PNG"),
+                     builderValueResolver.resolveCodeValue(URL.class, new Value.Location(Path.of("relative.png"))));
+        assertEquals(CodeValues.methodCall(CodeValues.variable("LOCATION_RELATIVE_PNG"), "toExternalForm"),
+                     builderValueResolver.resolveCodeValue(String.class,
+                                                           new Value.Location(Path.of("/fxml/process/relative.png"))));
+
+        List<ConstantResolver.Constant> constants = builderContainer.getConstantResolver().getConstants();
+        assertEquals(1, constants.size());
+        assertEquals(URL.class, constants.getFirst().type());
+    }
+
+    @Test
+    void testResolveLocationOutsideRoot() {
+        ValueResolver builderValueResolver = createBuilderResolverContainer().getValueResolver();
+        Value.Location location = new Value.Location(Path.of("../../../outside.png"));
+        assertThrows(IllegalArgumentException.class, () -> builderValueResolver.resolveCodeValue(URL.class, location));
+    }
+
+    @Test
+    void testResolveLocationMissing() {
+        ValueResolver builderValueResolver = createBuilderResolverContainer().getValueResolver();
+        Value.Location location = new Value.Location(Path.of("missing.png"));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> builderValueResolver.resolveCodeValue(URL.class, location));
+    }
+
+    private ResolverContainer createBuilderResolverContainer() {
+        return ResolverContainer.from(Set.of(), getClass().getClassLoader(), new TypeValue.Raw.Top("test", "Builder"),
+                                      Path.of("src/test/resources").toAbsolutePath(),
+                                      Path.of("fxml/process/relative-resource.fxml"));
+    }
+
     private static class DefaultValueProvider implements ArgumentsProvider {
         @Override
         public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
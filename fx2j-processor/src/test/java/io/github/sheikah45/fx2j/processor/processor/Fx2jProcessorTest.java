@@ -3,7 +3,9 @@ package io.github.sheikah45.fx2j.processor.processor;
 import io.github.sheikah45.fx2j.api.Fx2jBuilder;
 import io.github.sheikah45.fx2j.api.Fx2jBuilderFinder;
 import io.github.sheikah45.fx2j.processor.Fx2jProcessor;
+import io.github.sheikah45.fx2j.processor.Fx2jProfile;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import io.github.sheikah45.fx2j.processor.testutils.TestCompiler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -17,12 +19,16 @@ import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Execution(ExecutionMode.CONCURRENT)
@@ -51,6 +57,83 @@ class Fx2jProcessorTest {
         assertNull(finder.findBuilder(new URL("file", "", "/test.fxml")));
     }
 
+    @Test
+    void testCompileFx2jLocalized() throws Exception {
+        Path filePath = Path.of("src/test/resources/fxml/process/resources.fxml");
+        ClassLoader classLoader = Fx2jProcessorTest.class.getClassLoader();
+        FxmlProcessor fxmlProcessor = new FxmlProcessor(filePath, Path.of("src/test/resources"), "test", classLoader);
+        FxmlProcessor localizedFxmlProcessor = new FxmlProcessor(filePath, Path.of("src/test/resources"), "test",
+                                                                 classLoader, FxmlProcessorOptions.defaults()
+                                                                                                  .withResourceBundleName(
+                                                                                                          "message")
+                                                                                                  .withLocale(
+                                                                                                          Locale.GERMAN));
+        Fx2jProcessor fx2jProcessor = new Fx2jProcessor(List.of(fxmlProcessor, localizedFxmlProcessor), false);
+
+        Class<Fx2jBuilderFinder> fx2jFinderBuilderClass = TestCompiler.compileAndLoadClass(compileOutput, fx2jProcessor,
+                                                                                           fx2jProcessor.getBuilderFinderCanonicalClassName());
+        Fx2jBuilderFinder finder = fx2jFinderBuilderClass.getConstructor().newInstance();
+
+        URL location = new URL("file", "", "/fxml/process/resources.fxml");
+        ResourceBundle.Control control = ResourceBundle.Control.getNoFallbackControl(
+                ResourceBundle.Control.FORMAT_PROPERTIES);
+        ResourceBundle germanResources = ResourceBundle.getBundle("message", Locale.GERMANY, classLoader, control);
+        ResourceBundle rootResources = ResourceBundle.getBundle("message", Locale.ROOT, classLoader, control);
+
+        assertEquals("test.fxml.process.ResourcesBuilder_de",
+                     finder.findBuilder(location, germanResources).getClass().getCanonicalName());
+        assertEquals("test.fxml.process.ResourcesBuilder",
+                     finder.findBuilder(location, rootResources).getClass().getCanonicalName());
+        assertEquals("test.fxml.process.ResourcesBuilder",
+                     finder.findBuilder(location, null).getClass().getCanonicalName());
+        assertEquals("test.fxml.process.ResourcesBuilder", finder.findBuilder(location).getClass().getCanonicalName());
+    }
+
+    @Test
+    void testCompileFx2jProfile() throws Exception {
+        Path profileFile = sourceOutput.resolve("fx2j.profile");
+        Files.writeString(profileFile, """
+                                       # fx2j-profile 1
+                                       fxml/read/test.fxml\t3\t0\t5\t3000\t2000
+                                       fxml/read/other.fxml\t1\t1\t60000\t1000\t1000
+                                       other/fxml/read/test.fxml\t7\t2\t70000\t7000\t7000
+                                       """);
+        Fx2jProfile profile = Fx2jProfile.read(profileFile);
+
+        Fx2jProfile.ViewProfile viewProfile = profile.getViewProfile(Path.of("fxml/read/test.fxml")).orElseThrow();
+        assertEquals(3, viewProfile.loadCount());
+        assertEquals(2000, viewProfile.maxBuildNanos());
+        assertTrue(profile.isStartupView(Path.of("fxml/read/test.fxml")));
+        assertFalse(profile.isStartupView(Path.of("fxml/read/other.fxml")));
+        assertFalse(profile.isStartupView(Path.of("fxml/test.fxml")));
+        assertTrue(profile.getViewProfile(Path.of("read/test.fxml")).isEmpty());
+        assertTrue(profile.getViewProfile(Path.of("test.fxml")).isEmpty());
+        assertTrue(profile.getViewProfile(Path.of("fxml/test.fxml")).isEmpty());
+        assertEquals(7, profile.getViewProfile(Path.of("other/fxml/read/test.fxml")).orElseThrow().loadCount());
+
+        FxmlProcessor fxmlProcessor = new FxmlProcessor(Path.of("src/test/resources/fxml/read/test.fxml"),
+                                                        Path.of("src/test/resources"), "test",
+                                                        Fx2jProcessorTest.class.getClassLoader()
+        );
+        Fx2jProcessor fx2jProcessor = new Fx2jProcessor(List.of(fxmlProcessor), false, profile);
+
+        Class<Fx2jBuilderFinder> fx2jFinderBuilderClass = TestCompiler.compileAndLoadClass(compileOutput, fx2jProcessor,
+                                                                                           fx2jProcessor.getBuilderFinderCanonicalClassName());
+        assertNotNull(fx2jFinderBuilderClass.getDeclaredMethod("preload", String.class));
+        Fx2jBuilderFinder finder = fx2jFinderBuilderClass.getConstructor().newInstance();
+
+        Fx2jBuilder<?, ?> builder = finder.findBuilder(new URL("file", "", "/fxml/read/test.fxml"));
+        assertNotNull(builder);
+        assertEquals("test.fxml.read.TestBuilder", builder.getClass().getCanonicalName());
+    }
+
+    @Test
+    void testReadMalformedProfile() throws Exception {
+        Path profileFile = sourceOutput.resolve("fx2j.profile");
+        Files.writeString(profileFile, "/fxml/read/test.fxml\tthree\n");
+        assertThrows(IllegalArgumentException.class, () -> Fx2jProfile.read(profileFile));
+    }
+
     @Test
     void testCompileFx2jAbsolutePath() throws Exception {
         FxmlProcessor fxmlProcessor = new FxmlProcessor(
@@ -148,4 +231,5 @@ class Fx2jProcessorTest {
         assertTrue(Files.exists(sourceOutput.resolve("resources/META-INF/services/")
                                             .resolve(Fx2jBuilderFinder.class.getCanonicalName())));
     }
+
 }
@@ -0,0 +1,143 @@
+package io.github.sheikah45.fx2j.processor.processor;
+
+import io.github.sheikah45.fx2j.api.Fx2jBuilder;
+import io.github.sheikah45.fx2j.processor.Fx2jRuntimeCompiler;
+import io.github.sheikah45.fx2j.processor.testutils.TestCompiler;
+import javafx.scene.control.SplitPane;
+import javafx.scene.image.ImageView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Execution(ExecutionMode.CONCURRENT)
+class Fx2jRuntimeCompilerTest {
+
+    private final Fx2jRuntimeCompiler runtimeCompiler = new Fx2jRuntimeCompiler(getClass().getClassLoader(),
+                                                                                TestCompiler.getFilteredClasspath());
+
+    private static final Path PROCESS_FXML = Path.of("src/test/resources/fxml/process");
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    void testFindBuilder() throws Exception {
+        URL location = Path.of("src/test/resources/fxml/read/test.fxml").toUri().toURL();
+
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(location);
+        assertNotNull(builder);
+        assertEquals("TestBuilder", builder.getClass().getSimpleName());
+
+        Fx2jBuilder<?, ?> secondBuilder = runtimeCompiler.findBuilder(location);
+        assertNotNull(secondBuilder);
+        assertNotSame(builder, secondBuilder);
+        assertSame(builder.getClass(), secondBuilder.getClass());
+    }
+
+    @Test
+    void testFindBuilderSameContentDifferentLocation() throws Exception {
+        Path source = Path.of("src/test/resources/fxml/read/test.fxml");
+        Path copy = Files.copy(source, tempDirectory.resolve("test.fxml"));
+
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(source.toUri().toURL());
+        Fx2jBuilder<?, ?> copyBuilder = runtimeCompiler.findBuilder(copy.toUri().toURL());
+        assertNotNull(builder);
+        assertNotNull(copyBuilder);
+        assertNotSame(builder.getClass(), copyBuilder.getClass());
+    }
+
+    @Test
+    void testFindBuilderInclude() throws Exception {
+        Files.copy(PROCESS_FXML.resolve("include.fxml"), tempDirectory.resolve("include.fxml"));
+        Files.copy(PROCESS_FXML.resolve("simple-root.fxml"), tempDirectory.resolve("simple-root.fxml"));
+
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(tempDirectory.resolve("include.fxml").toUri().toURL());
+        assertNotNull(builder);
+        builder.build(null, null, null, null);
+        SplitPane root = (SplitPane) builder.getRoot();
+        assertEquals(1, root.getItems().size());
+    }
+
+    @Test
+    void testFindBuilderRelativeResource() throws Exception {
+        Files.copy(PROCESS_FXML.resolve("relative-resource.fxml"), tempDirectory.resolve("relative-resource.fxml"));
+        Path image = Files.copy(PROCESS_FXML.resolve("relative.png"), tempDirectory.resolve("relative.png"));
+
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(
+                tempDirectory.resolve("relative-resource.fxml").toUri().toURL());
+        assertNotNull(builder);
+        builder.build(null, null, null, null);
+        ImageView root = (ImageView) builder.getRoot();
+        assertEquals(image.toUri().toURL().toExternalForm(), root.getImage().getUrl());
+    }
+
+    @Test
+    void testFindBuilderJar() throws Exception {
+        Path jarFile = tempDirectory.resolve("views.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            for (String fileName : List.of("include.fxml", "simple-root.fxml", "relative-resource.fxml",
+                                           "relative.png")) {
+                outputStream.putNextEntry(new ZipEntry("views/" + fileName));
+                outputStream.write(Files.readAllBytes(PROCESS_FXML.resolve(fileName)));
+                outputStream.closeEntry();
+            }
+        }
+
+        String jarRoot = "jar:" + jarFile.toUri() + "!/views/";
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(new URL(jarRoot + "include.fxml"));
+        assertNotNull(builder);
+        assertEquals("fx2j.runtime.views", builder.getClass().getPackageName());
+        assertSame(builder.getClass(), runtimeCompiler.findBuilder(new URL(jarRoot + "include.fxml")).getClass());
+
+        Fx2jBuilder<?, ?> resourceBuilder = runtimeCompiler.findBuilder(new URL(jarRoot + "relative-resource.fxml"));
+        assertNotNull(resourceBuilder);
+        resourceBuilder.build(null, null, null, null);
+        ImageView root = (ImageView) resourceBuilder.getRoot();
+        assertEquals(jarRoot + "relative.png", root.getImage().getUrl());
+    }
+
+    @Test
+    void testFindBuilderModified() throws Exception {
+        Path copy = Files.copy(Path.of("src/test/resources/fxml/read/test.fxml"), tempDirectory.resolve("view.fxml"));
+        URL location = copy.toUri().toURL();
+
+        Fx2jBuilder<?, ?> builder = runtimeCompiler.findBuilder(location);
+        assertNotNull(builder);
+        assertSame(builder.getClass(), runtimeCompiler.findBuilder(location).getClass());
+
+        Files.writeString(copy, Files.readString(copy) + "<!-- modified -->");
+        Files.setLastModifiedTime(copy, FileTime.from(Files.getLastModifiedTime(copy).toInstant().plusSeconds(1)));
+
+        Fx2jBuilder<?, ?> modifiedBuilder = runtimeCompiler.findBuilder(location);
+        assertNotNull(modifiedBuilder);
+        assertNotSame(builder.getClass(), modifiedBuilder.getClass());
+    }
+
+    @Test
+    void testFindBuilderUncompilable() throws Exception {
+        URL location = Path.of("src/test/resources/fxml/failure/private-controller.fxml").toUri().toURL();
+        assertNull(runtimeCompiler.findBuilder(location));
+        assertNull(runtimeCompiler.findBuilder(location));
+    }
+
+    @Test
+    void testFindBuilderMissing() throws Exception {
+        assertNull(runtimeCompiler.findBuilder(tempDirectory.resolve("missing.fxml").toUri().toURL()));
+        assertNull(runtimeCompiler.findBuilder(null));
+    }
+}
@@ -2,14 +2,23 @@ package io.github.sheikah45.fx2j.processor.processor;
 
 import io.github.sheikah45.fx2j.api.Fx2jBuilder;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import io.github.sheikah45.fx2j.processor.testcontroller.ChangeHandlerController;
 import io.github.sheikah45.fx2j.processor.testcontroller.EventHandlerMethodController;
 import io.github.sheikah45.fx2j.processor.testcontroller.IncludeController;
+import io.github.sheikah45.fx2j.processor.testcontroller.InlineIncludeController;
+import io.github.sheikah45.fx2j.processor.testcontroller.InlinedChildController;
+import io.github.sheikah45.fx2j.processor.testcontroller.InjectController;
 import io.github.sheikah45.fx2j.processor.testcontroller.PublicController;
 import io.github.sheikah45.fx2j.processor.testcontroller.SetterController;
+import io.github.sheikah45.fx2j.processor.testcontroller.SubscriptionController;
+import io.github.sheikah45.fx2j.processor.testcontroller.TableController;
+import io.github.sheikah45.fx2j.processor.testutils.CellItem;
 import javafx.css.PseudoClass;
+import javafx.scene.control.TableColumn;
 import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.VBox;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
@@ -19,9 +28,13 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FxmlProcessorControllerTest extends AbstractProcessorTest {
 
@@ -55,6 +68,29 @@ class FxmlProcessorControllerTest extends AbstractProcessorTest {
         assertNotNull(controller.button);
     }
 
+    @Test
+    void testTableControllerCellValueFactory() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("table-controller.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertFalse(source.contains("PropertyValueFactory"));
+
+        Fx2jBuilder<TableController, Object> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        TableController controller = fx2jBuilder.getController();
+
+        CellItem item = new CellItem("name", 3);
+        controller.table.getItems().add(item);
+        assertEquals("name", controller.nameColumn.getCellObservableValue(item).getValue());
+        assertEquals(3, controller.countColumn.getCellObservableValue(item).getValue());
+        assertNull(controller.nameColumn.getCellValueFactory()
+                                        .call(new TableColumn.CellDataFeatures<>(controller.table,
+                                                                                 controller.nameColumn, null)));
+        assertNull(controller.countColumn.getCellValueFactory()
+                                         .call(new TableColumn.CellDataFeatures<>(controller.table,
+                                                                                  controller.countColumn, null)));
+    }
+
     @Test
     void testSetterController() throws Exception {
         Path filePath = CONTROLLER_FXML.resolve("setter-controller.fxml");
@@ -68,6 +104,25 @@ class FxmlProcessorControllerTest extends AbstractProcessorTest {
         Path filePath = CONTROLLER_FXML.resolve("event-handler-method.fxml");
         EventHandlerMethodController controller = buildAndRetrieveController(filePath);
 
+        assertEventHandlersCalled(controller);
+    }
+
+    @Test
+    void testDispatchedEventHandlerMethodController() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("event-handler-method.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults()
+                                                                            .withDispatchEventHandlers(true));
+        Fx2jBuilder<EventHandlerMethodController, Object> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        assertEquals(List.of("EventHandlerDispatcher"), Arrays.stream(fx2jBuilder.getClass().getDeclaredClasses())
+                                                              .map(Class::getSimpleName)
+                                                              .toList());
+
+        fx2jBuilder.build(null, null, null, null);
+        assertEventHandlersCalled(fx2jBuilder.getController());
+    }
+
+    private static void assertEventHandlersCalled(EventHandlerMethodController controller) {
         assertNotNull(controller);
 
         assertEquals(0, controller.eventActionCount);
@@ -117,6 +172,55 @@ class FxmlProcessorControllerTest extends AbstractProcessorTest {
         assertEquals(controller.properties, Map.of("key", "value"));
     }
 
+    @Test
+    void testSubscriptionController() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("subscription-controller.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults()
+                                                                            .withSubscribeChangeHandlers(true));
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("textProperty().subscribe("));
+        assertTrue(source.contains("idProperty().addListener("));
+        assertTrue(source.contains("Subscription.combine(this.subscriptions)"));
+        assertFalse(source.contains("oldValue"));
+
+        Fx2jBuilder<SubscriptionController, Object> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        SubscriptionController controller = fx2jBuilder.getController();
+        assertEquals(-1.0, controller.prefWidth);
+        assertEquals(1, controller.prefWidthChangeCount);
+        assertEquals(0, controller.styleChangeCount);
+
+        controller.button.setText("first");
+        controller.button.setText("second");
+        assertEquals("first", controller.oldText);
+        assertEquals("second", controller.newText);
+
+        controller.button.setPrefWidth(10);
+        controller.button.setPrefWidth(20);
+        assertEquals(20.0, controller.prefWidth);
+        assertEquals(3, controller.prefWidthChangeCount);
+
+        controller.button.setStyle("-fx-opacity: 0.5;");
+        controller.button.setStyle("-fx-opacity: 0.25;");
+        assertEquals(1, controller.styleChangeCount);
+        controller.button.getStyle();
+        controller.button.setStyle("-fx-opacity: 0.75;");
+        assertEquals(2, controller.styleChangeCount);
+
+        controller.button.setId("renamed");
+        assertEquals("renamed", controller.idValue);
+
+        fx2jBuilder.unsubscribe();
+        controller.button.setText("third");
+        controller.button.setPrefWidth(30);
+        controller.button.getStyle();
+        controller.button.setStyle("-fx-opacity: 1;");
+        assertEquals("second", controller.newText);
+        assertEquals(20.0, controller.prefWidth);
+        assertEquals(2, controller.styleChangeCount);
+    }
+
     @Test
     void testIncludeController() throws Exception {
         IncludeController controller = buildAndRetrieveController(CONTROLLER_FXML.resolve("include-controller.fxml"),
@@ -125,6 +229,106 @@ class FxmlProcessorControllerTest extends AbstractProcessorTest {
         assertNotNull(controller.paneController);
     }
 
+    @Test
+    void testInlineIncludeController() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("inline-include-controller.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults().withInlineIncludes(true));
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertFalse(source.contains("InlinedChildBuilder"));
+
+        Fx2jBuilder<InlineIncludeController, AnchorPane> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        InlinedChildController providedChildController = new InlinedChildController();
+        fx2jBuilder.build(null, null, null,
+                          clazz -> clazz == InlinedChildController.class ?
+                                   providedChildController :
+                                   new InlineIncludeController());
+        InlineIncludeController controller = fx2jBuilder.getController();
+        assertSame(providedChildController, controller.firstController);
+        assertSame(providedChildController, controller.secondController);
+
+        fx2jBuilder.build(null, null, null, null);
+        controller = fx2jBuilder.getController();
+        assertNotSame(controller.firstController, controller.secondController);
+        assertTrue(controller.firstController.initialized);
+        assertTrue(controller.secondController.initialized);
+
+        controller.firstController.button.fire();
+        assertEquals(1, controller.firstController.actionCount);
+        assertEquals(0, controller.secondController.actionCount);
+
+        AnchorPane root = fx2jBuilder.getRoot();
+        assertEquals(2, root.getChildren().size());
+        assertEquals("first", root.getChildren().getFirst().getId());
+        assertSame(root.getChildren().getFirst(), controller.firstController.button.getParent());
+        assertEquals(5, ((VBox) root.getChildren().getLast()).getPadding().getTop());
+    }
+
+    @Test
+    void testInlineIncludeFallsBackToBuilder() throws Exception {
+        FxmlProcessorOptions options = FxmlProcessorOptions.defaults()
+                                                           .withInlineIncludes(true)
+                                                           .withDispatchEventHandlers(true);
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("inline-include-controller.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader, options);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("new InlinedChildBuilder()"));
+
+        FxmlProcessor includedProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("inlined-child.fxml"),
+                                                            RESOURCES_ROOT, ROOT_PACKAGE, classLoader, options);
+        Fx2jBuilder<InlineIncludeController, AnchorPane> fx2jBuilder = compileAndLoadBuilder(mainProcessor,
+                                                                                             includedProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        InlineIncludeController controller = fx2jBuilder.getController();
+        assertTrue(controller.firstController.initialized);
+        assertNotNull(controller.secondController.button);
+    }
+
+    @Test
+    void testInjectController() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(CONTROLLER_FXML.resolve("inject-controller.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults()
+                                                                            .withInjectControllerDependencies(true));
+        assertEquals(List.of(String.class, List.class),
+                     List.copyOf(mainProcessor.getControllerDependencies().sequencedKeySet()));
+
+        Fx2jBuilder<InjectController, Object> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.setControllerDependencies(Map.of(String.class, "title", List.class, List.of("item")));
+        fx2jBuilder.build(null, null, null, null);
+
+        InjectController controller = fx2jBuilder.getController();
+        assertEquals("title", controller.title);
+        assertEquals(List.of("item"), controller.items);
+        assertNotNull(controller.button);
+
+        fx2jBuilder.setControllerDependencies(Map.of(String.class, "title"));
+        NullPointerException exception = assertThrows(NullPointerException.class,
+                                                      () -> fx2jBuilder.build(null, null, null, null));
+        assertEquals("Missing controller dependency java.util.List<java.lang.String>", exception.getMessage());
+
+        InjectController factoryController = new InjectController("factory", List.of());
+        fx2jBuilder.setControllerDependencies(null);
+        fx2jBuilder.build(null, null, null, type -> factoryController);
+        assertSame(factoryController, fx2jBuilder.getController());
+    }
+
+    @Test
+    void testInjectControllerConflictingDependencies() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new FxmlProcessor(CONTROLLER_FXML.resolve("conflicting-inject-controller.fxml"),
+                                             RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                             FxmlProcessorOptions.defaults().withInjectControllerDependencies(true)));
+    }
+
+    @Test
+    void testInjectControllerQualifiedDependency() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new FxmlProcessor(CONTROLLER_FXML.resolve("qualified-inject-controller.fxml"),
+                                             RESOURCES_ROOT, ROOT_PACKAGE, classLoader,
+                                             FxmlProcessorOptions.defaults().withInjectControllerDependencies(true)));
+    }
+
     @Test
     void testProvidedController() throws Exception {
         PublicController providedController = new PublicController();
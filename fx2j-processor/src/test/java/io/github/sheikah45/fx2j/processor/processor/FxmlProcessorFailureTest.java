@@ -1,10 +1,12 @@
 package io.github.sheikah45.fx2j.processor.processor;
 
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
 import io.github.sheikah45.fx2j.processor.ProcessorException;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -57,9 +59,22 @@ class FxmlProcessorFailureTest extends AbstractProcessorTest {
     }
 
     @Test
-    void testRelativeResource() {
-        Path filePath = FAIL_FXML.resolve("resource-location.fxml");
+    void testLocalizedMissingResourceKey() {
+        Path filePath = FAIL_FXML.resolve("missing-resource.fxml");
+        FxmlProcessorOptions options = FxmlProcessorOptions.defaults()
+                                                           .withResourceBundleName("message")
+                                                           .withLocale(Locale.GERMAN);
         assertThrows(ProcessorException.class, () -> new FxmlProcessor(filePath, RESOURCES_ROOT, ROOT_PACKAGE,
-                                                                       classLoader));
+                                                                       classLoader, options));
+    }
+
+    @Test
+    void testLocalizedMissingResourceBundle() {
+        Path filePath = RESOURCES_ROOT.resolve("fxml/process/resources.fxml");
+        FxmlProcessorOptions options = FxmlProcessorOptions.defaults()
+                                                           .withResourceBundleName("missing")
+                                                           .withLocale(Locale.GERMAN);
+        assertThrows(IllegalArgumentException.class, () -> new FxmlProcessor(filePath, RESOURCES_ROOT, ROOT_PACKAGE,
+                                                                             classLoader, options));
     }
 }
@@ -1,42 +1,72 @@
 package io.github.sheikah45.fx2j.processor.processor;
 
 import io.github.sheikah45.fx2j.api.Fx2jBuilder;
+import io.github.sheikah45.fx2j.api.Fx2jImageCache;
+import io.github.sheikah45.fx2j.api.Fx2jResourceBundleCache;
+import io.github.sheikah45.fx2j.api.Fx2jResourceManifest;
 import io.github.sheikah45.fx2j.processor.FxmlProcessor;
+import io.github.sheikah45.fx2j.processor.FxmlProcessorOptions;
+import io.github.sheikah45.fx2j.processor.testutils.CellItem;
 import io.github.sheikah45.fx2j.processor.testutils.CopyObject;
+import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.VPos;
+import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.SpinnerValueFactory;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.Tab;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Callback;
 import javafx.util.Duration;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -193,6 +223,51 @@ class FxmlProcessorTest extends AbstractProcessorTest {
         assertEquals(AnchorPane.class, root.getItems().getFirst().getClass());
     }
 
+    @Test
+    void testBatchedChildren() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("batched-children.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertEquals(1, source.split("vBox0\\.getChildren\\(\\)\\.addAll\\(", -1).length - 1);
+        assertFalse(source.contains("vBox0.getChildren().add("));
+        assertTrue(source.contains("vBox0.getProperties().putAll(Map.of("));
+        assertTrue(source.indexOf("vBox0.getChildren().addAll(") > source.indexOf("hBox0.getChildren().add("));
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        assertEquals(3, root.getChildren().size());
+        assertEquals("first", assertInstanceOf(Label.class, root.getChildren().getFirst()).getText());
+        assertInstanceOf(HBox.class, root.getChildren().get(1));
+        assertEquals("last", assertInstanceOf(Button.class, root.getChildren().getLast()).getText());
+        assertEquals("one", root.getProperties().get("first"));
+        assertEquals("two", root.getProperties().get("second"));
+    }
+
+    @Test
+    void testIncludeResourcesAndCharset() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("include-resources.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("Fx2jResourceBundleCache.getIncludeBundle(\"message\", resources)"));
+        assertTrue(source.contains("Fx2jFragmentLoader.loadInclude(LOCATION_LATIN1_LABEL_FXML"));
+        assertTrue(source.contains("IncludeResourcesBuilder.class.getResource(\"/fxml/process/latin1-label.fxml\")"));
+
+        FxmlProcessor includedProcessor = new FxmlProcessor(PROCESS_FXML.resolve("resources.fxml"), RESOURCES_ROOT,
+                                                            ROOT_PACKAGE, classLoader);
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor, includedProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        assertEquals(3, root.getChildren().size());
+
+        String expectedText = ResourceBundle.getBundle("message").getString("resource");
+        assertEquals(expectedText, ((Label) root.getChildren().get(0)).getText());
+        assertEquals(expectedText, ((Label) root.getChildren().get(1)).getText());
+        assertEquals("Grüße", assertInstanceOf(Label.class, root.getChildren().get(2)).getText());
+        assertSame(Fx2jResourceBundleCache.getIncludeBundle("message", null),
+                   Fx2jResourceBundleCache.getIncludeBundle("message", null));
+    }
+
     @Test
     void testConstant() throws Exception {
         int root = buildAndRetrieveRoot(PROCESS_FXML.resolve("constant.fxml"));
@@ -304,6 +379,24 @@ class FxmlProcessorTest extends AbstractProcessorTest {
         assertEquals("hello", root.getText());
     }
 
+    @Test
+    void testLocalizedResources() throws Exception {
+        FxmlProcessor mainBuilderJavaFile = new FxmlProcessor(PROCESS_FXML.resolve("resources.fxml"), RESOURCES_ROOT,
+                                                              ROOT_PACKAGE, classLoader,
+                                                              FxmlProcessorOptions.defaults()
+                                                                                  .withResourceBundleName("message")
+                                                                                  .withLocale(Locale.GERMANY));
+        assertEquals(Locale.GERMAN, mainBuilderJavaFile.getLocale());
+        assertTrue(mainBuilderJavaFile.getCanonicalClassName().endsWith(".ResourcesBuilder_de"));
+        String source = mainBuilderJavaFile.toJavaFileObject().getCharContent(true).toString();
+        assertFalse(source.contains("getString"));
+
+        Fx2jBuilder<Object, Label> fx2jBuilder = compileAndLoadBuilder(mainBuilderJavaFile);
+        fx2jBuilder.build(null, null, null, null);
+        Label root = fx2jBuilder.getRoot();
+        assertEquals("hallo", root.getText());
+    }
+
     @Test
     void testSimpleExpression() throws Exception {
         FxmlProcessor mainBuilderJavaFile = new FxmlProcessor(PROCESS_FXML.resolve("simple-expression.fxml"),
@@ -375,4 +468,432 @@ class FxmlProcessorTest extends AbstractProcessorTest {
         assertEquals(0, margin.getBottom());
     }
 
+    @Test
+    void testUnsupportedExpressionFallback() throws Exception {
+        VBox root = buildAndRetrieveRoot(PROCESS_FXML.resolve("fallback-expression.fxml"));
+        Label label = assertInstanceOf(Label.class, root.getChildren().get(1));
+        assertEquals(5, label.getPrefWidth());
+        Label innerLabel = assertInstanceOf(Label.class, label.getGraphic());
+        Button button = assertInstanceOf(Button.class, root.getChildren().get(2));
+        assertEquals(5, button.getPrefWidth());
+        assertEquals("inner", button.getText());
+        innerLabel.setText("changed");
+        assertEquals("changed", button.getText());
+    }
+
+    @Test
+    void testFusedExpression() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("fused-expression.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults().withFuseBindExpressions(true));
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("Fx2jBindings.createDoubleBinding("));
+        assertTrue(source.contains("Fx2jBindings.createBooleanBinding("));
+        assertTrue(source.contains(" Bindings.createStringBinding("));
+        assertFalse(source.contains(".multiply("));
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        Slider slider = assertInstanceOf(Slider.class, root.getChildren().getFirst());
+        Button button = assertInstanceOf(Button.class, root.getChildren().get(1));
+        Label label = assertInstanceOf(Label.class, root.getChildren().get(2));
+        Label hintLabel = assertInstanceOf(Label.class, root.getChildren().get(3));
+        Label copyLabel = assertInstanceOf(Label.class, root.getChildren().getLast());
+
+        assertEquals("hint: ", hintLabel.getText());
+        button.setAccessibleText("press");
+        assertEquals("hint: press", hintLabel.getText());
+
+        assertTrue(button.minWidthProperty().isBound());
+        button.setPrefWidth(10);
+        button.setPrefHeight(2);
+        assertEquals(12, button.getMinWidth());
+        assertEquals(-5, button.getMaxWidth());
+        assertEquals("value: 25.0", label.getText());
+        assertEquals("value: 25.0", copyLabel.getText());
+        assertTrue(label.isVisible());
+
+        slider.setValue(7);
+        assertEquals(-7, button.getMaxWidth());
+        assertEquals("value: 7.0", copyLabel.getText());
+        assertFalse(label.isVisible());
+    }
+
+    @Test
+    void testSharedExpression() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("shared-expression.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertEquals(source.indexOf("source.textProperty()"), source.lastIndexOf("source.textProperty()"));
+        assertEquals(source.indexOf(".greaterThan(0)"), source.lastIndexOf(".greaterThan(0)"));
+        assertTrue(source.contains(".greaterThan(1)"));
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        TextField textField = assertInstanceOf(TextField.class, root.getChildren().getFirst());
+        Label label = assertInstanceOf(Label.class, root.getChildren().get(1));
+        HBox hBox = assertInstanceOf(HBox.class, root.getChildren().get(2));
+        Label nestedLabel = assertInstanceOf(Label.class, hBox.getChildren().getFirst());
+        Label lastLabel = assertInstanceOf(Label.class, root.getChildren().getLast());
+
+        assertEquals("a", nestedLabel.getText());
+        assertTrue(nestedLabel.isVisible());
+        assertFalse(lastLabel.isManaged());
+
+        textField.setText("");
+        assertEquals("", label.getText());
+        assertEquals("", lastLabel.getText());
+        assertFalse(label.isVisible());
+        assertFalse(nestedLabel.isVisible());
+
+        textField.setText("ab");
+        assertTrue(nestedLabel.isVisible());
+        assertTrue(lastLabel.isManaged());
+    }
+
+    @Test
+    void testConstantExpression() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("constant-expression.fxml"),
+                                                        RESOURCES_ROOT, ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("setSpacing(20.0)"));
+        assertTrue(source.contains("setText(\"ab1\")"));
+        assertTrue(source.contains(".multiply(5)"));
+        assertFalse(source.contains("Bindings"));
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        Slider slider = assertInstanceOf(Slider.class, root.getChildren().getFirst());
+        Label label = assertInstanceOf(Label.class, root.getChildren().get(1));
+        Label boundLabel = assertInstanceOf(Label.class, root.getChildren().getLast());
+
+        assertEquals(20, root.getSpacing());
+        assertEquals(12, slider.getMax());
+        assertEquals(0.5, slider.getValue());
+        assertEquals("ab1", label.getText());
+        assertFalse(label.isVisible());
+        assertTrue(label.isManaged());
+        assertFalse(label.textProperty().isBound());
+        assertEquals("value", boundLabel.getText());
+        assertEquals(2.5, boundLabel.getPrefWidth());
+
+        slider.setValue(2);
+        assertEquals(10, boundLabel.getPrefWidth());
+    }
+
+    @Test
+    void testSelectExpression() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("select-expression.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("Fx2jBindings.selectString("));
+        assertTrue(source.contains("Fx2jBindings.select("));
+        assertFalse(source.contains("import javafx.beans.binding.Bindings;"));
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        Label sourceLabel = assertInstanceOf(Label.class, root.getChildren().getFirst());
+        Label label = assertInstanceOf(Label.class, root.getChildren().getLast());
+        Rectangle second = new Rectangle();
+        second.setId("second");
+        second.setOpacity(0.25);
+        second.setVisible(false);
+        second.setCursor(Cursor.HAND);
+
+        assertEquals("first", label.getText());
+        assertEquals(1, label.getOpacity());
+        assertTrue(label.isVisible());
+        assertNull(label.getCursor());
+
+        sourceLabel.getGraphic().setOpacity(0.25);
+        assertEquals(0.5, label.getOpacity());
+
+        sourceLabel.setGraphic(second);
+        assertEquals("second", label.getText());
+        assertEquals(0.5, label.getOpacity());
+        assertFalse(label.isVisible());
+        assertEquals(Cursor.HAND, label.getCursor());
+
+        sourceLabel.setGraphic(null);
+        assertNull(label.getText());
+        assertEquals(0, label.getOpacity());
+        assertNull(label.getCursor());
+    }
+
+    @Test
+    void testRelativeLocation() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("relative-resource.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        String source = mainProcessor.toJavaFileObject().getCharContent(true).toString();
+        assertTrue(source.contains("private static final URL LOCATION_RELATIVE_PNG"));
+        assertTrue(source.contains("RelativeResourceBuilder.class.getResource(\"/fxml/process/relative.png\")"));
+
+        ImageView root = buildAndRetrieveRoot(PROCESS_FXML.resolve("relative-resource.fxml"));
+        Image image = root.getImage();
+        assertNotNull(image);
+        assertTrue(image.getUrl().endsWith("fxml/process/relative.png"));
+        assertFalse(image.isBackgroundLoading());
+    }
+
+    @Test
+    void testAbsoluteLocation() throws Exception {
+        ImageView root = buildAndRetrieveRoot(PROCESS_FXML.resolve("absolute-resource.fxml"));
+        Image image = root.getImage();
+        assertNotNull(image);
+        assertTrue(image.getUrl().endsWith("fxml/process/relative.png"));
+    }
+
+    @Test
+    void testBackgroundImageLoading() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("relative-resource.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults()
+                                                                            .withBackgroundImageLoading(true));
+        Fx2jBuilder<Object, ImageView> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        Image image = fx2jBuilder.getRoot().getImage();
+        assertNotNull(image);
+        assertTrue(image.isBackgroundLoading());
+    }
+
+    @Test
+    void testCacheImages() throws Exception {
+        Fx2jImageCache.clear();
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("relative-resource.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults().withCacheImages(true));
+        Fx2jBuilder<Object, ImageView> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        fx2jBuilder.build(null, null, null, null);
+        Image image = fx2jBuilder.getRoot().getImage();
+        assertNotNull(image);
+
+        @SuppressWarnings("unchecked")
+        Fx2jBuilder<Object, ImageView> otherBuilder = fx2jBuilder.getClass().getConstructor().newInstance();
+        otherBuilder.build(null, null, null, null);
+        assertSame(image, otherBuilder.getRoot().getImage());
+        assertEquals(1, Fx2jImageCache.size());
+    }
+
+    @Test
+    void testCachedImageManifest() throws Exception {
+        Fx2jImageCache.clear();
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("cached-image.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults()
+                                                                            .withCacheImages(true)
+                                                                            .withBackgroundImageLoading(true));
+        Fx2jResourceManifest.ImageResource imageResource = new Fx2jResourceManifest.ImageResource("relative.png", 16,
+                                                                                                  16, false, true,
+                                                                                                  true);
+        assertEquals(List.of(imageResource), mainProcessor.getResourceManifest().images());
+
+        Fx2jBuilder<Object, ImageView> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        assertEquals(List.of(imageResource), fx2jBuilder.getResourceManifest().images());
+
+        URL location = Objects.requireNonNull(FxmlProcessorTest.class.getResource("/fxml/process/cached-image.fxml"));
+        String imageUrl = location.toURI().resolve(imageResource.location()).toURL().toExternalForm();
+        Image prefetchedImage = Fx2jImageCache.getImage(imageUrl, imageResource.requestedWidth(),
+                                                        imageResource.requestedHeight(),
+                                                        imageResource.preserveRatio(), imageResource.smooth(),
+                                                        imageResource.backgroundLoading());
+        fx2jBuilder.build(null, null, null, null);
+        assertSame(prefetchedImage, fx2jBuilder.getRoot().getImage());
+        assertEquals(1, Fx2jImageCache.size());
+    }
+
+    @Test
+    void testSplitBuildMethod() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("split-build.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults().withBuildMethodSizeBudget(40));
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        List<String> buildMethodNames = Arrays.stream(fx2jBuilder.getClass().getDeclaredMethods())
+                                              .map(Method::getName)
+                                              .filter(name -> name.startsWith("build") && !name.equals("build"))
+                                              .sorted()
+                                              .toList();
+        assertEquals(List.of("buildHBox0", "buildHBox2"), buildMethodNames);
+
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        assertEquals(3, root.getChildren().size());
+        HBox first = (HBox) root.getChildren().getFirst();
+        assertEquals(5, first.getSpacing());
+        assertEquals(List.of("First", "One", "Two"), first.getChildren()
+                                                          .stream()
+                                                          .map(node -> node instanceof Labeled labeled ?
+                                                                       labeled.getText() :
+                                                                       null)
+                                                          .toList());
+        HBox second = (HBox) root.getChildren().get(1);
+        assertEquals("Second", ((Button) second.getChildren().getLast()).getText());
+        HBox third = (HBox) root.getChildren().getLast();
+        assertEquals(150, ((Button) third.getChildren().getLast()).getPrefWidth());
+    }
+
+    @Test
+    void testDefaultBuildMethodNotSplit() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("split-build.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        assertTrue(Arrays.stream(fx2jBuilder.getClass().getDeclaredMethods())
+                         .map(Method::getName)
+                         .noneMatch(name -> name.startsWith("build") && !name.equals("build")));
+    }
+
+    @Test
+    void testRepeatedSubtreesDeduplicated() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("repeated-subtrees.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader,
+                                                        FxmlProcessorOptions.defaults().withDeduplicateSubtrees(true));
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        List<Method> buildMethods = Arrays.stream(fx2jBuilder.getClass().getDeclaredMethods())
+                                          .filter(method -> method.getName().startsWith("build") &&
+                                                            !method.getName().equals("build"))
+                                          .toList();
+        assertEquals(1, buildMethods.size());
+        assertEquals(List.of(ResourceBundle.class, Function.class, double.class, String.class, String.class,
+                             String.class, double.class), List.of(buildMethods.getFirst().getParameterTypes()));
+
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        assertEquals(4, root.getChildren().size());
+        List<HBox> rows = root.getChildren().stream().map(HBox.class::cast).toList();
+        assertEquals(List.of(5d, 5d, 10d, 5d), rows.stream().map(HBox::getSpacing).toList());
+        assertTrue(rows.stream().allMatch(row -> row.getStyleClass().contains("form-row")));
+        assertEquals(List.of("Name", "Email", "Phone", "Submit"),
+                     rows.stream().map(row -> ((Label) row.getChildren().getFirst()).getText()).toList());
+        assertEquals(120, ((Label) rows.get(2).getChildren().getFirst()).getPrefWidth());
+        TextField emailField = (TextField) rows.get(1).getChildren().getLast();
+        assertEquals("emailField", emailField.getId());
+        assertEquals("Enter email", emailField.getPromptText());
+        assertEquals("Send", ((Button) rows.getLast().getChildren().getLast()).getText());
+    }
+
+    @Test
+    void testDefaultRepeatedSubtreesNotDeduplicated() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("repeated-subtrees.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        assertTrue(Arrays.stream(fx2jBuilder.getClass().getDeclaredMethods())
+                         .map(Method::getName)
+                         .noneMatch(name -> name.startsWith("build") && !name.equals("build")));
+    }
+
+    @Test
+    void testImmutableValuesHoisted() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("immutable-values.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        List<Field> constantFields = Arrays.stream(fx2jBuilder.getClass().getDeclaredFields())
+                                           .filter(field -> Modifier.isStatic(field.getModifiers()) &&
+                                                            Modifier.isFinal(field.getModifiers()))
+                                           .toList();
+        assertEquals(List.of(Color.class, CopyObject.class, Paint.class, Insets.class, Insets.class),
+                     constantFields.stream().map(Field::getType).toList());
+
+        fx2jBuilder.build(null, null, null, null);
+        VBox root = fx2jBuilder.getRoot();
+        assertEquals(new Insets(10, 20, 10, 20), root.getPadding());
+        Label first = (Label) root.getChildren().getFirst();
+        Label second = (Label) root.getChildren().getLast();
+        assertEquals(Color.RED, first.getTextFill());
+        assertSame(first.getTextFill(), second.getTextFill());
+        assertSame(VBox.getMargin(first), VBox.getMargin(second));
+        assertEquals(12, second.getFont().getSize());
+
+        @SuppressWarnings("unchecked")
+        Fx2jBuilder<Object, VBox> otherBuilder = fx2jBuilder.getClass().getConstructor().newInstance();
+        otherBuilder.build(null, null, null, null);
+        assertSame(root.getPadding(), otherBuilder.getRoot().getPadding());
+    }
+
+    @Test
+    void testResourceManifest() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("resource-manifest.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        Fx2jResourceManifest expectedManifest = new Fx2jResourceManifest(List.of(), List.of(), List.of("title"),
+                                                                         List.of("simple-root.fxml"));
+        assertEquals(expectedManifest, mainProcessor.getResourceManifest());
+
+        FxmlProcessor includedProcessor = new FxmlProcessor(PROCESS_FXML.resolve("simple-root.fxml"), RESOURCES_ROOT,
+                                                            ROOT_PACKAGE, classLoader);
+        assertEquals(Fx2jResourceManifest.EMPTY, includedProcessor.getResourceManifest());
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor, includedProcessor);
+        assertEquals(expectedManifest, fx2jBuilder.getResourceManifest());
+    }
+
+    @Test
+    void testListCellTemplate() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("list-cell.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        assertTrue(mainProcessor.isCellTemplate());
+
+        Fx2jBuilder<Object, VBox> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        Callback<ListView<CellItem>, ListCell<CellItem>> cellFactory =
+                (Callback<ListView<CellItem>, ListCell<CellItem>>) fx2jBuilder.getCellFactory(null, null);
+        assertNotNull(cellFactory);
+
+        ListView<CellItem> listView = new ListView<>(
+                FXCollections.observableArrayList(new CellItem("first", 1),
+                                                  new CellItem("second", 2, new CellItem("parent", 0))));
+        ListCell<CellItem> cell = cellFactory.call(listView);
+        cell.updateListView(listView);
+        cell.updateIndex(0);
+        VBox graphic = assertInstanceOf(VBox.class, cell.getGraphic());
+        assertEquals("first", ((Label) graphic.getChildren().get(0)).getText());
+        assertEquals("1", ((Label) graphic.getChildren().get(1)).getText());
+        assertEquals("static", ((Label) graphic.getChildren().get(2)).getText());
+        assertEquals("", ((Label) graphic.getChildren().get(3)).getText());
+
+        cell.updateIndex(1);
+        assertSame(graphic, cell.getGraphic());
+        assertEquals("second", ((Label) graphic.getChildren().get(0)).getText());
+        assertEquals("2", ((Label) graphic.getChildren().get(1)).getText());
+        assertEquals("parent", ((Label) graphic.getChildren().get(3)).getText());
+
+        cell.updateIndex(2);
+        assertNull(cell.getGraphic());
+        assertEquals("", ((Label) graphic.getChildren().get(0)).getText());
+        assertEquals("", ((Label) graphic.getChildren().get(1)).getText());
+        assertEquals("static", ((Label) graphic.getChildren().get(2)).getText());
+        assertEquals("", ((Label) graphic.getChildren().get(3)).getText());
+    }
+
+    @Test
+    void testTableCellTemplate() throws Exception {
+        FxmlProcessor mainProcessor = new FxmlProcessor(PROCESS_FXML.resolve("table-cell.fxml"), RESOURCES_ROOT,
+                                                        ROOT_PACKAGE, classLoader);
+        Fx2jBuilder<Object, Label> fx2jBuilder = compileAndLoadBuilder(mainProcessor);
+        Callback<TableColumn<CellItem, String>, TableCell<CellItem, String>> cellFactory =
+                (Callback<TableColumn<CellItem, String>, TableCell<CellItem, String>>) fx2jBuilder.getCellFactory(
+                        null, null);
+        assertNotNull(cellFactory);
+
+        TableView<CellItem> tableView = new TableView<>(FXCollections.observableArrayList(new CellItem("first", 1)));
+        TableColumn<CellItem, String> column = new TableColumn<>();
+        column.setCellValueFactory(features -> features.getValue().nameProperty());
+        tableView.getColumns().add(column);
+        TableCell<CellItem, String> cell = cellFactory.call(column);
+        cell.updateTableView(tableView);
+        cell.updateTableColumn(column);
+        cell.updateIndex(0);
+        assertEquals("first", assertInstanceOf(Label.class, cell.getGraphic()).getText());
+
+        cell.updateIndex(1);
+        assertNull(cell.getGraphic());
+    }
+
+    @Test
+    void testNonCellTemplate() throws Exception {
+        Fx2jBuilder<Object, AnchorPane> fx2jBuilder = compileAndLoadBuilder(
+                new FxmlProcessor(PROCESS_FXML.resolve("simple-root.fxml"), RESOURCES_ROOT, ROOT_PACKAGE,
+                                  classLoader));
+        assertNull(fx2jBuilder.getCellFactory(null, null));
+    }
 }
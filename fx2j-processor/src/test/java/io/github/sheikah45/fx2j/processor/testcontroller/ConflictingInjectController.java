@@ -0,0 +1,16 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import javax.inject.Inject;
+import java.util.List;
+
+public class ConflictingInjectController {
+
+    public final List<String> names;
+    public final List<Integer> counts;
+
+    @Inject
+    public ConflictingInjectController(List<String> names, List<Integer> counts) {
+        this.names = names;
+        this.counts = counts;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import javafx.scene.control.Button;
+import javax.inject.Inject;
+
+import java.util.List;
+
+public class InjectController {
+
+    public final String title;
+    public final List<String> items;
+    public Button button;
+
+    @Inject
+    public InjectController(String title, List<String> items) {
+        this.title = title;
+        this.items = items;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+public class InlineIncludeController {
+
+    public InlinedChildController firstController;
+    public InlinedChildController secondController;
+
+}
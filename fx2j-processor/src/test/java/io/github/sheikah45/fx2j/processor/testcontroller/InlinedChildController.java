@@ -0,0 +1,18 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import javafx.scene.control.Button;
+
+public class InlinedChildController {
+
+    public Button button;
+    public boolean initialized;
+    public int actionCount = 0;
+
+    public void initialize() {
+        initialized = true;
+    }
+
+    public void onAction() {
+        actionCount++;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+public class QualifiedInjectController {
+
+    public final String title;
+
+    @Inject
+    public QualifiedInjectController(@Named("title") String title) {
+        this.title = title;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.Button;
+
+public class SubscriptionController {
+
+    public Button button;
+    public String oldText;
+    public String newText;
+    public Number prefWidth;
+    public int prefWidthChangeCount;
+    public int styleChangeCount;
+    public String idValue;
+
+    public void onTextChange(String oldValue, String newValue) {
+        oldText = oldValue;
+        newText = newValue;
+    }
+
+    public void onPrefWidthChange(Number newValue) {
+        prefWidth = newValue;
+        prefWidthChangeCount++;
+    }
+
+    public void onStyleChange() {
+        styleChangeCount++;
+    }
+
+    public void onIdChange(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+        idValue = newValue;
+    }
+}
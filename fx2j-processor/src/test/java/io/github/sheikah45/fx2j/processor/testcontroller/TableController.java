@@ -0,0 +1,13 @@
+package io.github.sheikah45.fx2j.processor.testcontroller;
+
+import io.github.sheikah45.fx2j.processor.testutils.CellItem;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+public class TableController {
+
+    public TableView<CellItem> table;
+    public TableColumn<CellItem, String> nameColumn;
+    public TableColumn<CellItem, Integer> countColumn;
+
+}
@@ -0,0 +1,38 @@
+package io.github.sheikah45.fx2j.processor.testutils;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+public class CellItem {
+
+    private final String name;
+    private final int count;
+    private final CellItem parent;
+
+    public CellItem(String name, int count) {
+        this(name, count, null);
+    }
+
+    public CellItem(String name, int count, CellItem parent) {
+        this.name = name;
+        this.count = count;
+        this.parent = parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ReadOnlyStringProperty nameProperty() {
+        return new ReadOnlyStringWrapper(this, "name", name).getReadOnlyProperty();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public CellItem getParent() {
+        return parent;
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.github.sheikah45.fx2j.processor.utils;
+
+import io.github.sheikah45.fx2j.parser.property.BindExpression;
+import io.github.sheikah45.fx2j.parser.property.Value;
+import io.github.sheikah45.fx2j.processor.internal.utils.BindExpressionUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Execution(ExecutionMode.CONCURRENT)
+class BindExpressionUtilsTest {
+
+    private static BindExpression fold(String expression) {
+        return BindExpressionUtils.foldConstants(BindExpression.parse(expression));
+    }
+
+    @Test
+    void testFoldArithmetic() {
+        assertEquals(new BindExpression.Whole(20), fold("10 * 2"));
+        assertEquals(new BindExpression.Whole(3), fold("7 / 2"));
+        assertEquals(new BindExpression.Whole(-1), fold("-7 % 2"));
+        assertEquals(new BindExpression.Fraction(3.5), fold("7 / 2.0"));
+        assertEquals(new BindExpression.Whole(Integer.MIN_VALUE), fold("2147483647 + 1"));
+        assertEquals(new BindExpression.Whole(4294967294L), fold("4294967295 - 1"));
+    }
+
+    @Test
+    void testFoldStringConcatenation() {
+        assertEquals(new BindExpression.String("ab1"), fold("'a' + 'b' + 1"));
+        assertEquals(new BindExpression.String("3a"), fold("1 + 2 + 'a'"));
+        assertEquals(new BindExpression.String("a"), fold("'a' + null"));
+        assertEquals(new BindExpression.String("a"), fold("null + 'a'"));
+    }
+
+    @Test
+    void testFoldBoolean() {
+        assertEquals(new BindExpression.Boolean(false), fold("!true"));
+        assertEquals(new BindExpression.Boolean(true), fold("1 < 2 && 'a' == 'a'"));
+        assertEquals(new BindExpression.Boolean(true), fold("2 == 2.0 || false"));
+        assertEquals(new BindExpression.Boolean(false), fold("'a' != 'a'"));
+    }
+
+    @Test
+    void testFoldOnlyConstantSubexpressions() {
+        assertEquals(new BindExpression.Multiply(new BindExpression.PropertyRead(new BindExpression.Variable("slider"),
+                                                                                 "value"),
+                                                 new BindExpression.Whole(5)), fold("slider.value * (2 + 3)"));
+    }
+
+    @Test
+    void testIntegerDivisionByZeroNotFolded() {
+        assertEquals(new BindExpression.Divide(new BindExpression.Whole(1), new BindExpression.Whole(0)),
+                     fold("1 / 0"));
+    }
+
+    @Test
+    void testToStaticValue() {
+        assertEquals(Optional.of(new Value.Literal("12.5")),
+                     BindExpressionUtils.toStaticValue(new BindExpression.Fraction(12.5)));
+        assertEquals(Optional.empty(), BindExpressionUtils.toStaticValue(new BindExpression.Null()));
+        assertEquals(Optional.empty(), BindExpressionUtils.toStaticValue(new BindExpression.Variable("slider")));
+    }
+}
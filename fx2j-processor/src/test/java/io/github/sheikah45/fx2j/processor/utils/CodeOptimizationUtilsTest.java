@@ -0,0 +1,118 @@
+package io.github.sheikah45.fx2j.processor.utils;
+
+import io.github.sheikah45.fx2j.processor.internal.code.CodeValues;
+import io.github.sheikah45.fx2j.processor.internal.code.Statement;
+import io.github.sheikah45.fx2j.processor.internal.utils.CodeOptimizationUtils;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Execution(ExecutionMode.CONCURRENT)
+class CodeOptimizationUtilsTest {
+
+    @Test
+    void testUnusedSideEffectFreeDeclarationRemoved() {
+        List<Statement> statements = List.of(CodeValues.declaration(Label.class, "label0", CodeValues.variable("x")),
+                                             CodeValues.declaration(String.class, "unused", CodeValues.literal("a")),
+                                             CodeValues.declaration(StringProperty.class, "property",
+                                                                    CodeValues.methodCall("label0", "textProperty")));
+        assertEquals(statements.subList(0, 1), CodeOptimizationUtils.optimize(statements, Set.of("label0")));
+    }
+
+    @Test
+    void testUnusedGetterOnUndeclaredReceiverKept() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(Object.class, "instance",
+                                       CodeValues.methodCall(CodeValues.type(Label.class), "getInstance")));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testUnusedConstructorKept() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(Button.class, "button0", CodeValues.newInstance(Button.class)));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testLiveDeclarationKept() {
+        List<Statement> statements = List.of(CodeValues.declaration(Label.class, "label0", CodeValues.variable("x")));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of("label0")));
+    }
+
+    @Test
+    void testSingleUseTemporaryInlined() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(StringProperty.class, "property",
+                                       CodeValues.methodCall("label", "textProperty")),
+                CodeValues.declaration(StringProperty.class, "alias", CodeValues.variable("property")),
+                CodeValues.methodCall(CodeValues.methodCall("button", "textProperty"), "bind",
+                                      CodeValues.variable("alias")));
+        assertEquals(List.of(statements.getFirst(),
+                             CodeValues.methodCall(CodeValues.methodCall("button", "textProperty"), "bind",
+                                                   CodeValues.variable("property"))),
+                     CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testMethodCallNotInlined() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(Integer.class, "index",
+                                       CodeValues.methodCall(CodeValues.type(Integer.class), "valueOf",
+                                                             CodeValues.literal(1))),
+                CodeValues.methodCall("list", "remove", CodeValues.variable("index")));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testConstantInlinedAcrossStatements() {
+        List<Statement> statements = List.of(CodeValues.declaration(String.class, "text", CodeValues.literal("a")),
+                                             CodeValues.methodCall("label", "setId", CodeValues.literal("id")),
+                                             CodeValues.methodCall("label", "setText", CodeValues.variable("text")));
+        assertEquals(List.of(CodeValues.methodCall("label", "setId", CodeValues.literal("id")),
+                             CodeValues.methodCall("label", "setText", CodeValues.literal("a"))),
+                     CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testTemporaryNotMovedPastSideEffects() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(Button.class, "button0", CodeValues.newInstance(Button.class)),
+                CodeValues.methodCall("label", "setText", CodeValues.literal("a")),
+                CodeValues.methodCall("label", "setGraphic", CodeValues.variable("button0")));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testTemporaryNotInlinedIntoLambda() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(StringProperty.class, "property",
+                                       CodeValues.methodCall("label", "textProperty")),
+                CodeValues.methodCall("button", "setOnAction", CodeValues.lambdaBuilder()
+                                                                          .untyped(parameters -> parameters.parameter(
+                                                                                  "event"))
+                                                                          .body(body -> body.statement(
+                                                                                  CodeValues.methodCall(
+                                                                                          "property", "set",
+                                                                                          CodeValues.literal("a"))))
+                                                                          .build()));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+
+    @Test
+    void testUsedTwiceNotInlined() {
+        List<Statement> statements = List.of(
+                CodeValues.declaration(Button.class, "button0", CodeValues.newInstance(Button.class)),
+                CodeValues.methodCall("button0", "setText", CodeValues.literal("a")),
+                CodeValues.methodCall("label", "setGraphic", CodeValues.variable("button0")));
+        assertEquals(statements, CodeOptimizationUtils.optimize(statements, Set.of()));
+    }
+}